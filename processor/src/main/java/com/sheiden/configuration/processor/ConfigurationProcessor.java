@@ -0,0 +1,565 @@
+package com.sheiden.configuration.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a <tt>ConfigurationBinder</tt> for each configuration class, that is annotated with
+ * <tt>@NameSpace</tt> or declares a field annotated with <tt>@ConfigurationProperty</tt>, and for
+ * the classes of their nested configuration objects, which are compiled in the same round.<br/>
+ * Name spaces and property names are resolved like <tt>ConfigurationUtil</tt> does at runtime, so
+ * that a class is bound the same way with or without its generated binder. Classes, that can not be
+ * bound without reflection (e.g. non public classes or fields with type variables), are skipped
+ * with a note and keep being bound by reflection.
+ *
+ * @author Sebastian Heiden
+ */
+@SupportedAnnotationTypes({ ConfigurationProcessor.NAME_SPACE, ConfigurationProcessor.CONFIGURATION_PROPERTY })
+public class ConfigurationProcessor extends AbstractProcessor {
+
+	static final String NAME_SPACE = "com.sheiden.configuration.annotation.NameSpace";
+	static final String CONFIGURATION_PROPERTY = "com.sheiden.configuration.annotation.ConfigurationProperty";
+
+	private static final String BINDER = "com.sheiden.configuration.ConfigurationBinder";
+	private static final String SUFFIX = "_ConfigurationBinder";
+
+	/**
+	 * the qualified names of all classes, which have been processed in any round
+	 */
+	private final Set<String> processed = new HashSet<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+		Set<Element> rootElements = new HashSet<>(roundEnv.getRootElements());
+
+		// annotated classes first, nested configuration classes are added while generating
+		Deque<TypeElement> pending = new ArrayDeque<>();
+		Set<TypeElement> annotated = new HashSet<>();
+
+		for (TypeElement annotation : annotations) {
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+
+				Element type = element.getKind() == ElementKind.FIELD ? element.getEnclosingElement() : element;
+				if (type.getKind() == ElementKind.CLASS && annotated.add((TypeElement) type))
+					pending.add((TypeElement) type);
+			}
+		}
+
+		while (!pending.isEmpty()) {
+
+			TypeElement type = pending.poll();
+			if (processed.add(type.getQualifiedName().toString()))
+				generate(type, annotated.contains(type), rootElements, pending);
+		}
+
+		// the annotations are read at runtime as well
+		return false;
+	}
+
+	/**
+	 * Generates the binder of given <tt>type</tt>, if it can be bound without reflection.
+	 *
+	 * @param type         the configuration class
+	 * @param annotated    whether the class is annotated or only the type of a nested configuration
+	 * @param rootElements the classes, which are compiled in this round
+	 * @param pending      the queue, to which the classes of nested configuration objects are added
+	 */
+	private void generate(TypeElement type, boolean annotated, Set<Element> rootElements, Deque<TypeElement> pending) {
+
+		String unsupported = checkClass(type);
+		if (unsupported != null) {
+			if (annotated)
+				note(type, "No binder generated, " + unsupported);
+			return;
+		}
+
+		List<VariableElement> fields = new ArrayList<>();
+		Set<String> names = new HashSet<>();
+
+		for (TypeElement current = type; current != null; current = getSuperclass(current)) {
+			for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+
+				Set<Modifier> modifiers = field.getModifiers();
+				if (!modifiers.contains(Modifier.PUBLIC))
+					continue;
+
+				// the same restrictions are checked by the reader at runtime
+				if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.FINAL)) {
+					if (annotated)
+						error(field, "Field " + field.getSimpleName() + " in class " + current.getQualifiedName() + " may not be "
+								+ (modifiers.contains(Modifier.STATIC) ? "static" : "final"));
+					return;
+				}
+
+				if (!names.add(field.getSimpleName().toString())) {
+					if (annotated)
+						note(type, "No binder generated, field " + field.getSimpleName() + " is hidden by a field of a sub class");
+					return;
+				}
+
+				if (typeExpression(field.asType()) == null) {
+					if (annotated)
+						note(field, "No binder generated, field " + field.getSimpleName() + " has a type variable or wildcard");
+					return;
+				}
+
+				fields.add(field);
+			}
+		}
+
+		for (VariableElement field : fields)
+			collectNestedClasses(field.asType(), rootElements, pending);
+
+		try {
+			writeBinder(type, fields);
+		} catch (IOException e) {
+			error(type, "Can not write binder: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * @return the reason, why the class can not be bound without reflection, or <tt>null</tt>
+	 */
+	private String checkClass(TypeElement type) {
+
+		Set<Modifier> modifiers = type.getModifiers();
+		if (modifiers.contains(Modifier.ABSTRACT))
+			return "the class is abstract";
+
+		for (Element element = type; element.getKind() != ElementKind.PACKAGE; element = element.getEnclosingElement()) {
+
+			if (!element.getModifiers().contains(Modifier.PUBLIC))
+				return element + " is not public";
+
+			if (element != type && !(element.getKind().isClass() || element.getKind().isInterface()))
+				return "the class is local";
+
+			if (element.getEnclosingElement().getKind() != ElementKind.PACKAGE && !element.getModifiers().contains(Modifier.STATIC)
+					&& element.getKind() == ElementKind.CLASS)
+				return element + " is an inner class";
+		}
+
+		for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+			if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC))
+				return null;
+		}
+
+		return "the class has no public default constructor";
+	}
+
+	/**
+	 * Adds the classes of given field type and its type arguments, which are compiled in this round,
+	 * to <tt>pending</tt>. Classes, which are no configuration classes, are skipped by
+	 * {@link #checkClass(TypeElement)} or generate binders, which are never used.
+	 */
+	private void collectNestedClasses(TypeMirror fieldType, Set<Element> rootElements, Deque<TypeElement> pending) {
+
+		if (fieldType.getKind() != TypeKind.DECLARED)
+			return;
+
+		DeclaredType declaredType = (DeclaredType) fieldType;
+		for (TypeMirror typeArgument : declaredType.getTypeArguments())
+			collectNestedClasses(typeArgument, rootElements, pending);
+
+		TypeElement element = (TypeElement) declaredType.asElement();
+		if (element.getKind() != ElementKind.CLASS || processed.contains(element.getQualifiedName().toString()))
+			return;
+
+		Element outermost = element;
+		while (outermost.getEnclosingElement().getKind() != ElementKind.PACKAGE)
+			outermost = outermost.getEnclosingElement();
+
+		if (rootElements.contains(outermost))
+			pending.add(element);
+	}
+
+	private void writeBinder(TypeElement type, List<VariableElement> fields) throws IOException {
+
+		String packageName = getPackage(type).getQualifiedName().toString();
+		String className = type.getQualifiedName().toString();
+		String binderName = getBinderName(type);
+
+		StringBuilder source = new StringBuilder();
+
+		if (!packageName.isEmpty())
+			source.append("package ").append(packageName).append(";\n\n");
+
+		source.append("/**\n");
+		source.append(" * Binds {@link ").append(className).append("} without reflection. Generated by ").append(getClass().getName()).append(".\n");
+		source.append(" */\n");
+		source.append("public final class ").append(binderName).append(" implements ").append(BINDER).append('<').append(className).append("> {\n\n");
+
+		source.append("\tprivate static final ").append(BINDER).append(".Property[] PROPERTIES = {\n");
+		for (VariableElement field : fields) {
+
+			TypeMirror fieldType = field.asType();
+			TypeElement declaringClass = (TypeElement) field.getEnclosingElement();
+
+			source.append("\t\tnew ").append(BINDER).append(".Property(") //
+					.append(literal(field.getSimpleName().toString())).append(", ") //
+					.append(literal(getPropertyName(field, declaringClass))).append(", ") //
+					.append(sourceName(processingEnv.getTypeUtils().erasure(fieldType))).append(".class, ") //
+					.append(typeExpression(fieldType)).append(", ") //
+					.append(isRequired(field));
+			appendConstraints(source, field);
+			source.append("),\n");
+		}
+		source.append("\t};\n\n");
+
+		source.append("\t@Override\n");
+		source.append("\tpublic ").append(BINDER).append(".Property[] getProperties() {\n");
+		source.append("\t\treturn PROPERTIES.clone();\n");
+		source.append("\t}\n\n");
+
+		source.append("\t@Override\n");
+		source.append("\tpublic ").append(className).append(" newInstance() {\n");
+		source.append("\t\treturn new ").append(className).append("();\n");
+		source.append("\t}\n\n");
+
+		source.append("\t@Override\n");
+		source.append("\tpublic Object get(").append(className).append(" instance, int index) {\n");
+		source.append("\t\tswitch (index) {\n");
+		for (int i = 0; i < fields.size(); i++) {
+			source.append("\t\tcase ").append(i).append(":\n");
+			source.append("\t\t\treturn instance.").append(fields.get(i).getSimpleName()).append(";\n");
+		}
+		source.append("\t\tdefault:\n");
+		source.append("\t\t\tthrow new IllegalArgumentException(\"No field with index \" + index);\n");
+		source.append("\t\t}\n");
+		source.append("\t}\n\n");
+
+		source.append("\t@Override\n");
+		source.append("\t@SuppressWarnings(\"unchecked\")\n");
+		source.append("\tpublic void set(").append(className).append(" instance, int index, Object value) {\n");
+		source.append("\t\tswitch (index) {\n");
+		for (int i = 0; i < fields.size(); i++) {
+			VariableElement field = fields.get(i);
+			source.append("\t\tcase ").append(i).append(":\n");
+			source.append("\t\t\tinstance.").append(field.getSimpleName()).append(" = (").append(castType(field.asType())).append(") value;\n");
+			source.append("\t\t\tbreak;\n");
+		}
+		source.append("\t\tdefault:\n");
+		source.append("\t\t\tthrow new IllegalArgumentException(\"No field with index \" + index);\n");
+		source.append("\t\t}\n");
+		source.append("\t}\n");
+		source.append("}\n");
+
+		String qualifiedBinderName = packageName.isEmpty() ? binderName : packageName + "." + binderName;
+		try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedBinderName, type).openWriter()) {
+			writer.write(source.toString());
+		}
+	}
+
+	/**
+	 * Evaluates the simple name of the binder of given class like <tt>Accessors</tt> does at runtime.
+	 * Underscores of the class names are escaped as <tt>_1</tt>, so that the binder of
+	 * <tt>Outer.Inner</tt> (<tt>Outer_Inner_ConfigurationBinder</tt>) differs from the one of
+	 * <tt>Outer_Inner</tt> (<tt>Outer_1Inner_ConfigurationBinder</tt>).
+	 */
+	private static String getBinderName(TypeElement type) {
+
+		StringBuilder binderName = new StringBuilder();
+		for (Element element = type; element.getKind() != ElementKind.PACKAGE; element = element.getEnclosingElement()) {
+
+			String simpleName = element.getSimpleName().toString().replace("_", "_1");
+			binderName.insert(0, binderName.length() == 0 ? simpleName : simpleName + "_");
+		}
+
+		return binderName.append(SUFFIX).toString();
+	}
+
+	/**
+	 * Evaluates the property name of a field like <tt>ConfigurationUtil.getPropertyName(Field)</tt>.
+	 */
+	private String getPropertyName(VariableElement field, TypeElement declaringClass) {
+
+		String nameSpace = getNameSpace(declaringClass, true);
+
+		AnnotationMirror annotation = getAnnotation(field, CONFIGURATION_PROPERTY);
+		String name = annotation == null ? "" : (String) getValue(annotation, "value");
+
+		return nameSpace + (name.isEmpty() ? field.getSimpleName().toString() : name);
+	}
+
+	/**
+	 * Evaluates the name space of a class like <tt>ConfigurationUtil.getNameSpace(Class, boolean)</tt>.
+	 *
+	 * @param type        the class to evaluate the name space
+	 * @param actualClass flag to indicate the top level class
+	 * @return the resulting name space for the given class
+	 */
+	private String getNameSpace(TypeElement type, boolean actualClass) {
+
+		String prefix = "";
+
+		TypeElement superclass = getSuperclass(type);
+		if (superclass != null)
+			prefix += getNameSpace(superclass, false);
+
+		AnnotationMirror annotation = getAnnotation(type, NAME_SPACE);
+		if (annotation == null)
+			return prefix;
+
+		if (actualClass || (Boolean) getValue(annotation, "inherit")) {
+			if ((Boolean) getValue(annotation, "override")) {
+				prefix = (String) getValue(annotation, "value");
+			} else {
+				prefix += (String) getValue(annotation, "value");
+			}
+		}
+
+		if (!prefix.isEmpty() && !prefix.endsWith(".")) {
+			prefix += ".";
+		}
+
+		return prefix;
+	}
+
+	private boolean isRequired(VariableElement field) {
+
+		AnnotationMirror annotation = getAnnotation(field, CONFIGURATION_PROPERTY);
+		return annotation == null || (Boolean) getValue(annotation, "required");
+	}
+
+	/**
+	 * Appends the constraints of the <tt>@ConfigurationProperty</tt> annotation of given field as
+	 * further arguments of the property, unless all of them are defaults.
+	 */
+	private void appendConstraints(StringBuilder source, VariableElement field) {
+
+		AnnotationMirror annotation = getAnnotation(field, CONFIGURATION_PROPERTY);
+		if (annotation == null)
+			return;
+
+		double min = (Double) getValue(annotation, "min");
+		double max = (Double) getValue(annotation, "max");
+		String pattern = (String) getValue(annotation, "pattern");
+		int minSize = (Integer) getValue(annotation, "minSize");
+		int maxSize = (Integer) getValue(annotation, "maxSize");
+		List<?> allowed = (List<?>) getValue(annotation, "allowed");
+
+		if (min == Double.NEGATIVE_INFINITY && max == Double.POSITIVE_INFINITY && pattern.isEmpty() && minSize == 0 && maxSize == Integer.MAX_VALUE
+				&& allowed.isEmpty())
+			return;
+
+		source.append(", ").append(literal(min)).append(", ").append(literal(max)).append(", ").append(literal(pattern)) //
+				.append(", ").append(minSize).append(", ").append(maxSize).append(", new String[] {");
+
+		for (int i = 0; i < allowed.size(); i++) {
+			if (i > 0)
+				source.append(", ");
+			source.append(literal((String) ((AnnotationValue) allowed.get(i)).getValue()));
+		}
+
+		source.append('}');
+	}
+
+	/**
+	 * @return the source code of the given type as {@link java.lang.reflect.Type}, or <tt>null</tt>,
+	 *         if it contains type variables or wildcards
+	 */
+	private String typeExpression(TypeMirror type) {
+
+		if (type.getKind().isPrimitive())
+			return sourceName(type) + ".class";
+
+		switch (type.getKind()) {
+		case ARRAY:
+			TypeMirror componentType = ((ArrayType) type).getComponentType();
+			if (componentType.getKind() == TypeKind.DECLARED && !((DeclaredType) componentType).getTypeArguments().isEmpty())
+				return null;
+			return typeExpression(componentType) == null ? null : sourceName(type) + ".class";
+
+		case DECLARED:
+			List<? extends TypeMirror> typeArguments = ((DeclaredType) type).getTypeArguments();
+			String rawType = rawName((DeclaredType) type) + ".class";
+			if (typeArguments.isEmpty())
+				return rawType;
+
+			StringBuilder expression = new StringBuilder(BINDER).append(".parameterized(").append(rawType);
+			for (TypeMirror typeArgument : typeArguments) {
+				String argument = typeExpression(typeArgument);
+				if (argument == null)
+					return null;
+				expression.append(", ").append(argument);
+			}
+			return expression.append(')').toString();
+
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * @return the type, to which the boxed value of a field is casted
+	 */
+	private String castType(TypeMirror type) {
+
+		if (type.getKind().isPrimitive())
+			return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+
+		return sourceName(type);
+	}
+
+	/**
+	 * Builds the name of a type from its elements, because <tt>TypeMirror.toString()</tt> includes
+	 * type annotations, e.g. <tt>java.util.List&lt;@NonNull java.lang.String&gt;</tt>, which is no
+	 * valid cast.
+	 *
+	 * @param type a primitive, array or declared type without type variables or wildcards
+	 * @return the name of the type with its type arguments, but without type annotations
+	 */
+	private String sourceName(TypeMirror type) {
+
+		switch (type.getKind()) {
+		case ARRAY:
+			return sourceName(((ArrayType) type).getComponentType()) + "[]";
+
+		case DECLARED:
+			List<? extends TypeMirror> typeArguments = ((DeclaredType) type).getTypeArguments();
+			StringBuilder name = new StringBuilder(rawName((DeclaredType) type));
+			for (int i = 0; i < typeArguments.size(); i++)
+				name.append(i == 0 ? "<" : ", ").append(sourceName(typeArguments.get(i)));
+			return typeArguments.isEmpty() ? name.toString() : name.append('>').toString();
+
+		default:
+			return type.getKind().name().toLowerCase(Locale.ROOT);
+		}
+	}
+
+	private static String rawName(DeclaredType type) {
+		return ((TypeElement) type.asElement()).getQualifiedName().toString();
+	}
+
+	private TypeElement getSuperclass(TypeElement type) {
+
+		TypeMirror superclass = type.getSuperclass();
+		if (superclass.getKind() != TypeKind.DECLARED)
+			return null;
+
+		TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+		return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+	}
+
+	private static PackageElement getPackage(Element element) {
+
+		while (element.getKind() != ElementKind.PACKAGE)
+			element = element.getEnclosingElement();
+
+		return (PackageElement) element;
+	}
+
+	private static AnnotationMirror getAnnotation(Element element, String annotationName) {
+
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName))
+				return annotation;
+		}
+
+		return null;
+	}
+
+	private Object getValue(AnnotationMirror annotation, String name) {
+
+		Map<? extends ExecutableElement, ? extends AnnotationValue> values = processingEnv.getElementUtils().getElementValuesWithDefaults(annotation);
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+			if (entry.getKey().getSimpleName().contentEquals(name))
+				return entry.getValue().getValue();
+		}
+
+		throw new IllegalStateException("Annotation " + annotation + " has no value " + name);
+	}
+
+	/**
+	 * @return the given number as Java double literal
+	 */
+	private static String literal(double number) {
+
+		if (number == Double.NEGATIVE_INFINITY)
+			return "Double.NEGATIVE_INFINITY";
+		if (number == Double.POSITIVE_INFINITY)
+			return "Double.POSITIVE_INFINITY";
+		if (Double.isNaN(number))
+			return "Double.NaN";
+
+		return Double.toString(number) + "D";
+	}
+
+	/**
+	 * @return the given string as Java string literal
+	 */
+	private static String literal(String string) {
+
+		StringBuilder literal = new StringBuilder(string.length() + 2).append('"');
+
+		for (int i = 0; i < string.length(); i++) {
+
+			char c = string.charAt(i);
+			switch (c) {
+			case '"':
+			case '\\':
+				literal.append('\\').append(c);
+				break;
+			case '\n':
+				literal.append("\\n");
+				break;
+			case '\r':
+				literal.append("\\r");
+				break;
+			case '\t':
+				literal.append("\\t");
+				break;
+			default:
+				if (c < ' ' || c > '~')
+					literal.append(String.format("\\u%04x", (int) c));
+				else
+					literal.append(c);
+			}
+		}
+
+		return literal.append('"').toString();
+	}
+
+	private void note(Element element, String message) {
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, message, element);
+	}
+
+	private void error(Element element, String message) {
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+}
@@ -0,0 +1,94 @@
+package com.sheiden.configuration;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sheiden.configuration.Accessors.FieldAccessor;
+import com.sheiden.configuration.Accessors.Instantiator;
+
+/**
+ * Compares the reflective accessors, which are used by the binding plans, with the method handle
+ * and var handle based ones of {@link HandleAccessors}. Each benchmark instantiates a flat
+ * configuration class and sets all of its fields. Like in a {@link BindingPlan}, each field has its
+ * own accessor, which is called through an array, so that the JIT compiler sees the accessors as the
+ * reader does. The results are listed in <tt>src/jmh/accessors.txt</tt>.
+ *
+ * @author Sebastian Heiden
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccessorBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	public int fields;
+
+	private Instantiator instantiator;
+
+	private FieldAccessor[] reflective;
+	private FieldAccessor[] methodHandles;
+	private FieldAccessor[] varHandles;
+
+	private Object[] values;
+
+	@Setup
+	public void setup() throws ReflectiveOperationException {
+
+		Class<?> configClass = Class.forName("com.sheiden.configuration.classes.FlatConfiguration" + fields);
+		Object populated = BenchmarkData.populate(configClass, 0);
+
+		Field[] declared = configClass.getFields();
+		reflective = new FieldAccessor[declared.length];
+		methodHandles = new FieldAccessor[declared.length];
+		varHandles = new FieldAccessor[declared.length];
+		values = new Object[declared.length];
+
+		for (int i = 0; i < declared.length; i++) {
+			reflective[i] = Accessors.forField(declared[i]);
+			methodHandles[i] = HandleAccessors.methodHandle(declared[i]);
+			varHandles[i] = HandleAccessors.varHandle(declared[i]);
+			values[i] = declared[i].get(populated);
+		}
+
+		instantiator = Accessors.forClass(configClass);
+	}
+
+	@Benchmark
+	public Object reflective() throws IllegalAccessException {
+		return setAll(reflective);
+	}
+
+	@Benchmark
+	public Object methodHandle() throws IllegalAccessException {
+		return setAll(methodHandles);
+	}
+
+	@Benchmark
+	public Object varHandle() throws IllegalAccessException {
+		return setAll(varHandles);
+	}
+
+	private Object setAll(FieldAccessor[] accessors) throws IllegalAccessException {
+
+		Object instance = instantiator.newInstance();
+		for (int i = 0; i < accessors.length; i++)
+			accessors[i].set(instance, values[i]);
+
+		return instance;
+	}
+}
@@ -0,0 +1,79 @@
+package com.sheiden.configuration;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.util.Properties;
+
+/**
+ * Creates populated configuration objects and their properties for benchmarks.
+ *
+ * @author Sebastian Heiden
+ */
+final class BenchmarkData {
+
+	private BenchmarkData() {
+	}
+
+	/**
+	 * Creates an instance of given class, whose simple and array fields are populated with values.
+	 *
+	 * @param clazz    the configuration class
+	 * @param elements the number of elements of arrays
+	 * @return the populated instance
+	 */
+	static <M> M populate(Class<M> clazz, int elements) throws ReflectiveOperationException {
+
+		M instance = clazz.getDeclaredConstructor().newInstance();
+
+		for (Field field : clazz.getFields()) {
+
+			Class<?> type = field.getType();
+			if (type.isArray()) {
+
+				Object array = Array.newInstance(type.getComponentType(), elements);
+				for (int i = 0; i < elements; i++)
+					Array.set(array, i, value(type.getComponentType(), i));
+
+				field.set(instance, array);
+			} else {
+				field.set(instance, value(type, field.getName().hashCode()));
+			}
+		}
+
+		return instance;
+	}
+
+	/**
+	 * Writes given object to new properties.
+	 */
+	static Properties properties(Object object) {
+
+		Properties properties = new Properties();
+		ConfigurationWriter.getInstance().write(properties, object);
+		return properties;
+	}
+
+	/**
+	 * Adds <tt>count</tt> properties, which are not read by any configuration class.
+	 */
+	static void addNoise(Properties properties, int count) {
+		for (int i = 0; i < count; i++)
+			properties.setProperty("noise." + i, "value-" + i);
+	}
+
+	private static Object value(Class<?> type, int seed) {
+
+		if (type.equals(String.class))
+			return "value-" + seed;
+		if (type.equals(Integer.class))
+			return seed;
+		if (type.equals(Long.class))
+			return (long) seed * 31;
+		if (type.equals(Double.class))
+			return seed / 7D;
+		if (type.equals(Boolean.class))
+			return seed % 2 == 0;
+
+		throw new IllegalArgumentException("Unsupported benchmark type " + type);
+	}
+}
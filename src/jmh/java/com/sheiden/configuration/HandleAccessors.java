@@ -0,0 +1,95 @@
+package com.sheiden.configuration;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+
+import com.sheiden.configuration.Accessors.FieldAccessor;
+
+/**
+ * Accessors backed by {@link MethodHandle method handles} and {@link VarHandle var handles}, which
+ * are compared with the reflective accessors of the binding plans by {@link AccessorBenchmark}.
+ *
+ * @author Sebastian Heiden
+ */
+final class HandleAccessors {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private HandleAccessors() {
+	}
+
+	/**
+	 * @param field the field to access
+	 * @return an accessor, which invokes a getter and a setter handle of the field
+	 * @throws IllegalAccessException If the access to the field is denied by the lookup
+	 */
+	static FieldAccessor methodHandle(Field field) throws IllegalAccessException {
+
+		MethodHandle getter = LOOKUP.unreflectGetter(field).asType(GETTER_TYPE);
+		MethodHandle setter = LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+
+		return new FieldAccessor() {
+
+			@Override
+			public Object get(Object instance) {
+				try {
+					return getter.invokeExact(instance);
+				} catch (Throwable t) {
+					throw rethrow(t);
+				}
+			}
+
+			@Override
+			public void set(Object instance, Object value) {
+				try {
+					setter.invokeExact(instance, value);
+				} catch (Throwable t) {
+					throw rethrow(t);
+				}
+			}
+		};
+	}
+
+	/**
+	 * @param field the field to access
+	 * @return an accessor, which reads and writes the field through a var handle
+	 * @throws IllegalAccessException If the access to the field is denied by the lookup
+	 */
+	static FieldAccessor varHandle(Field field) throws IllegalAccessException {
+
+		VarHandle handle = LOOKUP.unreflectVarHandle(field);
+
+		return new FieldAccessor() {
+
+			@Override
+			public Object get(Object instance) {
+				return handle.get(instance);
+			}
+
+			@Override
+			public void set(Object instance, Object value) {
+				handle.set(instance, value);
+			}
+		};
+	}
+
+	/**
+	 * Passes unchecked throwables of method handle invocations through and wraps checked ones, which
+	 * can not be thrown by field accesses.
+	 */
+	private static RuntimeException rethrow(Throwable t) {
+
+		if (t instanceof RuntimeException)
+			return (RuntimeException) t;
+		if (t instanceof Error)
+			throw (Error) t;
+
+		return new IllegalStateException(t);
+	}
+}
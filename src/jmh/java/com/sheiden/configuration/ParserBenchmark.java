@@ -0,0 +1,87 @@
+package com.sheiden.configuration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.sheiden.configuration.classes.FlatConfiguration100;
+
+/**
+ * Compares {@link MappedProperties} with {@link Properties#load(InputStream)} for a file, of which
+ * only the properties of a configuration class with 100 fields are looked up, while the number of
+ * unused properties grows.
+ *
+ * @author Sebastian Heiden
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+	@Param({ "0", "1000", "10000", "100000" })
+	public int noise;
+
+	private Path file;
+	private String[] keys;
+
+	@Setup
+	public void setup() throws ReflectiveOperationException, IOException {
+
+		Properties properties = BenchmarkData.properties(BenchmarkData.populate(FlatConfiguration100.class, 0));
+		keys = properties.stringPropertyNames().toArray(new String[0]);
+
+		BenchmarkData.addNoise(properties, noise);
+
+		file = Files.createTempFile("benchmark", ".properties");
+		try (OutputStream output = Files.newOutputStream(file)) {
+			properties.store(output, null);
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.delete(file);
+	}
+
+	@Benchmark
+	public void load(Blackhole blackhole) throws IOException {
+
+		Properties properties = new Properties();
+		try (InputStream input = Files.newInputStream(file)) {
+			properties.load(input);
+		}
+
+		for (String key : keys)
+			blackhole.consume(properties.getProperty(key));
+	}
+
+	@Benchmark
+	public void mapped(Blackhole blackhole) throws IOException {
+
+		try (MappedProperties properties = MappedProperties.open(file, ConfigurationLogger.STANDARD_OUTPUT)) {
+			for (String key : keys)
+				blackhole.consume(properties.getProperty(key));
+		}
+	}
+}
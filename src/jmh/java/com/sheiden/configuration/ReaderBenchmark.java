@@ -0,0 +1,192 @@
+package com.sheiden.configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sheiden.configuration.classes.BenchmarkConfigurations.ArrayConfiguration;
+import com.sheiden.configuration.classes.BenchmarkConfigurations.MapConfiguration;
+import com.sheiden.configuration.classes.BenchmarkConfigurations.MapEntryConfiguration;
+import com.sheiden.configuration.classes.BenchmarkConfigurations.NameSpaceLevel7;
+
+/**
+ * Benchmarks {@link ConfigurationReader#read(Properties, Class)} for flat classes, large arrays,
+ * large maps and deep name space inheritance, and
+ * {@link ConfigurationReader#readAll(Properties, Class, String)} for the entries of the maps.
+ *
+ * @author Sebastian Heiden
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+@Fork(1)
+public class ReaderBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class FlatState {
+
+		@Param({ "10", "100", "1000" })
+		public int fields;
+
+		Class<?> configClass;
+		Properties properties;
+
+		@Setup
+		public void setup() throws ReflectiveOperationException {
+			configClass = Class.forName("com.sheiden.configuration.classes.FlatConfiguration" + fields);
+			properties = BenchmarkData.properties(BenchmarkData.populate(configClass, 0));
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class ArrayState {
+
+		@Param({ "10000" })
+		public int elements;
+
+		Properties properties;
+
+		@Setup
+		public void setup() throws ReflectiveOperationException {
+			properties = BenchmarkData.properties(BenchmarkData.populate(ArrayConfiguration.class, elements));
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class MapState {
+
+		@Param({ "1000", "5000" })
+		public int keys;
+
+		Properties properties;
+
+		@Setup
+		public void setup() {
+			properties = BenchmarkData.properties(createMapConfiguration(keys));
+			BenchmarkData.addNoise(properties, keys);
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class TenantState {
+
+		@Param({ "10000" })
+		public int tenants;
+
+		Properties properties;
+
+		@Setup
+		public void setup() {
+
+			// many tenants share few distinct values
+			properties = new Properties();
+			for (int i = 0; i < tenants; i++) {
+				properties.setProperty("tenant." + i + ".host", "host-" + (i % 10));
+				properties.setProperty("tenant." + i + ".port", String.valueOf(1000 + i % 10));
+			}
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class NameSpaceState {
+
+		Properties properties;
+
+		@Setup
+		public void setup() throws ReflectiveOperationException {
+			properties = BenchmarkData.properties(BenchmarkData.populate(NameSpaceLevel7.class, 0));
+		}
+	}
+
+	private final ConfigurationReader reader = new ConfigurationReader();
+
+	private final ConfigurationReader parallelReader = ConfigurationReader.builder().parallelBinding(ForkJoinPool.commonPool()).build();
+
+	private final ConfigurationReader cachingReader = ConfigurationReader.builder().conversionCache(1024).build();
+
+	@Benchmark
+	public Object readFlat(FlatState state) {
+		return reader.read(state.properties, state.configClass);
+	}
+
+	@Benchmark
+	public Object readFlatParallel(FlatState state) {
+		return parallelReader.read(state.properties, state.configClass);
+	}
+
+	@Benchmark
+	public Object readArrays(ArrayState state) {
+		return reader.read(state.properties, ArrayConfiguration.class);
+	}
+
+	@Benchmark
+	public Object readMaps(MapState state) {
+		return reader.read(state.properties, MapConfiguration.class);
+	}
+
+	@Benchmark
+	public Object readAllEntries(MapState state) {
+		return reader.readAll(state.properties, MapEntryConfiguration.class, "entries");
+	}
+
+	@Benchmark
+	public Object readTenants(TenantState state) {
+		return reader.readAll(state.properties, MapEntryConfiguration.class, "tenant");
+	}
+
+	@Benchmark
+	public Object readTenantsCached(TenantState state) {
+		return cachingReader.readAll(state.properties, MapEntryConfiguration.class, "tenant");
+	}
+
+	@Benchmark
+	public Object readNameSpaces(NameSpaceState state) {
+		return reader.read(state.properties, NameSpaceLevel7.class);
+	}
+
+	/**
+	 * Creates a configuration, whose maps contain <tt>keys</tt> entries in total.
+	 */
+	static MapConfiguration createMapConfiguration(int keys) {
+
+		int perMap = keys / 5;
+
+		MapConfiguration configuration = new MapConfiguration();
+		configuration.map0 = new HashMap<>();
+		configuration.map1 = new HashMap<>();
+		configuration.map2 = new HashMap<>();
+		configuration.map3 = new HashMap<>();
+		configuration.entries = new HashMap<>();
+
+		for (int i = 0; i < perMap; i++) {
+
+			configuration.map0.put("key" + i, i);
+			configuration.map1.put("key" + i, i);
+			configuration.map2.put("key" + i, i);
+			configuration.map3.put("key" + i, i);
+
+			MapEntryConfiguration entry = new MapEntryConfiguration();
+			entry.host = "host-" + i;
+			entry.port = 1000 + i;
+			configuration.entries.put("entry" + i, entry);
+		}
+
+		return configuration;
+	}
+}
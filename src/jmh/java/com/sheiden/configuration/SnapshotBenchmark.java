@@ -0,0 +1,75 @@
+package com.sheiden.configuration;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sheiden.configuration.classes.FlatConfiguration100;
+
+/**
+ * Compares reading a configuration class with 100 fields from its properties file with restoring
+ * it from a {@link BinaryConfigurationCache} snapshot.
+ *
+ * @author Sebastian Heiden
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+
+	private Path directory;
+	private String file;
+
+	private ConfigurationReader reader;
+	private BinaryConfigurationCache cache;
+
+	@Setup
+	public void setup() throws ReflectiveOperationException, IOException {
+
+		directory = Files.createTempDirectory("benchmark");
+		Path properties = directory.resolve("flat.properties");
+
+		try (OutputStream output = Files.newOutputStream(properties)) {
+			BenchmarkData.properties(BenchmarkData.populate(FlatConfiguration100.class, 0)).store(output, null);
+		}
+
+		file = properties.toString();
+		reader = ConfigurationReader.builder().logger(ConfigurationLogger.SILENT).build();
+		cache = new BinaryConfigurationCache(reader, directory.resolve("snapshots"));
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		try (Stream<Path> files = Files.walk(directory)) {
+			files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	@Benchmark
+	public FlatConfiguration100 text() {
+		return reader.read(file, FlatConfiguration100.class);
+	}
+
+	@Benchmark
+	public FlatConfiguration100 snapshot() {
+		return cache.read(file, FlatConfiguration100.class);
+	}
+}
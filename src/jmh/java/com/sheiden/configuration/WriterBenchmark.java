@@ -0,0 +1,153 @@
+package com.sheiden.configuration;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sheiden.configuration.classes.BenchmarkConfigurations.ArrayConfiguration;
+
+/**
+ * Benchmarks {@link ConfigurationWriter#write(Properties, Object)} and the streaming
+ * {@link ConfigurationWriter#write(Appendable, Object)} for flat classes, large arrays and large maps.
+ *
+ * @author Sebastian Heiden
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+@Fork(1)
+public class WriterBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class FlatState {
+
+		@Param({ "10", "100", "1000" })
+		public int fields;
+
+		Object configuration;
+
+		@Setup
+		public void setup() throws ReflectiveOperationException {
+			configuration = BenchmarkData.populate(Class.forName("com.sheiden.configuration.classes.FlatConfiguration" + fields), 0);
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class ArrayState {
+
+		@Param({ "10000" })
+		public int elements;
+
+		Object configuration;
+
+		@Setup
+		public void setup() throws ReflectiveOperationException {
+			configuration = BenchmarkData.populate(ArrayConfiguration.class, elements);
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class MapState {
+
+		@Param({ "1000", "5000" })
+		public int keys;
+
+		Object configuration;
+
+		@Setup
+		public void setup() {
+			configuration = ReaderBenchmark.createMapConfiguration(keys);
+		}
+	}
+
+	private final ConfigurationWriter writer = new ConfigurationWriter();
+
+	private final StringBuilder output = new StringBuilder();
+
+	@Benchmark
+	public Object writeFlat(FlatState state) {
+		return write(state.configuration);
+	}
+
+	@Benchmark
+	public Object writeArrays(ArrayState state) {
+		return write(state.configuration);
+	}
+
+	@Benchmark
+	public Object writeMaps(MapState state) {
+		return write(state.configuration);
+	}
+
+	@Benchmark
+	public Object storeFlat(FlatState state) throws IOException {
+		return store(state.configuration);
+	}
+
+	@Benchmark
+	public Object storeArrays(ArrayState state) throws IOException {
+		return store(state.configuration);
+	}
+
+	@Benchmark
+	public Object storeMaps(MapState state) throws IOException {
+		return store(state.configuration);
+	}
+
+	@Benchmark
+	public Object streamFlat(FlatState state) throws IOException {
+		return stream(state.configuration);
+	}
+
+	@Benchmark
+	public Object streamArrays(ArrayState state) throws IOException {
+		return stream(state.configuration);
+	}
+
+	@Benchmark
+	public Object streamMaps(MapState state) throws IOException {
+		return stream(state.configuration);
+	}
+
+	private Object write(Object configuration) {
+
+		Properties properties = new Properties();
+		writer.write(properties, configuration);
+		return properties;
+	}
+
+	/**
+	 * Writes into properties, which are stored, like a dump into a file before streaming
+	 */
+	private Object store(Object configuration) throws IOException {
+
+		StringWriter output = new StringWriter();
+		((Properties) write(configuration)).store(output, null);
+		return output;
+	}
+
+	/**
+	 * Streams into a reused buffer, like a dump into a file
+	 */
+	private Object stream(Object configuration) throws IOException {
+
+		output.setLength(0);
+		writer.write(output, configuration);
+		return output;
+	}
+}
@@ -0,0 +1,79 @@
+package com.sheiden.configuration.classes;
+
+import java.util.Map;
+
+import com.sheiden.configuration.annotation.NameSpace;
+
+/**
+ * Configuration classes for benchmarks, which are small enough to be defined inline.
+ */
+public class BenchmarkConfigurations {
+
+	public static class ArrayConfiguration {
+		public String[] strings;
+		public Integer[] ints;
+		public Double[] doubles;
+	}
+
+	public static class MapConfiguration {
+		public Map<String, Integer> map0;
+		public Map<String, Integer> map1;
+		public Map<String, Integer> map2;
+		public Map<String, Integer> map3;
+		public Map<String, MapEntryConfiguration> entries;
+	}
+
+	public static class MapEntryConfiguration {
+		public String host;
+		public Integer port;
+	}
+
+	@NameSpace(value = "l0", inherit = true)
+	public static class NameSpaceLevel0 {
+		public String a0;
+		public Integer b0;
+	}
+
+	@NameSpace(value = "l1", inherit = true)
+	public static class NameSpaceLevel1 extends NameSpaceLevel0 {
+		public String a1;
+		public Integer b1;
+	}
+
+	@NameSpace(value = "l2", inherit = true)
+	public static class NameSpaceLevel2 extends NameSpaceLevel1 {
+		public String a2;
+		public Integer b2;
+	}
+
+	@NameSpace(value = "l3", inherit = true)
+	public static class NameSpaceLevel3 extends NameSpaceLevel2 {
+		public String a3;
+		public Integer b3;
+	}
+
+	@NameSpace(value = "l4", inherit = true)
+	public static class NameSpaceLevel4 extends NameSpaceLevel3 {
+		public String a4;
+		public Integer b4;
+	}
+
+	@NameSpace(value = "l5", inherit = true)
+	public static class NameSpaceLevel5 extends NameSpaceLevel4 {
+		public String a5;
+		public Integer b5;
+	}
+
+	@NameSpace(value = "l6", inherit = true)
+	public static class NameSpaceLevel6 extends NameSpaceLevel5 {
+		public String a6;
+		public Integer b6;
+	}
+
+	@NameSpace("l7")
+	public static class NameSpaceLevel7 extends NameSpaceLevel6 {
+		public String a7;
+		public Integer b7;
+	}
+
+}
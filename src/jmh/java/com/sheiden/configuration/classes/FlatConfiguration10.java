@@ -0,0 +1,19 @@
+package com.sheiden.configuration.classes;
+
+/**
+ * Flat configuration with 10 fields of mixed types, generated for benchmarks.
+ */
+public class FlatConfiguration10 {
+
+	public String field0;
+	public Integer field1;
+	public Long field2;
+	public Double field3;
+	public Boolean field4;
+	public String field5;
+	public Integer field6;
+	public Long field7;
+	public Double field8;
+	public Boolean field9;
+
+}
@@ -0,0 +1,109 @@
+package com.sheiden.configuration.classes;
+
+/**
+ * Flat configuration with 100 fields of mixed types, generated for benchmarks.
+ */
+public class FlatConfiguration100 {
+
+	public String field0;
+	public Integer field1;
+	public Long field2;
+	public Double field3;
+	public Boolean field4;
+	public String field5;
+	public Integer field6;
+	public Long field7;
+	public Double field8;
+	public Boolean field9;
+	public String field10;
+	public Integer field11;
+	public Long field12;
+	public Double field13;
+	public Boolean field14;
+	public String field15;
+	public Integer field16;
+	public Long field17;
+	public Double field18;
+	public Boolean field19;
+	public String field20;
+	public Integer field21;
+	public Long field22;
+	public Double field23;
+	public Boolean field24;
+	public String field25;
+	public Integer field26;
+	public Long field27;
+	public Double field28;
+	public Boolean field29;
+	public String field30;
+	public Integer field31;
+	public Long field32;
+	public Double field33;
+	public Boolean field34;
+	public String field35;
+	public Integer field36;
+	public Long field37;
+	public Double field38;
+	public Boolean field39;
+	public String field40;
+	public Integer field41;
+	public Long field42;
+	public Double field43;
+	public Boolean field44;
+	public String field45;
+	public Integer field46;
+	public Long field47;
+	public Double field48;
+	public Boolean field49;
+	public String field50;
+	public Integer field51;
+	public Long field52;
+	public Double field53;
+	public Boolean field54;
+	public String field55;
+	public Integer field56;
+	public Long field57;
+	public Double field58;
+	public Boolean field59;
+	public String field60;
+	public Integer field61;
+	public Long field62;
+	public Double field63;
+	public Boolean field64;
+	public String field65;
+	public Integer field66;
+	public Long field67;
+	public Double field68;
+	public Boolean field69;
+	public String field70;
+	public Integer field71;
+	public Long field72;
+	public Double field73;
+	public Boolean field74;
+	public String field75;
+	public Integer field76;
+	public Long field77;
+	public Double field78;
+	public Boolean field79;
+	public String field80;
+	public Integer field81;
+	public Long field82;
+	public Double field83;
+	public Boolean field84;
+	public String field85;
+	public Integer field86;
+	public Long field87;
+	public Double field88;
+	public Boolean field89;
+	public String field90;
+	public Integer field91;
+	public Long field92;
+	public Double field93;
+	public Boolean field94;
+	public String field95;
+	public Integer field96;
+	public Long field97;
+	public Double field98;
+	public Boolean field99;
+
+}
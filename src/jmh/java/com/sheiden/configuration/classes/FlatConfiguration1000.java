@@ -0,0 +1,1009 @@
+package com.sheiden.configuration.classes;
+
+/**
+ * Flat configuration with 1000 fields of mixed types, generated for benchmarks.
+ */
+public class FlatConfiguration1000 {
+
+	public String field0;
+	public Integer field1;
+	public Long field2;
+	public Double field3;
+	public Boolean field4;
+	public String field5;
+	public Integer field6;
+	public Long field7;
+	public Double field8;
+	public Boolean field9;
+	public String field10;
+	public Integer field11;
+	public Long field12;
+	public Double field13;
+	public Boolean field14;
+	public String field15;
+	public Integer field16;
+	public Long field17;
+	public Double field18;
+	public Boolean field19;
+	public String field20;
+	public Integer field21;
+	public Long field22;
+	public Double field23;
+	public Boolean field24;
+	public String field25;
+	public Integer field26;
+	public Long field27;
+	public Double field28;
+	public Boolean field29;
+	public String field30;
+	public Integer field31;
+	public Long field32;
+	public Double field33;
+	public Boolean field34;
+	public String field35;
+	public Integer field36;
+	public Long field37;
+	public Double field38;
+	public Boolean field39;
+	public String field40;
+	public Integer field41;
+	public Long field42;
+	public Double field43;
+	public Boolean field44;
+	public String field45;
+	public Integer field46;
+	public Long field47;
+	public Double field48;
+	public Boolean field49;
+	public String field50;
+	public Integer field51;
+	public Long field52;
+	public Double field53;
+	public Boolean field54;
+	public String field55;
+	public Integer field56;
+	public Long field57;
+	public Double field58;
+	public Boolean field59;
+	public String field60;
+	public Integer field61;
+	public Long field62;
+	public Double field63;
+	public Boolean field64;
+	public String field65;
+	public Integer field66;
+	public Long field67;
+	public Double field68;
+	public Boolean field69;
+	public String field70;
+	public Integer field71;
+	public Long field72;
+	public Double field73;
+	public Boolean field74;
+	public String field75;
+	public Integer field76;
+	public Long field77;
+	public Double field78;
+	public Boolean field79;
+	public String field80;
+	public Integer field81;
+	public Long field82;
+	public Double field83;
+	public Boolean field84;
+	public String field85;
+	public Integer field86;
+	public Long field87;
+	public Double field88;
+	public Boolean field89;
+	public String field90;
+	public Integer field91;
+	public Long field92;
+	public Double field93;
+	public Boolean field94;
+	public String field95;
+	public Integer field96;
+	public Long field97;
+	public Double field98;
+	public Boolean field99;
+	public String field100;
+	public Integer field101;
+	public Long field102;
+	public Double field103;
+	public Boolean field104;
+	public String field105;
+	public Integer field106;
+	public Long field107;
+	public Double field108;
+	public Boolean field109;
+	public String field110;
+	public Integer field111;
+	public Long field112;
+	public Double field113;
+	public Boolean field114;
+	public String field115;
+	public Integer field116;
+	public Long field117;
+	public Double field118;
+	public Boolean field119;
+	public String field120;
+	public Integer field121;
+	public Long field122;
+	public Double field123;
+	public Boolean field124;
+	public String field125;
+	public Integer field126;
+	public Long field127;
+	public Double field128;
+	public Boolean field129;
+	public String field130;
+	public Integer field131;
+	public Long field132;
+	public Double field133;
+	public Boolean field134;
+	public String field135;
+	public Integer field136;
+	public Long field137;
+	public Double field138;
+	public Boolean field139;
+	public String field140;
+	public Integer field141;
+	public Long field142;
+	public Double field143;
+	public Boolean field144;
+	public String field145;
+	public Integer field146;
+	public Long field147;
+	public Double field148;
+	public Boolean field149;
+	public String field150;
+	public Integer field151;
+	public Long field152;
+	public Double field153;
+	public Boolean field154;
+	public String field155;
+	public Integer field156;
+	public Long field157;
+	public Double field158;
+	public Boolean field159;
+	public String field160;
+	public Integer field161;
+	public Long field162;
+	public Double field163;
+	public Boolean field164;
+	public String field165;
+	public Integer field166;
+	public Long field167;
+	public Double field168;
+	public Boolean field169;
+	public String field170;
+	public Integer field171;
+	public Long field172;
+	public Double field173;
+	public Boolean field174;
+	public String field175;
+	public Integer field176;
+	public Long field177;
+	public Double field178;
+	public Boolean field179;
+	public String field180;
+	public Integer field181;
+	public Long field182;
+	public Double field183;
+	public Boolean field184;
+	public String field185;
+	public Integer field186;
+	public Long field187;
+	public Double field188;
+	public Boolean field189;
+	public String field190;
+	public Integer field191;
+	public Long field192;
+	public Double field193;
+	public Boolean field194;
+	public String field195;
+	public Integer field196;
+	public Long field197;
+	public Double field198;
+	public Boolean field199;
+	public String field200;
+	public Integer field201;
+	public Long field202;
+	public Double field203;
+	public Boolean field204;
+	public String field205;
+	public Integer field206;
+	public Long field207;
+	public Double field208;
+	public Boolean field209;
+	public String field210;
+	public Integer field211;
+	public Long field212;
+	public Double field213;
+	public Boolean field214;
+	public String field215;
+	public Integer field216;
+	public Long field217;
+	public Double field218;
+	public Boolean field219;
+	public String field220;
+	public Integer field221;
+	public Long field222;
+	public Double field223;
+	public Boolean field224;
+	public String field225;
+	public Integer field226;
+	public Long field227;
+	public Double field228;
+	public Boolean field229;
+	public String field230;
+	public Integer field231;
+	public Long field232;
+	public Double field233;
+	public Boolean field234;
+	public String field235;
+	public Integer field236;
+	public Long field237;
+	public Double field238;
+	public Boolean field239;
+	public String field240;
+	public Integer field241;
+	public Long field242;
+	public Double field243;
+	public Boolean field244;
+	public String field245;
+	public Integer field246;
+	public Long field247;
+	public Double field248;
+	public Boolean field249;
+	public String field250;
+	public Integer field251;
+	public Long field252;
+	public Double field253;
+	public Boolean field254;
+	public String field255;
+	public Integer field256;
+	public Long field257;
+	public Double field258;
+	public Boolean field259;
+	public String field260;
+	public Integer field261;
+	public Long field262;
+	public Double field263;
+	public Boolean field264;
+	public String field265;
+	public Integer field266;
+	public Long field267;
+	public Double field268;
+	public Boolean field269;
+	public String field270;
+	public Integer field271;
+	public Long field272;
+	public Double field273;
+	public Boolean field274;
+	public String field275;
+	public Integer field276;
+	public Long field277;
+	public Double field278;
+	public Boolean field279;
+	public String field280;
+	public Integer field281;
+	public Long field282;
+	public Double field283;
+	public Boolean field284;
+	public String field285;
+	public Integer field286;
+	public Long field287;
+	public Double field288;
+	public Boolean field289;
+	public String field290;
+	public Integer field291;
+	public Long field292;
+	public Double field293;
+	public Boolean field294;
+	public String field295;
+	public Integer field296;
+	public Long field297;
+	public Double field298;
+	public Boolean field299;
+	public String field300;
+	public Integer field301;
+	public Long field302;
+	public Double field303;
+	public Boolean field304;
+	public String field305;
+	public Integer field306;
+	public Long field307;
+	public Double field308;
+	public Boolean field309;
+	public String field310;
+	public Integer field311;
+	public Long field312;
+	public Double field313;
+	public Boolean field314;
+	public String field315;
+	public Integer field316;
+	public Long field317;
+	public Double field318;
+	public Boolean field319;
+	public String field320;
+	public Integer field321;
+	public Long field322;
+	public Double field323;
+	public Boolean field324;
+	public String field325;
+	public Integer field326;
+	public Long field327;
+	public Double field328;
+	public Boolean field329;
+	public String field330;
+	public Integer field331;
+	public Long field332;
+	public Double field333;
+	public Boolean field334;
+	public String field335;
+	public Integer field336;
+	public Long field337;
+	public Double field338;
+	public Boolean field339;
+	public String field340;
+	public Integer field341;
+	public Long field342;
+	public Double field343;
+	public Boolean field344;
+	public String field345;
+	public Integer field346;
+	public Long field347;
+	public Double field348;
+	public Boolean field349;
+	public String field350;
+	public Integer field351;
+	public Long field352;
+	public Double field353;
+	public Boolean field354;
+	public String field355;
+	public Integer field356;
+	public Long field357;
+	public Double field358;
+	public Boolean field359;
+	public String field360;
+	public Integer field361;
+	public Long field362;
+	public Double field363;
+	public Boolean field364;
+	public String field365;
+	public Integer field366;
+	public Long field367;
+	public Double field368;
+	public Boolean field369;
+	public String field370;
+	public Integer field371;
+	public Long field372;
+	public Double field373;
+	public Boolean field374;
+	public String field375;
+	public Integer field376;
+	public Long field377;
+	public Double field378;
+	public Boolean field379;
+	public String field380;
+	public Integer field381;
+	public Long field382;
+	public Double field383;
+	public Boolean field384;
+	public String field385;
+	public Integer field386;
+	public Long field387;
+	public Double field388;
+	public Boolean field389;
+	public String field390;
+	public Integer field391;
+	public Long field392;
+	public Double field393;
+	public Boolean field394;
+	public String field395;
+	public Integer field396;
+	public Long field397;
+	public Double field398;
+	public Boolean field399;
+	public String field400;
+	public Integer field401;
+	public Long field402;
+	public Double field403;
+	public Boolean field404;
+	public String field405;
+	public Integer field406;
+	public Long field407;
+	public Double field408;
+	public Boolean field409;
+	public String field410;
+	public Integer field411;
+	public Long field412;
+	public Double field413;
+	public Boolean field414;
+	public String field415;
+	public Integer field416;
+	public Long field417;
+	public Double field418;
+	public Boolean field419;
+	public String field420;
+	public Integer field421;
+	public Long field422;
+	public Double field423;
+	public Boolean field424;
+	public String field425;
+	public Integer field426;
+	public Long field427;
+	public Double field428;
+	public Boolean field429;
+	public String field430;
+	public Integer field431;
+	public Long field432;
+	public Double field433;
+	public Boolean field434;
+	public String field435;
+	public Integer field436;
+	public Long field437;
+	public Double field438;
+	public Boolean field439;
+	public String field440;
+	public Integer field441;
+	public Long field442;
+	public Double field443;
+	public Boolean field444;
+	public String field445;
+	public Integer field446;
+	public Long field447;
+	public Double field448;
+	public Boolean field449;
+	public String field450;
+	public Integer field451;
+	public Long field452;
+	public Double field453;
+	public Boolean field454;
+	public String field455;
+	public Integer field456;
+	public Long field457;
+	public Double field458;
+	public Boolean field459;
+	public String field460;
+	public Integer field461;
+	public Long field462;
+	public Double field463;
+	public Boolean field464;
+	public String field465;
+	public Integer field466;
+	public Long field467;
+	public Double field468;
+	public Boolean field469;
+	public String field470;
+	public Integer field471;
+	public Long field472;
+	public Double field473;
+	public Boolean field474;
+	public String field475;
+	public Integer field476;
+	public Long field477;
+	public Double field478;
+	public Boolean field479;
+	public String field480;
+	public Integer field481;
+	public Long field482;
+	public Double field483;
+	public Boolean field484;
+	public String field485;
+	public Integer field486;
+	public Long field487;
+	public Double field488;
+	public Boolean field489;
+	public String field490;
+	public Integer field491;
+	public Long field492;
+	public Double field493;
+	public Boolean field494;
+	public String field495;
+	public Integer field496;
+	public Long field497;
+	public Double field498;
+	public Boolean field499;
+	public String field500;
+	public Integer field501;
+	public Long field502;
+	public Double field503;
+	public Boolean field504;
+	public String field505;
+	public Integer field506;
+	public Long field507;
+	public Double field508;
+	public Boolean field509;
+	public String field510;
+	public Integer field511;
+	public Long field512;
+	public Double field513;
+	public Boolean field514;
+	public String field515;
+	public Integer field516;
+	public Long field517;
+	public Double field518;
+	public Boolean field519;
+	public String field520;
+	public Integer field521;
+	public Long field522;
+	public Double field523;
+	public Boolean field524;
+	public String field525;
+	public Integer field526;
+	public Long field527;
+	public Double field528;
+	public Boolean field529;
+	public String field530;
+	public Integer field531;
+	public Long field532;
+	public Double field533;
+	public Boolean field534;
+	public String field535;
+	public Integer field536;
+	public Long field537;
+	public Double field538;
+	public Boolean field539;
+	public String field540;
+	public Integer field541;
+	public Long field542;
+	public Double field543;
+	public Boolean field544;
+	public String field545;
+	public Integer field546;
+	public Long field547;
+	public Double field548;
+	public Boolean field549;
+	public String field550;
+	public Integer field551;
+	public Long field552;
+	public Double field553;
+	public Boolean field554;
+	public String field555;
+	public Integer field556;
+	public Long field557;
+	public Double field558;
+	public Boolean field559;
+	public String field560;
+	public Integer field561;
+	public Long field562;
+	public Double field563;
+	public Boolean field564;
+	public String field565;
+	public Integer field566;
+	public Long field567;
+	public Double field568;
+	public Boolean field569;
+	public String field570;
+	public Integer field571;
+	public Long field572;
+	public Double field573;
+	public Boolean field574;
+	public String field575;
+	public Integer field576;
+	public Long field577;
+	public Double field578;
+	public Boolean field579;
+	public String field580;
+	public Integer field581;
+	public Long field582;
+	public Double field583;
+	public Boolean field584;
+	public String field585;
+	public Integer field586;
+	public Long field587;
+	public Double field588;
+	public Boolean field589;
+	public String field590;
+	public Integer field591;
+	public Long field592;
+	public Double field593;
+	public Boolean field594;
+	public String field595;
+	public Integer field596;
+	public Long field597;
+	public Double field598;
+	public Boolean field599;
+	public String field600;
+	public Integer field601;
+	public Long field602;
+	public Double field603;
+	public Boolean field604;
+	public String field605;
+	public Integer field606;
+	public Long field607;
+	public Double field608;
+	public Boolean field609;
+	public String field610;
+	public Integer field611;
+	public Long field612;
+	public Double field613;
+	public Boolean field614;
+	public String field615;
+	public Integer field616;
+	public Long field617;
+	public Double field618;
+	public Boolean field619;
+	public String field620;
+	public Integer field621;
+	public Long field622;
+	public Double field623;
+	public Boolean field624;
+	public String field625;
+	public Integer field626;
+	public Long field627;
+	public Double field628;
+	public Boolean field629;
+	public String field630;
+	public Integer field631;
+	public Long field632;
+	public Double field633;
+	public Boolean field634;
+	public String field635;
+	public Integer field636;
+	public Long field637;
+	public Double field638;
+	public Boolean field639;
+	public String field640;
+	public Integer field641;
+	public Long field642;
+	public Double field643;
+	public Boolean field644;
+	public String field645;
+	public Integer field646;
+	public Long field647;
+	public Double field648;
+	public Boolean field649;
+	public String field650;
+	public Integer field651;
+	public Long field652;
+	public Double field653;
+	public Boolean field654;
+	public String field655;
+	public Integer field656;
+	public Long field657;
+	public Double field658;
+	public Boolean field659;
+	public String field660;
+	public Integer field661;
+	public Long field662;
+	public Double field663;
+	public Boolean field664;
+	public String field665;
+	public Integer field666;
+	public Long field667;
+	public Double field668;
+	public Boolean field669;
+	public String field670;
+	public Integer field671;
+	public Long field672;
+	public Double field673;
+	public Boolean field674;
+	public String field675;
+	public Integer field676;
+	public Long field677;
+	public Double field678;
+	public Boolean field679;
+	public String field680;
+	public Integer field681;
+	public Long field682;
+	public Double field683;
+	public Boolean field684;
+	public String field685;
+	public Integer field686;
+	public Long field687;
+	public Double field688;
+	public Boolean field689;
+	public String field690;
+	public Integer field691;
+	public Long field692;
+	public Double field693;
+	public Boolean field694;
+	public String field695;
+	public Integer field696;
+	public Long field697;
+	public Double field698;
+	public Boolean field699;
+	public String field700;
+	public Integer field701;
+	public Long field702;
+	public Double field703;
+	public Boolean field704;
+	public String field705;
+	public Integer field706;
+	public Long field707;
+	public Double field708;
+	public Boolean field709;
+	public String field710;
+	public Integer field711;
+	public Long field712;
+	public Double field713;
+	public Boolean field714;
+	public String field715;
+	public Integer field716;
+	public Long field717;
+	public Double field718;
+	public Boolean field719;
+	public String field720;
+	public Integer field721;
+	public Long field722;
+	public Double field723;
+	public Boolean field724;
+	public String field725;
+	public Integer field726;
+	public Long field727;
+	public Double field728;
+	public Boolean field729;
+	public String field730;
+	public Integer field731;
+	public Long field732;
+	public Double field733;
+	public Boolean field734;
+	public String field735;
+	public Integer field736;
+	public Long field737;
+	public Double field738;
+	public Boolean field739;
+	public String field740;
+	public Integer field741;
+	public Long field742;
+	public Double field743;
+	public Boolean field744;
+	public String field745;
+	public Integer field746;
+	public Long field747;
+	public Double field748;
+	public Boolean field749;
+	public String field750;
+	public Integer field751;
+	public Long field752;
+	public Double field753;
+	public Boolean field754;
+	public String field755;
+	public Integer field756;
+	public Long field757;
+	public Double field758;
+	public Boolean field759;
+	public String field760;
+	public Integer field761;
+	public Long field762;
+	public Double field763;
+	public Boolean field764;
+	public String field765;
+	public Integer field766;
+	public Long field767;
+	public Double field768;
+	public Boolean field769;
+	public String field770;
+	public Integer field771;
+	public Long field772;
+	public Double field773;
+	public Boolean field774;
+	public String field775;
+	public Integer field776;
+	public Long field777;
+	public Double field778;
+	public Boolean field779;
+	public String field780;
+	public Integer field781;
+	public Long field782;
+	public Double field783;
+	public Boolean field784;
+	public String field785;
+	public Integer field786;
+	public Long field787;
+	public Double field788;
+	public Boolean field789;
+	public String field790;
+	public Integer field791;
+	public Long field792;
+	public Double field793;
+	public Boolean field794;
+	public String field795;
+	public Integer field796;
+	public Long field797;
+	public Double field798;
+	public Boolean field799;
+	public String field800;
+	public Integer field801;
+	public Long field802;
+	public Double field803;
+	public Boolean field804;
+	public String field805;
+	public Integer field806;
+	public Long field807;
+	public Double field808;
+	public Boolean field809;
+	public String field810;
+	public Integer field811;
+	public Long field812;
+	public Double field813;
+	public Boolean field814;
+	public String field815;
+	public Integer field816;
+	public Long field817;
+	public Double field818;
+	public Boolean field819;
+	public String field820;
+	public Integer field821;
+	public Long field822;
+	public Double field823;
+	public Boolean field824;
+	public String field825;
+	public Integer field826;
+	public Long field827;
+	public Double field828;
+	public Boolean field829;
+	public String field830;
+	public Integer field831;
+	public Long field832;
+	public Double field833;
+	public Boolean field834;
+	public String field835;
+	public Integer field836;
+	public Long field837;
+	public Double field838;
+	public Boolean field839;
+	public String field840;
+	public Integer field841;
+	public Long field842;
+	public Double field843;
+	public Boolean field844;
+	public String field845;
+	public Integer field846;
+	public Long field847;
+	public Double field848;
+	public Boolean field849;
+	public String field850;
+	public Integer field851;
+	public Long field852;
+	public Double field853;
+	public Boolean field854;
+	public String field855;
+	public Integer field856;
+	public Long field857;
+	public Double field858;
+	public Boolean field859;
+	public String field860;
+	public Integer field861;
+	public Long field862;
+	public Double field863;
+	public Boolean field864;
+	public String field865;
+	public Integer field866;
+	public Long field867;
+	public Double field868;
+	public Boolean field869;
+	public String field870;
+	public Integer field871;
+	public Long field872;
+	public Double field873;
+	public Boolean field874;
+	public String field875;
+	public Integer field876;
+	public Long field877;
+	public Double field878;
+	public Boolean field879;
+	public String field880;
+	public Integer field881;
+	public Long field882;
+	public Double field883;
+	public Boolean field884;
+	public String field885;
+	public Integer field886;
+	public Long field887;
+	public Double field888;
+	public Boolean field889;
+	public String field890;
+	public Integer field891;
+	public Long field892;
+	public Double field893;
+	public Boolean field894;
+	public String field895;
+	public Integer field896;
+	public Long field897;
+	public Double field898;
+	public Boolean field899;
+	public String field900;
+	public Integer field901;
+	public Long field902;
+	public Double field903;
+	public Boolean field904;
+	public String field905;
+	public Integer field906;
+	public Long field907;
+	public Double field908;
+	public Boolean field909;
+	public String field910;
+	public Integer field911;
+	public Long field912;
+	public Double field913;
+	public Boolean field914;
+	public String field915;
+	public Integer field916;
+	public Long field917;
+	public Double field918;
+	public Boolean field919;
+	public String field920;
+	public Integer field921;
+	public Long field922;
+	public Double field923;
+	public Boolean field924;
+	public String field925;
+	public Integer field926;
+	public Long field927;
+	public Double field928;
+	public Boolean field929;
+	public String field930;
+	public Integer field931;
+	public Long field932;
+	public Double field933;
+	public Boolean field934;
+	public String field935;
+	public Integer field936;
+	public Long field937;
+	public Double field938;
+	public Boolean field939;
+	public String field940;
+	public Integer field941;
+	public Long field942;
+	public Double field943;
+	public Boolean field944;
+	public String field945;
+	public Integer field946;
+	public Long field947;
+	public Double field948;
+	public Boolean field949;
+	public String field950;
+	public Integer field951;
+	public Long field952;
+	public Double field953;
+	public Boolean field954;
+	public String field955;
+	public Integer field956;
+	public Long field957;
+	public Double field958;
+	public Boolean field959;
+	public String field960;
+	public Integer field961;
+	public Long field962;
+	public Double field963;
+	public Boolean field964;
+	public String field965;
+	public Integer field966;
+	public Long field967;
+	public Double field968;
+	public Boolean field969;
+	public String field970;
+	public Integer field971;
+	public Long field972;
+	public Double field973;
+	public Boolean field974;
+	public String field975;
+	public Integer field976;
+	public Long field977;
+	public Double field978;
+	public Boolean field979;
+	public String field980;
+	public Integer field981;
+	public Long field982;
+	public Double field983;
+	public Boolean field984;
+	public String field985;
+	public Integer field986;
+	public Long field987;
+	public Double field988;
+	public Boolean field989;
+	public String field990;
+	public Integer field991;
+	public Long field992;
+	public Double field993;
+	public Boolean field994;
+	public String field995;
+	public Integer field996;
+	public Long field997;
+	public Double field998;
+	public Boolean field999;
+
+}
@@ -0,0 +1,214 @@
+package com.sheiden.configuration;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Factory for the accessors, that are used to instantiate configuration classes and to inject
+ * values into their fields.<br/>
+ * Classes with a generated {@link ConfigurationBinder} are bound without reflection. All other
+ * classes are bound by plain reflection: method handles, which are not constants, are customized
+ * and compiled one by one, so that each handle is slower than reflection, as soon as more than a few
+ * hundred of them are in use, and var handles are not faster than reflection at any width (see
+ * <tt>src/jmh/accessors.txt</tt>).
+ *
+ * @author Sebastian Heiden
+ */
+final class Accessors {
+
+	/**
+	 * Instantiators do not depend on any configuration, hence they are shared by all readers.
+	 */
+	private static final ClassValue<Instantiator> INSTANTIATORS = new ClassValue<Instantiator>() {
+
+		@Override
+		protected Instantiator computeValue(Class<?> type) {
+
+			ConfigurationBinder<?> binder = forGenerated(type);
+			if (binder != null)
+				return binder::newInstance;
+
+			return reflective(type);
+		}
+	};
+
+	/**
+	 * Generated binders per class, or <tt>null</tt>, if no binder has been generated for a class
+	 */
+	private static final ClassValue<ConfigurationBinder<?>> BINDERS = new ClassValue<ConfigurationBinder<?>>() {
+
+		@Override
+		protected ConfigurationBinder<?> computeValue(Class<?> type) {
+
+			if (type.isInterface() || type.isArray() || type.isPrimitive() || type.getClassLoader() == null)
+				return null;
+
+			// no binders are generated for local and anonymous classes
+			if (type.isLocalClass() || type.isAnonymousClass())
+				return null;
+
+			String binderName = getBinderName(type);
+
+			try {
+				Class<?> binderClass = Class.forName(binderName, true, type.getClassLoader());
+				return (ConfigurationBinder<?>) binderClass.getConstructor().newInstance();
+			} catch (ClassNotFoundException e) {
+				return null;
+			} catch (ReflectiveOperationException | ClassCastException e) {
+				throw new IllegalStateException("Can not instantiate binder " + binderName, e);
+			}
+		}
+	};
+
+	private Accessors() {
+	}
+
+	/**
+	 * Evaluates the name of the binder of given class. The binder of a nested class is a top level
+	 * class in the same package, whose name joins the simple names of the class and its enclosing
+	 * classes with <tt>_</tt>. Underscores of the simple names are escaped as <tt>_1</tt>, since
+	 * class names never start with a digit, so that no two classes share a binder: the binder of
+	 * <tt>Outer.Inner</tt> is <tt>Outer_Inner_ConfigurationBinder</tt>, the binder of
+	 * <tt>Outer_Inner</tt> is <tt>Outer_1Inner_ConfigurationBinder</tt>.
+	 *
+	 * @param type a top level or member class
+	 * @return the qualified name of its binder
+	 */
+	static String getBinderName(Class<?> type) {
+
+		StringBuilder binderName = new StringBuilder();
+		Class<?> topLevel = type;
+
+		for (Class<?> current = type; current != null; current = current.getEnclosingClass()) {
+
+			String simpleName = current.getSimpleName().replace("_", "_1");
+			binderName.insert(0, binderName.length() == 0 ? simpleName : simpleName + "_");
+			topLevel = current;
+		}
+
+		// the package of the top level class
+		String name = topLevel.getName();
+		binderName.insert(0, name.substring(0, name.lastIndexOf('.') + 1));
+
+		return binderName.append(ConfigurationBinder.SUFFIX).toString();
+	}
+
+	/**
+	 * Reads and writes the value of a single field.
+	 */
+	interface FieldAccessor {
+
+		Object get(Object instance) throws IllegalAccessException;
+
+		void set(Object instance, Object value) throws IllegalAccessException;
+	}
+
+	/**
+	 * Creates new instances of a class with its default constructor.
+	 */
+	interface Instantiator {
+
+		/**
+		 * @return a new instance
+		 * @throws IllegalArgumentException If the class can not be instantiated
+		 */
+		Object newInstance();
+	}
+
+	/**
+	 * Creates the accessor for given <tt>field</tt> of a class without generated binder.
+	 *
+	 * @param field the field to access
+	 * @return a reflective accessor
+	 */
+	static FieldAccessor forField(Field field) {
+		return reflective(field);
+	}
+
+	/**
+	 * Returns the instantiator for given <tt>clazz</tt>.
+	 *
+	 * @param clazz the class to instantiate
+	 * @return the instantiator of the generated binder or a reflective instantiator
+	 */
+	static Instantiator forClass(Class<?> clazz) {
+		return INSTANTIATORS.get(clazz);
+	}
+
+	/**
+	 * Returns the binder, which has been generated for given <tt>type</tt> at compile time.
+	 *
+	 * @param type the configuration class
+	 * @return the generated binder or <tt>null</tt>, if it is not on the class path
+	 * @throws IllegalStateException If the binder can not be instantiated
+	 */
+	static ConfigurationBinder<?> forGenerated(Class<?> type) {
+		return BINDERS.get(type);
+	}
+
+	/**
+	 * Creates an accessor, which reads and writes a field by its generated binder.
+	 *
+	 * @param binder the generated binder of the class, that declares the field
+	 * @param index  the index of the field in the binder
+	 * @return the accessor
+	 */
+	static FieldAccessor forBinder(ConfigurationBinder<?> binder, int index) {
+
+		@SuppressWarnings("unchecked")
+		ConfigurationBinder<Object> generated = (ConfigurationBinder<Object>) binder;
+
+		return new FieldAccessor() {
+
+			@Override
+			public Object get(Object instance) {
+				return generated.get(instance, index);
+			}
+
+			@Override
+			public void set(Object instance, Object value) {
+				generated.set(instance, index, value);
+			}
+		};
+	}
+
+	static FieldAccessor reflective(Field field) {
+
+		return new FieldAccessor() {
+
+			@Override
+			public Object get(Object instance) throws IllegalAccessException {
+				return field.get(instance);
+			}
+
+			@Override
+			public void set(Object instance, Object value) throws IllegalAccessException {
+				field.set(instance, value);
+			}
+		};
+	}
+
+	static Instantiator reflective(Class<?> clazz) {
+
+		Constructor<?> constructor;
+		try {
+			constructor = clazz.getDeclaredConstructor();
+		} catch (NoSuchMethodException e) {
+			return () -> {
+				throw new IllegalArgumentException("Can not instantiate config class: " + clazz.getName(), e);
+			};
+		}
+
+		return () -> {
+			try {
+				return constructor.newInstance();
+
+			} catch (InvocationTargetException e) {
+				throw new IllegalArgumentException("Can not instantiate config class: " + clazz.getName(), e.getCause());
+			} catch (ReflectiveOperationException e) {
+				throw new IllegalArgumentException("Can not instantiate config class: " + clazz.getName(), e);
+			}
+		};
+	}
+}
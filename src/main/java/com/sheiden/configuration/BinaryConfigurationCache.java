@@ -0,0 +1,628 @@
+package com.sheiden.configuration;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import com.sheiden.configuration.BindingPlan.FieldBinding;
+import com.sheiden.configuration.BindingPlan.Kind;
+import com.sheiden.configuration.ConfigurationLogger.Level;
+import com.sheiden.configuration.annotation.ConfigurationProperty;
+import com.sheiden.configuration.annotation.NameSpace;
+
+/**
+ * Caches fully bound configuration objects as binary snapshots, which are loaded on the next cold
+ * start instead of parsing and converting the properties file again.<br/>
+ * A snapshot is only used, if it has been written for the same content of the properties file and
+ * for the same schema of the configuration class, i.e. the same fields, types, property names,
+ * {@link NameSpace name spaces}, {@link ConfigurationProperty requirements} and constraints
+ * (including nested configuration classes). Otherwise the properties file is read as usual and the
+ * snapshot is replaced.
+ * <p>
+ * Snapshots hold the converted values of the properties, which are set in the file. All other
+ * fields keep the default values of a new instance, so changed field initializers take effect
+ * without deleting the snapshots. Values of custom class mappings can not be stored, so
+ * configuration classes using them are always read from the properties file. Constrained values
+ * are checked by the read, which writes the snapshot, and a changed constraint changes the
+ * fingerprint of the schema, so they are not checked again when the snapshot is loaded. Built-in
+ * class mappings, which are replaced by a {@link ConfigurationReader.Builder}, are part of the
+ * fingerprint as well. Only if a replacing class mapping is changed within the same class, the
+ * snapshots must be deleted.
+ * </p>
+ *
+ * <pre>
+ * BinaryConfigurationCache cache = new BinaryConfigurationCache(ConfigurationReader.getInstance(), Paths.get("cache"));
+ * MyConfig config = cache.read("my.properties", MyConfig.class);
+ * </pre>
+ *
+ * @author Sebastian Heiden
+ */
+public final class BinaryConfigurationCache {
+
+	private static final int MAGIC = 0x43464753;
+
+	private static final short VERSION = 2;
+
+	// value tags
+	private static final byte NULL = 0;
+	private static final byte STRING = 1;
+	private static final byte INTEGER = 2;
+	private static final byte LONG = 3;
+	private static final byte FLOAT = 4;
+	private static final byte DOUBLE = 5;
+	private static final byte BOOLEAN = 6;
+	private static final byte INT_ARRAY = 7;
+	private static final byte LONG_ARRAY = 8;
+	private static final byte DOUBLE_ARRAY = 9;
+	private static final byte BOOLEAN_ARRAY = 10;
+	private static final byte OBJECT_ARRAY = 11;
+	private static final byte LIST = 12;
+	private static final byte SET = 13;
+	private static final byte MAP = 14;
+	private static final byte OBJECT = 15;
+	private static final byte DEFAULT = 16;
+
+	private final ConfigurationReader reader;
+	private final Path directory;
+
+	/**
+	 * the schema fingerprints by configuration class
+	 */
+	private final ClassValue<Long> fingerprints = new ClassValue<Long>() {
+
+		@Override
+		protected Long computeValue(Class<?> configClass) {
+			return fingerprint(configClass);
+		}
+	};
+
+	/**
+	 * @param reader    the reader, which reads the properties files
+	 * @param directory the directory of the snapshots, which is created if necessary
+	 */
+	public BinaryConfigurationCache(ConfigurationReader reader, Path directory) {
+		this.reader = reader;
+		this.directory = directory;
+	}
+
+	/**
+	 * Loads the snapshot of given properties file and configuration class. If there is no valid
+	 * snapshot, the properties file is read like by {@link ConfigurationReader#read(String, Class)}
+	 * and a new snapshot is written.
+	 *
+	 * @param                      <M> the type of the configuration class
+	 * @param pathToPropertiesFile the path to a properties file on the file system
+	 * @param configClass          the class object of the desired configuration object
+	 * @return a new instance with the inserted fields of the provided class M
+	 * @throws IllegalArgumentException If any required property is not set
+	 * @throws IllegalStateException    If any field of the given class has an unsupported type or the
+	 *                                  file can not be read
+	 */
+	public <M> M read(String pathToPropertiesFile, Class<M> configClass) {
+
+		Path file = Paths.get(pathToPropertiesFile.replaceFirst("^~", System.getProperty("user.home"))).toAbsolutePath();
+
+		if (!Files.isRegularFile(file) || configClass.isInterface())
+			return reader.read(pathToPropertiesFile, configClass);
+
+		ByteBuffer content;
+		try {
+			content = MappedProperties.load(file, reader.getLogger());
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to read properties file", e);
+		}
+
+		// the mapping is released, before the configuration object is returned
+		try {
+			CRC32 crc = new CRC32();
+			crc.update(content.duplicate());
+			long sourceLength = content.limit();
+			long sourceHash = crc.getValue();
+
+			// the class mappings of non-frozen readers may be replaced at any time
+			long fingerprint = hash(fingerprints.get(configClass), String.join(";", reader.getReplacedClassMappers()));
+			Path snapshot = getSnapshotFile(file, configClass);
+
+			M instance = load(snapshot, configClass, fingerprint, sourceLength, sourceHash);
+			if (instance != null)
+				return instance;
+
+			// the snapshot is written for exactly the content, that was hashed
+			try (MappedProperties properties = MappedProperties.parse(content)) {
+				instance = reader.read(properties, configClass);
+				store(snapshot, instance, new PropertyView(properties), fingerprint, sourceLength, sourceHash);
+			}
+
+			return instance;
+
+		} catch (InternalError e) {
+			// a mapped file, which is truncated while it is read, faults on access
+			throw new IllegalStateException("Properties file changed while it was read", e);
+		} finally {
+			MappedProperties.unmap(content);
+		}
+	}
+
+	/**
+	 * Returns the snapshot file of given properties file and configuration class. The file name holds
+	 * the first 64 bits of the SHA-256 hash of the absolute path, so that different properties files
+	 * practically never share a snapshot file.
+	 *
+	 * @param propertiesFile the absolute path of the properties file
+	 * @return the snapshot file
+	 */
+	private Path getSnapshotFile(Path propertiesFile, Class<?> configClass) {
+
+		byte[] digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256").digest(propertiesFile.toString().getBytes(StandardCharsets.UTF_8));
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+
+		StringBuilder name = new StringBuilder(configClass.getName()).append('-');
+		for (int i = 0; i < 8; i++)
+			name.append(Character.forDigit((digest[i] >> 4) & 0xf, 16)).append(Character.forDigit(digest[i] & 0xf, 16));
+
+		return directory.resolve(name.append(".snapshot").toString());
+	}
+
+	/**
+	 * Loads the given snapshot file, if it is valid.
+	 *
+	 * @return the configuration object or <tt>null</tt>, if there is no valid snapshot
+	 */
+	private <M> M load(Path snapshot, Class<M> configClass, long fingerprint, long sourceLength, long sourceHash) {
+
+		if (!Files.isRegularFile(snapshot))
+			return null;
+
+		ByteBuffer buffer;
+		try {
+			buffer = MappedProperties.load(snapshot, reader.getLogger());
+		} catch (IOException e) {
+			return null;
+		}
+
+		try {
+			if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION || buffer.getLong() != fingerprint || buffer.getLong() != sourceLength
+					|| buffer.getLong() != sourceHash)
+				return null;
+
+			return configClass.cast(readObject(buffer, configClass));
+
+		} catch (IOException | RuntimeException | InternalError e) {
+			// damaged or incompatible snapshots are replaced
+			return null;
+		} finally {
+			MappedProperties.unmap(buffer);
+		}
+	}
+
+	/**
+	 * Writes the given configuration object into the snapshot file. The file is replaced atomically,
+	 * so that concurrently starting processes never read a partially written snapshot.
+	 *
+	 * @param properties the properties, the configuration object has been read from
+	 */
+	private void store(Path snapshot, Object instance, PropertyView properties, long fingerprint, long sourceLength, long sourceHash) {
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		try (DataOutputStream output = new DataOutputStream(bytes)) {
+
+			output.writeInt(MAGIC);
+			output.writeShort(VERSION);
+			output.writeLong(fingerprint);
+			output.writeLong(sourceLength);
+			output.writeLong(sourceHash);
+
+			writeObject(output, instance, properties);
+
+		} catch (UnsupportedOperationException e) {
+			// the configuration holds values of custom class mappings
+			return;
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+
+		try {
+			Files.createDirectories(directory);
+
+			Path temporary = Files.createTempFile(directory, snapshot.getFileName().toString(), ".tmp");
+			Files.write(temporary, bytes.toByteArray());
+			Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+		} catch (IOException e) {
+			reader.getLogger().log(Level.WARN, () -> "Unable to write configuration snapshot " + snapshot + ": " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Computes the fingerprint of the schema of given class, which includes all nested configuration
+	 * classes.
+	 */
+	private long fingerprint(Class<?> configClass) {
+
+		StringBuilder schema = new StringBuilder();
+		appendSchema(schema, configClass, new HashSet<>());
+
+		return hash(0xcbf29ce484222325L, schema);
+	}
+
+	/**
+	 * Continues a 64 bit FNV-1a hash with the given characters.
+	 */
+	private static long hash(long hash, CharSequence chars) {
+
+		for (int i = 0; i < chars.length(); i++) {
+			hash ^= chars.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+
+		return hash;
+	}
+
+	private void appendSchema(StringBuilder schema, Class<?> configClass, Set<Class<?>> visited) {
+
+		schema.append(configClass.getName()).append('{');
+
+		BindingPlan plan;
+		try {
+			plan = reader.getBindingPlan(configClass);
+		} catch (IllegalStateException e) {
+			// no configuration class, its values can not be stored anyway
+			schema.append('}');
+			return;
+		}
+
+		if (visited.add(configClass)) {
+			for (FieldBinding binding : plan.bindings) {
+
+				schema.append(binding.name).append('=').append(binding.propertyName) //
+						.append(':').append(binding.type.getName()) //
+						.append('<').append(binding.keyType).append(',').append(binding.elementType).append('>') //
+						.append(binding.required).append(binding.constraint).append(';');
+
+				Class<?> nested = getNestedClass(binding);
+				if (nested != null)
+					appendSchema(schema, nested, visited);
+			}
+		}
+
+		schema.append('}');
+	}
+
+	/**
+	 * @return the class of nested configuration objects of given binding or <tt>null</tt>
+	 */
+	private static Class<?> getNestedClass(FieldBinding binding) {
+
+		if (binding.mapper != null)
+			return null;
+
+		if (binding.kind == Kind.VALUE)
+			return binding.type;
+
+		if (binding.kind == Kind.MAP && binding.elementType instanceof Class)
+			return (Class<?>) binding.elementType;
+
+		return null;
+	}
+
+	/**
+	 * Writes the fields of given configuration object, whose properties are set. All other fields are
+	 * written as {@link #DEFAULT}.
+	 *
+	 * @param properties the view, the configuration object has been read from
+	 */
+	private void writeObject(DataOutputStream output, Object instance, PropertyView properties) throws IOException {
+
+		try {
+			for (FieldBinding binding : reader.getBindingPlan(instance.getClass()).bindings) {
+
+				// maps, lists and sets are restored as HashMap, ArrayList and HashSet
+				if (!hasPlainContainers(binding))
+					throw new UnsupportedOperationException("Unable to store field " + binding.name + " of type " + binding.type);
+
+				// the field initializer may have changed since the snapshot has been written
+				if (!isSet(binding.propertyName, properties)) {
+					output.writeByte(DEFAULT);
+					continue;
+				}
+
+				Object value = binding.accessor.get(instance);
+				Class<?> nested = getNestedClass(binding);
+
+				if (nested != null && binding.kind == Kind.MAP && value != null) {
+					output.writeByte(MAP);
+					Map<?, ?> map = (Map<?, ?>) value;
+					output.writeInt(map.size());
+					for (Map.Entry<?, ?> entry : map.entrySet()) {
+
+						// converted keys may not be found as they are written in the file
+						String name = binding.propertyName + "." + entry.getKey();
+						if (!isSet(name, properties))
+							throw new UnsupportedOperationException("Unable to find the properties of map entry " + properties.absolute(name));
+
+						writeValue(output, entry.getKey());
+						writeNested(output, entry.getValue(), properties.subView(name));
+					}
+				} else if (nested != null && binding.kind == Kind.VALUE) {
+					writeNested(output, value, properties.subView(binding.propertyName));
+				} else {
+					writeValue(output, value);
+				}
+			}
+		} catch (IllegalAccessException e) {
+			throw new UnsupportedOperationException(e);
+		}
+	}
+
+	/**
+	 * @return whether the property with given name or any property below it is set
+	 */
+	private static boolean isSet(String propertyName, PropertyView properties) {
+		return properties.getProperty(propertyName) != null || !properties.keysBelow(propertyName).isEmpty();
+	}
+
+	/**
+	 * @return whether the field of given binding and its map values are either no containers or
+	 *         declared as Map, List or Set
+	 */
+	private static boolean hasPlainContainers(FieldBinding binding) {
+
+		for (FieldBinding current = binding; current != null; current = current.valueBinding) {
+			if (current.container != null && !current.container.plain)
+				return false;
+		}
+
+		return true;
+	}
+
+	private void writeNested(DataOutputStream output, Object value, PropertyView properties) throws IOException {
+
+		if (value == null || ConfigurationProxy.of(value) != null) {
+			writeValue(output, value);
+			return;
+		}
+
+		output.writeByte(OBJECT);
+		writeObject(output, value, properties);
+	}
+
+	/**
+	 * Writes a value of a built-in type.
+	 *
+	 * @throws UnsupportedOperationException If the value is of any other type
+	 */
+	private static void writeValue(DataOutputStream output, Object value) throws IOException {
+
+		if (value == null) {
+			output.writeByte(NULL);
+		} else if (value instanceof String) {
+			output.writeByte(STRING);
+			writeString(output, (String) value);
+		} else if (value instanceof Integer) {
+			output.writeByte(INTEGER);
+			output.writeInt((Integer) value);
+		} else if (value instanceof Long) {
+			output.writeByte(LONG);
+			output.writeLong((Long) value);
+		} else if (value instanceof Float) {
+			output.writeByte(FLOAT);
+			output.writeFloat((Float) value);
+		} else if (value instanceof Double) {
+			output.writeByte(DOUBLE);
+			output.writeDouble((Double) value);
+		} else if (value instanceof Boolean) {
+			output.writeByte(BOOLEAN);
+			output.writeBoolean((Boolean) value);
+		} else if (value instanceof int[]) {
+			int[] array = (int[]) value;
+			output.writeByte(INT_ARRAY);
+			output.writeInt(array.length);
+			for (int element : array)
+				output.writeInt(element);
+		} else if (value instanceof long[]) {
+			long[] array = (long[]) value;
+			output.writeByte(LONG_ARRAY);
+			output.writeInt(array.length);
+			for (long element : array)
+				output.writeLong(element);
+		} else if (value instanceof double[]) {
+			double[] array = (double[]) value;
+			output.writeByte(DOUBLE_ARRAY);
+			output.writeInt(array.length);
+			for (double element : array)
+				output.writeDouble(element);
+		} else if (value instanceof boolean[]) {
+			boolean[] array = (boolean[]) value;
+			output.writeByte(BOOLEAN_ARRAY);
+			output.writeInt(array.length);
+			for (boolean element : array)
+				output.writeBoolean(element);
+		} else if (value instanceof Object[] && isBuiltIn(value.getClass().getComponentType())) {
+			Object[] array = (Object[]) value;
+			output.writeByte(OBJECT_ARRAY);
+			writeString(output, value.getClass().getComponentType().getName());
+			output.writeInt(array.length);
+			for (Object element : array)
+				writeValue(output, element);
+		} else if (value instanceof List || value instanceof Set) {
+			Collection<?> collection = (Collection<?>) value;
+			output.writeByte(value instanceof List ? LIST : SET);
+			output.writeInt(collection.size());
+			for (Object element : collection)
+				writeValue(output, element);
+		} else if (value instanceof Map) {
+			Map<?, ?> map = (Map<?, ?>) value;
+			output.writeByte(MAP);
+			output.writeInt(map.size());
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				writeValue(output, entry.getKey());
+				writeValue(output, entry.getValue());
+			}
+		} else {
+			throw new UnsupportedOperationException("Unable to store value of type " + value.getClass());
+		}
+	}
+
+	private static boolean isBuiltIn(Class<?> type) {
+		return type == String.class || type == Integer.class || type == Long.class || type == Float.class || type == Double.class || type == Boolean.class;
+	}
+
+	private static void writeString(DataOutputStream output, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	private Object readObject(ByteBuffer buffer, Class<?> configClass) throws IOException {
+
+		Object instance = Accessors.forClass(configClass).newInstance();
+
+		try {
+			for (FieldBinding binding : reader.getBindingPlan(configClass).bindings) {
+
+				Class<?> nested = getNestedClass(binding);
+				byte tag = buffer.get();
+
+				// keeps the default value of the new instance
+				if (tag == DEFAULT)
+					continue;
+
+				Object value;
+				if (nested != null && binding.kind == Kind.MAP && tag == MAP) {
+					int size = buffer.getInt();
+					Map<Object, Object> map = new HashMap<>();
+					for (int i = 0; i < size; i++)
+						map.put(readValue(buffer, buffer.get()), readNested(buffer, buffer.get(), nested));
+					value = map;
+				} else if (nested != null && binding.kind == Kind.VALUE) {
+					value = readNested(buffer, tag, nested);
+				} else {
+					value = readValue(buffer, tag);
+				}
+
+				binding.accessor.set(instance, value);
+			}
+		} catch (IllegalAccessException | ClassCastException e) {
+			throw new IOException("Incompatible snapshot", e);
+		}
+
+		return instance;
+	}
+
+	private Object readNested(ByteBuffer buffer, byte tag, Class<?> nested) throws IOException {
+		return tag == OBJECT ? readObject(buffer, nested) : readValue(buffer, tag);
+	}
+
+	private static Object readValue(ByteBuffer buffer, byte tag) throws IOException {
+
+		switch (tag) {
+		case NULL:
+			return null;
+		case STRING:
+			return readString(buffer);
+		case INTEGER:
+			return buffer.getInt();
+		case LONG:
+			return buffer.getLong();
+		case FLOAT:
+			return buffer.getFloat();
+		case DOUBLE:
+			return buffer.getDouble();
+		case BOOLEAN:
+			return buffer.get() != 0;
+		case INT_ARRAY: {
+			int[] array = new int[buffer.getInt()];
+			buffer.asIntBuffer().get(array);
+			buffer.position(buffer.position() + array.length * Integer.BYTES);
+			return array;
+		}
+		case LONG_ARRAY: {
+			long[] array = new long[buffer.getInt()];
+			buffer.asLongBuffer().get(array);
+			buffer.position(buffer.position() + array.length * Long.BYTES);
+			return array;
+		}
+		case DOUBLE_ARRAY: {
+			double[] array = new double[buffer.getInt()];
+			buffer.asDoubleBuffer().get(array);
+			buffer.position(buffer.position() + array.length * Double.BYTES);
+			return array;
+		}
+		case BOOLEAN_ARRAY: {
+			boolean[] array = new boolean[buffer.getInt()];
+			for (int i = 0; i < array.length; i++)
+				array[i] = buffer.get() != 0;
+			return array;
+		}
+		case OBJECT_ARRAY: {
+			Class<?> componentType = getBuiltInType(readString(buffer));
+			Object[] array = (Object[]) Array.newInstance(componentType, buffer.getInt());
+			for (int i = 0; i < array.length; i++)
+				array[i] = readValue(buffer, buffer.get());
+			return array;
+		}
+		case LIST:
+		case SET: {
+			int size = buffer.getInt();
+			Collection<Object> collection = tag == LIST ? new ArrayList<>(size) : new HashSet<>();
+			for (int i = 0; i < size; i++)
+				collection.add(readValue(buffer, buffer.get()));
+			return collection;
+		}
+		case MAP: {
+			int size = buffer.getInt();
+			Map<Object, Object> map = new HashMap<>();
+			for (int i = 0; i < size; i++)
+				map.put(readValue(buffer, buffer.get()), readValue(buffer, buffer.get()));
+			return map;
+		}
+		default:
+			throw new IOException("Unknown tag " + tag);
+		}
+	}
+
+	private static Class<?> getBuiltInType(String name) throws IOException {
+
+		for (Class<?> type : new Class<?>[] { String.class, Integer.class, Long.class, Float.class, Double.class, Boolean.class }) {
+			if (type.getName().equals(name))
+				return type;
+		}
+
+		throw new IOException("Unknown type " + name);
+	}
+
+	private static String readString(ByteBuffer buffer) {
+
+		int length = buffer.getInt();
+		if (length > buffer.remaining())
+			throw new BufferUnderflowException();
+
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
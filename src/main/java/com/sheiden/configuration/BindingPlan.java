@@ -0,0 +1,419 @@
+package com.sheiden.configuration;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.sheiden.configuration.Accessors.FieldAccessor;
+import com.sheiden.configuration.annotation.ConfigurationProperty;
+
+/**
+ * Precompiled binding information of a configuration class. A plan resolves everything, that only
+ * depends on the class itself (fields, property names, requirements and class mappings), once. It
+ * is reused by each subsequent {@link ConfigurationReader#read(java.util.Properties, Class) read}
+ * of the same class.<br/>
+ * The plan of a configuration interface binds its getter methods instead of fields.
+ *
+ * @author Sebastian Heiden
+ */
+final class BindingPlan {
+
+	final Class<?> configClass;
+
+	final FieldBinding[] bindings;
+
+	/**
+	 * the bindings by their property names
+	 */
+	private final Map<String, FieldBinding> bindingsByName = new HashMap<>();
+
+	/**
+	 * the bindings of a configuration interface by their getter methods
+	 */
+	private final Map<Method, FieldBinding> bindingsByMethod = new HashMap<>();
+
+	private BindingPlan(Class<?> configClass, FieldBinding[] bindings) {
+		this.configClass = configClass;
+		this.bindings = bindings;
+
+		for (FieldBinding binding : bindings) {
+			bindingsByName.put(binding.propertyName, binding);
+			if (binding.method != null)
+				bindingsByMethod.put(binding.method, binding);
+		}
+	}
+
+	/**
+	 * Compiles the plan for given <tt>configClass</tt>.
+	 *
+	 * @param configClass the class to compile the plan for
+	 * @param mappers     the registry to resolve the class mappings of the field types with
+	 * @return the compiled plan
+	 * @throws IllegalStateException If any field of the given class violates a restriction
+	 */
+	static BindingPlan compile(Class<?> configClass, MapperRegistry mappers) {
+
+		if (configClass.isInterface())
+			return compileInterface(configClass, mappers);
+
+		ConfigurationBinder<?> binder = Accessors.forGenerated(configClass);
+		if (binder != null)
+			return compileGenerated(configClass, binder, mappers);
+
+		Field[] fields = configClass.getFields();
+		FieldBinding[] bindings = new FieldBinding[fields.length];
+
+		for (int i = 0; i < fields.length; i++) {
+			checkField(fields[i]);
+			bindings[i] = new FieldBinding(fields[i], i, mappers);
+		}
+
+		return new BindingPlan(configClass, bindings);
+	}
+
+	/**
+	 * Compiles the plan of a class with a generated binder from the properties, which have been
+	 * resolved at compile time, without reflection.
+	 */
+	private static BindingPlan compileGenerated(Class<?> configClass, ConfigurationBinder<?> binder, MapperRegistry mappers) {
+
+		ConfigurationBinder.Property[] properties = binder.getProperties();
+		FieldBinding[] bindings = new FieldBinding[properties.length];
+
+		for (int i = 0; i < properties.length; i++)
+			bindings[i] = new FieldBinding(properties[i], Accessors.forBinder(binder, i), i, mappers);
+
+		return new BindingPlan(configClass, bindings);
+	}
+
+	private static BindingPlan compileInterface(Class<?> configInterface, MapperRegistry mappers) {
+
+		Method[] methods = configInterface.getMethods();
+		FieldBinding[] bindings = new FieldBinding[methods.length];
+
+		int size = 0;
+		for (Method method : methods) {
+
+			if (Modifier.isStatic(method.getModifiers()))
+				continue;
+
+			checkMethod(method);
+			bindings[size] = new FieldBinding(method, size, mappers);
+			size++;
+		}
+
+		return new BindingPlan(configInterface, Arrays.copyOf(bindings, size));
+	}
+
+	/**
+	 * @param method a method of a configuration interface
+	 * @return the binding of given getter method or <tt>null</tt>, if it is no getter of this plan
+	 */
+	FieldBinding getBinding(Method method) {
+		return bindingsByMethod.get(method);
+	}
+
+	/**
+	 * @return the property names of all bindings, relative to the view the class is read from
+	 */
+	Set<String> getPropertyNames() {
+		return Collections.unmodifiableSet(bindingsByName.keySet());
+	}
+
+	/**
+	 * Finds the bindings, whose values depend on the property with given name: the binding with
+	 * exactly that name, and the bindings of maps or nested configuration objects, whose name is a
+	 * prefix of given name.
+	 *
+	 * @param propertyName the name of a property
+	 * @param affected     the set, to which the affected bindings are added
+	 */
+	void collectAffectedBindings(String propertyName, Set<FieldBinding> affected) {
+
+		FieldBinding exact = bindingsByName.get(propertyName);
+		if (exact != null)
+			affected.add(exact);
+
+		for (int dot = propertyName.indexOf('.'); dot > 0; dot = propertyName.indexOf('.', dot + 1)) {
+
+			FieldBinding binding = bindingsByName.get(propertyName.substring(0, dot));
+			if (binding != null && binding.readsNestedProperties())
+				affected.add(binding);
+		}
+	}
+
+	/**
+	 * Checks if given field is public, non static and non final.
+	 *
+	 * @param field the field to check
+	 * @throws IllegalStateException If the given field violates any restriction
+	 */
+	private static void checkField(Field field) {
+
+		String name = field.getName();
+		Class<?> declaringClass = field.getDeclaringClass();
+		int modifiers = field.getModifiers();
+
+		String baseError = String.format("Field %s in class %s ", name, declaringClass);
+
+		if (!Modifier.isPublic(modifiers))
+			throw new IllegalStateException(baseError + "must be public");
+
+		if (Modifier.isStatic(modifiers))
+			throw new IllegalStateException(baseError + "may not be static");
+
+		if (Modifier.isFinal(modifiers))
+			throw new IllegalStateException(baseError + "may not be final");
+
+	}
+
+	/**
+	 * Checks if given method of a configuration interface is an abstract getter.
+	 *
+	 * @param method the method to check
+	 * @throws IllegalStateException If the given method violates any restriction
+	 */
+	private static void checkMethod(Method method) {
+
+		String baseError = String.format("Method %s in interface %s ", method.getName(), method.getDeclaringClass());
+
+		if (method.isDefault())
+			throw new IllegalStateException(baseError + "may not be a default method");
+
+		if (method.getParameterCount() > 0)
+			throw new IllegalStateException(baseError + "may not have parameters");
+
+		if (method.getReturnType().equals(void.class))
+			throw new IllegalStateException(baseError + "must return a value");
+
+	}
+
+	/**
+	 * The kind of a field, which determines how its value is read from the properties.
+	 */
+	enum Kind {
+		VALUE, LIST, SET, MAP
+	}
+
+	/**
+	 * Resolved binding information of a single field or getter method.
+	 */
+	static final class FieldBinding {
+
+		/**
+		 * the position of this binding in its plan
+		 */
+		final int index;
+
+		/**
+		 * the name of the field or getter method
+		 */
+		final String name;
+
+		/**
+		 * the type of the field or the return type of the getter method
+		 */
+		final Class<?> type;
+
+		/**
+		 * the accessor of the field, <tt>null</tt> for getter methods
+		 */
+		final FieldAccessor accessor;
+
+		/**
+		 * the getter method of a configuration interface, <tt>null</tt> for fields
+		 */
+		final Method method;
+
+		final Kind kind;
+
+		final String propertyName;
+
+		final boolean required;
+
+		/**
+		 * The generic type of the elements (collections) or of the values (maps), <tt>null</tt> for
+		 * simple values.
+		 */
+		final Type elementType;
+
+		/**
+		 * The class mapping for the field type (simple values), the element type (collections) or the
+		 * value type (maps). <tt>null</tt>, if no class mapping is registered.
+		 */
+		final Function<String, ?> mapper;
+
+		/**
+		 * The generic key type of maps, <tt>null</tt> otherwise.
+		 */
+		final Type keyType;
+
+		/**
+		 * The class mapping for the key type of maps. <tt>null</tt>, if the field is no map or no class
+		 * mapping is registered.
+		 */
+		final Function<String, ?> keyMapper;
+
+		/**
+		 * The binding of the values of maps, whose values are maps, lists or sets themselves.
+		 * <tt>null</tt> otherwise.
+		 */
+		final FieldBinding valueBinding;
+
+		/**
+		 * The compiled constraints of the field or getter method, <tt>null</tt> if it has none.
+		 */
+		final Constraint constraint;
+
+		/**
+		 * Creates the maps, lists and sets of the declared type, <tt>null</tt> for simple values.
+		 */
+		final Container container;
+
+		private FieldBinding(Field field, int index, MapperRegistry mappers) {
+			this(index, field.getName(), field.getType(), field.getGenericType(), ConfigurationUtil.getPropertyName(field),
+					isRequired(field.getAnnotation(ConfigurationProperty.class)), Constraint.of(field.getAnnotation(ConfigurationProperty.class)),
+					Accessors.forField(field), null, mappers);
+		}
+
+		private FieldBinding(ConfigurationBinder.Property property, FieldAccessor accessor, int index, MapperRegistry mappers) {
+			this(index, property.name, property.type, property.genericType, property.propertyName, property.required, property.constraint, accessor, null,
+					mappers);
+		}
+
+		private FieldBinding(Method method, int index, MapperRegistry mappers) {
+			this(index, method.getName(), method.getReturnType(), method.getGenericReturnType(), ConfigurationUtil.getPropertyName(method),
+					isRequired(method.getAnnotation(ConfigurationProperty.class)), Constraint.of(method.getAnnotation(ConfigurationProperty.class)), null,
+					method, mappers);
+		}
+
+		private FieldBinding(int index, String name, Class<?> type, Type genericType, String propertyName, boolean required, Constraint constraint,
+				FieldAccessor accessor, Method method, MapperRegistry mappers) {
+
+			this.index = index;
+			this.name = name;
+			this.type = type;
+			this.accessor = accessor;
+			this.method = method;
+			this.propertyName = propertyName;
+			this.required = required;
+			this.constraint = constraint;
+
+			Container container = null;
+			if (type.equals(Map.class) || type.equals(List.class) || type.equals(Set.class) || genericType instanceof ParameterizedType)
+				container = Container.of(type, genericType instanceof ParameterizedType ? ((ParameterizedType) genericType).getActualTypeArguments()[0] : null);
+
+			this.container = container;
+
+			if (container != null && container.kind == Kind.MAP) {
+
+				Type[] actualTypeArguments = ((ParameterizedType) genericType).getActualTypeArguments();
+
+				this.kind = Kind.MAP;
+				this.keyType = actualTypeArguments[0];
+				this.keyMapper = mappers.get(keyType);
+				this.elementType = actualTypeArguments[1];
+				this.mapper = mappers.get(elementType);
+				this.valueBinding = mapper == null ? getValueBinding(elementType, mappers) : null;
+
+			} else if (container != null) {
+
+				Type[] actualTypeArguments = ((ParameterizedType) genericType).getActualTypeArguments();
+
+				this.kind = container.kind;
+				this.keyType = null;
+				this.keyMapper = null;
+				this.elementType = actualTypeArguments[0];
+				this.mapper = mappers.get(elementType);
+				this.valueBinding = null;
+
+			} else {
+
+				this.kind = Kind.VALUE;
+				this.keyType = null;
+				this.keyMapper = null;
+				this.elementType = null;
+				this.mapper = mappers.get(type);
+				this.valueBinding = null;
+			}
+		}
+
+		/**
+		 * Creates the binding of map values, which are maps, lists or sets. Its property name is
+		 * empty, since each value is read from the properties below its map key.
+		 *
+		 * @return the binding or <tt>null</tt>, if the values are no maps, lists or sets
+		 */
+		private FieldBinding getValueBinding(Type valueType, MapperRegistry mappers) {
+
+			if (!(valueType instanceof ParameterizedType))
+				return null;
+
+			Class<?> rawType = (Class<?>) ((ParameterizedType) valueType).getRawType();
+			if (Container.of(rawType, ((ParameterizedType) valueType).getActualTypeArguments()[0]) == null)
+				return null;
+
+			return new FieldBinding(-1, name, rawType, valueType, "", false, null, null, null, mappers);
+		}
+
+		/**
+		 * @return true, if the elements of this list or set binding are nested configuration objects,
+		 *         which are read from the properties below their index
+		 */
+		boolean hasNestedElements() {
+			return (kind == Kind.LIST || kind == Kind.SET) && mapper == null && elementType instanceof Class;
+		}
+
+		/**
+		 * @return true, if the elements of this list or set binding are arrays, lists or sets
+		 *         themselves, which are read from the properties of their indices
+		 */
+		boolean hasIndexedElements() {
+
+			if ((kind != Kind.LIST && kind != Kind.SET) || mapper == null)
+				return false;
+
+			if (elementType instanceof Class)
+				return ((Class<?>) elementType).isArray();
+
+			if (!(elementType instanceof ParameterizedType))
+				return false;
+
+			Type rawType = ((ParameterizedType) elementType).getRawType();
+			return rawType.equals(List.class) || rawType.equals(Set.class) || rawType.equals(Collection.class);
+		}
+
+		/**
+		 * @return true, if the value of this binding is read from the properties below its name
+		 */
+		boolean readsNestedProperties() {
+			return kind == Kind.MAP || (kind == Kind.VALUE && mapper == null) || hasNestedElements() || hasIndexedElements();
+		}
+
+		/**
+		 * Checks if a field or getter method is necessary to set with a value from the properties.
+		 *
+		 * @param annotation the annotation of the field or getter method, may be <tt>null</tt>
+		 * @see ConfigurationProperty#required()
+		 * @return true, if the field must have a value, false else
+		 */
+		private static boolean isRequired(ConfigurationProperty annotation) {
+
+			if (annotation == null)
+				return true;
+
+			return annotation.required();
+
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package com.sheiden.configuration;
+
+import java.lang.reflect.Type;
+
+import com.sheiden.configuration.annotation.ConfigurationProperty;
+import com.sheiden.configuration.annotation.NameSpace;
+
+/**
+ * Binds the fields of a configuration class without reflection. Binders are generated at compile
+ * time by the annotation processor of the <tt>processor</tt> module, for each class, that is
+ * annotated with {@link NameSpace} or declares a field annotated with {@link ConfigurationProperty},
+ * and for the classes of their nested configuration objects.<br/>
+ * {@link ConfigurationReader} uses the generated binder of a class, if it is on the class path:
+ * property names, name spaces and field types are resolved at compile time and values are written
+ * to the fields directly. Class mappings, default values and required properties are handled by the
+ * reader, just like for classes without generated binder.
+ *
+ * @param <M> the configuration class
+ * @author Sebastian Heiden
+ */
+public interface ConfigurationBinder<M> {
+
+	/**
+	 * The suffix of generated binders. The binder of <tt>com.example.Outer.Inner</tt> is
+	 * <tt>com.example.Outer_Inner_ConfigurationBinder</tt>. Underscores of class names are escaped
+	 * as <tt>_1</tt>, e.g. the binder of <tt>com.example.Outer_Inner</tt> is
+	 * <tt>com.example.Outer_1Inner_ConfigurationBinder</tt>.
+	 */
+	String SUFFIX = "_ConfigurationBinder";
+
+	/**
+	 * @return the public fields of the configuration class, including inherited ones. The position
+	 *         of each field is its index for {@link #get(Object, int)} and
+	 *         {@link #set(Object, int, Object)}.
+	 */
+	Property[] getProperties();
+
+	/**
+	 * @return a new instance of the configuration class, created by its default constructor
+	 */
+	M newInstance();
+
+	/**
+	 * @param instance an instance of the configuration class
+	 * @param index    the index of the field
+	 * @return the value of the field, primitives are boxed
+	 */
+	Object get(M instance, int index);
+
+	/**
+	 * @param instance an instance of the configuration class
+	 * @param index    the index of the field
+	 * @param value    the new value of the field, primitives are boxed
+	 */
+	void set(M instance, int index, Object value);
+
+	/**
+	 * Creates a generic type, e.g. <tt>parameterized(Map.class, String.class, Integer.class)</tt> for
+	 * <tt>Map&lt;String, Integer&gt;</tt>. Generic types are equal to the ones, which are returned by
+	 * {@link java.lang.reflect.Field#getGenericType()}.
+	 *
+	 * @param rawType       the generic class
+	 * @param typeArguments the actual type arguments
+	 * @return the generic type
+	 */
+	static Type parameterized(Class<?> rawType, Type... typeArguments) {
+		return new GenericType(rawType, typeArguments);
+	}
+
+	/**
+	 * A public field of a configuration class, resolved at compile time.
+	 */
+	final class Property {
+
+		final String name;
+
+		final String propertyName;
+
+		final Class<?> type;
+
+		final Type genericType;
+
+		final boolean required;
+
+		/**
+		 * the compiled constraints, <tt>null</tt> if the field has none
+		 */
+		final Constraint constraint;
+
+		/**
+		 * @param name         the name of the field
+		 * @param propertyName the name of the property including the name space
+		 * @param type         the type of the field
+		 * @param genericType  the generic type of the field, equal to <tt>type</tt> for non generic
+		 *                     fields
+		 * @param required     whether the property is required
+		 */
+		public Property(String name, String propertyName, Class<?> type, Type genericType, boolean required) {
+			this.name = name;
+			this.propertyName = propertyName;
+			this.type = type;
+			this.genericType = genericType;
+			this.required = required;
+			this.constraint = null;
+		}
+
+		/**
+		 * Creates a property with the constraints of its {@link ConfigurationProperty} annotation.
+		 *
+		 * @see ConfigurationProperty#min()
+		 * @throws java.util.regex.PatternSyntaxException If the pattern is invalid
+		 */
+		public Property(String name, String propertyName, Class<?> type, Type genericType, boolean required, double min, double max, String pattern,
+				int minSize, int maxSize, String[] allowed) {
+			this.name = name;
+			this.propertyName = propertyName;
+			this.type = type;
+			this.genericType = genericType;
+			this.required = required;
+			this.constraint = Constraint.of(min, max, pattern, minSize, maxSize, allowed);
+		}
+	}
+}
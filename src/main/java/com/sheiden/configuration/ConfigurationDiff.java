@@ -0,0 +1,180 @@
+package com.sheiden.configuration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The differences between two {@link ConfigurationSnapshot snapshots}: the names of all properties,
+ * which were added, removed or changed, in ascending order.
+ *
+ * @author Sebastian Heiden
+ * @see ConfigurationSnapshot#diff(ConfigurationSnapshot)
+ */
+public final class ConfigurationDiff {
+
+	private final ConfigurationSnapshot older;
+	private final ConfigurationSnapshot newer;
+
+	private final List<String> added;
+	private final List<String> removed;
+	private final List<String> changed;
+
+	/**
+	 * the names of all added, removed and changed properties in ascending order
+	 */
+	private final String[] keys;
+
+	private ConfigurationDiff(ConfigurationSnapshot older, ConfigurationSnapshot newer, List<String> added, List<String> removed, List<String> changed,
+			String[] keys) {
+		this.older = older;
+		this.newer = newer;
+		this.added = Collections.unmodifiableList(added);
+		this.removed = Collections.unmodifiableList(removed);
+		this.changed = Collections.unmodifiableList(changed);
+		this.keys = keys;
+	}
+
+	/**
+	 * Merges the sorted properties of both snapshots, in linear time.
+	 *
+	 * @param older the older snapshot
+	 * @param newer the newer snapshot
+	 * @return the differences
+	 */
+	static ConfigurationDiff between(ConfigurationSnapshot older, ConfigurationSnapshot newer) {
+
+		List<String> added = new ArrayList<>(0);
+		List<String> removed = new ArrayList<>(0);
+		List<String> changed = new ArrayList<>(0);
+		List<String> keys = new ArrayList<>(0);
+
+		// equal snapshots are recognized by their hashes first
+		if (!older.equals(newer)) {
+
+			String[] oldKeys = older.keys;
+			String[] newKeys = newer.keys;
+
+			int i = 0;
+			int j = 0;
+			while (i < oldKeys.length || j < newKeys.length) {
+
+				int comparison = i == oldKeys.length ? 1 : j == newKeys.length ? -1 : oldKeys[i].compareTo(newKeys[j]);
+
+				if (comparison < 0) {
+					removed.add(oldKeys[i]);
+					keys.add(oldKeys[i++]);
+				} else if (comparison > 0) {
+					added.add(newKeys[j]);
+					keys.add(newKeys[j++]);
+				} else {
+					if (!older.values[i].equals(newer.values[j])) {
+						changed.add(oldKeys[i]);
+						keys.add(oldKeys[i]);
+					}
+					i++;
+					j++;
+				}
+			}
+		}
+
+		return new ConfigurationDiff(older, newer, added, removed, changed, keys.toArray(new String[0]));
+	}
+
+	/**
+	 * @return true, if both snapshots are equal
+	 */
+	public boolean isEmpty() {
+		return keys.length == 0;
+	}
+
+	/**
+	 * Checks whether any property at or below given prefix changed, e.g. the prefix <tt>pool</tt>
+	 * matches <tt>pool</tt> and <tt>pool.size</tt>, but not <tt>pools</tt>. Each check takes two binary
+	 * searches, so that many listeners can be checked against a large diff.
+	 *
+	 * @param prefix the name of a property or a name space, the empty prefix matches all properties
+	 * @return true, if any property at or below given prefix was added, removed or changed
+	 */
+	public boolean affects(String prefix) {
+
+		if (prefix.isEmpty())
+			return keys.length > 0;
+
+		// the prefix itself
+		int index = search(prefix);
+		if (index < keys.length && keys[index].equals(prefix))
+			return true;
+
+		// keys below the prefix follow the first key, that is not less than prefix + '.', e.g. pool-a < pool.a
+		String below = prefix + '.';
+		index = search(below);
+		return index < keys.length && keys[index].startsWith(below);
+	}
+
+	/**
+	 * @return the index of the first key, that is not less than given key
+	 */
+	private int search(String key) {
+
+		int low = 0;
+		int high = keys.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (keys[middle].compareTo(key) < 0)
+				low = middle + 1;
+			else
+				high = middle;
+		}
+
+		return low;
+	}
+
+	/**
+	 * @return the names of all added, removed and changed properties in ascending order
+	 */
+	public List<String> getKeys() {
+		return Collections.unmodifiableList(Arrays.asList(keys));
+	}
+
+	/**
+	 * @return the names of the properties, which are only contained by the newer snapshot
+	 */
+	public List<String> getAdded() {
+		return added;
+	}
+
+	/**
+	 * @return the names of the properties, which are only contained by the older snapshot
+	 */
+	public List<String> getRemoved() {
+		return removed;
+	}
+
+	/**
+	 * @return the names of the properties, whose values changed
+	 */
+	public List<String> getChanged() {
+		return changed;
+	}
+
+	/**
+	 * @return the older snapshot, e.g. to look up previous values
+	 */
+	public ConfigurationSnapshot getOlder() {
+		return older;
+	}
+
+	/**
+	 * @return the newer snapshot
+	 */
+	public ConfigurationSnapshot getNewer() {
+		return newer;
+	}
+
+	@Override
+	public String toString() {
+		return "ConfigurationDiff[added " + added + ", removed " + removed + ", changed " + changed + "]";
+	}
+}
@@ -0,0 +1,154 @@
+package com.sheiden.configuration;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Receives the log messages of {@link ConfigurationReader}, {@link ConfigurationWriter},
+ * {@link LiveConfiguration} and {@link BinaryConfigurationCache}. Messages are built lazily: they
+ * are not formatted at all, unless their level is {@link #isEnabled(Level) enabled}.
+ *
+ * <pre>
+ * ConfigurationReader reader = ConfigurationReader.builder().logger(ConfigurationLogger.java("config")).build();
+ * </pre>
+ *
+ * @author Sebastian Heiden
+ * @see ConfigurationReader.Builder#logger(ConfigurationLogger)
+ * @see ConfigurationWriter.Builder#logger(ConfigurationLogger)
+ */
+public interface ConfigurationLogger {
+
+	/**
+	 * The severity of a message
+	 */
+	enum Level {
+		DEBUG, INFO, WARN, ERROR
+	}
+
+	/**
+	 * Discards all messages
+	 */
+	ConfigurationLogger SILENT = new ConfigurationLogger() {
+
+		@Override
+		public boolean isEnabled(Level level) {
+			return false;
+		}
+
+		@Override
+		public void log(Level level, String message, Throwable error) {
+		}
+	};
+
+	/**
+	 * Prints messages of level {@link Level#INFO} and above to {@link System#out} and the stack traces
+	 * of errors to {@link System#err}. This is the default.
+	 */
+	ConfigurationLogger STANDARD_OUTPUT = standardOutput(Level.INFO);
+
+	/**
+	 * @param level the level of a message
+	 * @return true, if messages of given level are logged
+	 */
+	boolean isEnabled(Level level);
+
+	/**
+	 * Logs given message, regardless of its level.
+	 *
+	 * @param level   the level of the message
+	 * @param message the message
+	 * @param error   the cause of the message or <tt>null</tt>
+	 */
+	void log(Level level, String message, Throwable error);
+
+	/**
+	 * Logs the message of given supplier, if its level is enabled.
+	 *
+	 * @param level   the level of the message
+	 * @param message builds the message
+	 */
+	default void log(Level level, Supplier<String> message) {
+		if (isEnabled(level))
+			log(level, message.get(), null);
+	}
+
+	/**
+	 * Logs the message of given supplier, if its level is enabled.
+	 *
+	 * @param level   the level of the message
+	 * @param message builds the message
+	 * @param error   the cause of the message or <tt>null</tt>
+	 */
+	default void log(Level level, Supplier<String> message, Throwable error) {
+		if (isEnabled(level))
+			log(level, message.get(), error);
+	}
+
+	/**
+	 * Creates a logger, which prints messages to {@link System#out} and the stack traces of errors to
+	 * {@link System#err}.
+	 *
+	 * @param threshold the lowest level, which is printed
+	 * @return the logger
+	 */
+	static ConfigurationLogger standardOutput(Level threshold) {
+
+		Objects.requireNonNull(threshold, "threshold");
+
+		return new ConfigurationLogger() {
+
+			@Override
+			public boolean isEnabled(Level level) {
+				return level.compareTo(threshold) >= 0;
+			}
+
+			@Override
+			public void log(Level level, String message, Throwable error) {
+
+				System.out.println(message);
+				if (error != null)
+					error.printStackTrace();
+			}
+		};
+	}
+
+	/**
+	 * Creates a logger, which passes messages to the {@link Logger java.util.logging} logger of given
+	 * name. {@link Level#DEBUG} is mapped to {@link java.util.logging.Level#FINE FINE} and
+	 * {@link Level#WARN} to {@link java.util.logging.Level#WARNING WARNING}.
+	 *
+	 * @param name the name of the logger
+	 * @return the logger
+	 */
+	static ConfigurationLogger java(String name) {
+
+		Logger logger = Logger.getLogger(name);
+
+		return new ConfigurationLogger() {
+
+			@Override
+			public boolean isEnabled(Level level) {
+				return logger.isLoggable(toJava(level));
+			}
+
+			@Override
+			public void log(Level level, String message, Throwable error) {
+				logger.log(toJava(level), message, error);
+			}
+
+			private java.util.logging.Level toJava(Level level) {
+				switch (level) {
+				case DEBUG:
+					return java.util.logging.Level.FINE;
+				case INFO:
+					return java.util.logging.Level.INFO;
+				case WARN:
+					return java.util.logging.Level.WARNING;
+				default:
+					return java.util.logging.Level.SEVERE;
+				}
+			}
+		};
+	}
+}
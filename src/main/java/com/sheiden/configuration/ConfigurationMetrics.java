@@ -0,0 +1,93 @@
+package com.sheiden.configuration;
+
+import java.lang.reflect.Type;
+
+/**
+ * Receives measurements of a {@link ConfigurationReader}, e.g. to export them to a monitoring
+ * system. All methods do nothing by default, so that implementations only override the
+ * measurements they are interested in.<br/>
+ * Measurements are reported by the reading threads and must therefore be thread safe and cheap.
+ * The reader does not take any measurements with {@link #NONE}, which is the default.
+ *
+ * @author Sebastian Heiden
+ * @see ConfigurationReader.Builder#metrics(ConfigurationMetrics)
+ * @see ConfigurationStatistics
+ */
+public interface ConfigurationMetrics {
+
+	/**
+	 * Disables all measurements
+	 */
+	ConfigurationMetrics NONE = new ConfigurationMetrics() {
+	};
+
+	/**
+	 * A properties file has been read into memory.
+	 *
+	 * @param path  the path of the file
+	 * @param bytes the size of the file
+	 * @param nanos the time to read the file
+	 */
+	default void fileRead(String path, long bytes, long nanos) {
+	}
+
+	/**
+	 * A properties file has been parsed.
+	 *
+	 * @param path       the path of the file
+	 * @param properties the number of properties
+	 * @param nanos      the time to parse the file
+	 */
+	default void parsed(String path, int properties, long nanos) {
+	}
+
+	/**
+	 * An instance of a configuration class has been bound, including its nested configuration
+	 * objects. Configuration interfaces are bound lazily and are not reported.
+	 *
+	 * @param configClass the configuration class
+	 * @param nanos       the time to bind all fields
+	 */
+	default void bound(Class<?> configClass, long nanos) {
+	}
+
+	/**
+	 * A single property value has been converted by a class mapping.
+	 *
+	 * @param type  the type of the class mapping
+	 * @param nanos the time to convert the value
+	 */
+	default void mapped(Type type, long nanos) {
+	}
+
+	/**
+	 * A {@link java.util.Map}, {@link java.util.List} or {@link java.util.Set} has been bound.
+	 *
+	 * @param configClass  the class, that declares the collection
+	 * @param propertyName the name of the property of the collection
+	 * @param size         the number of elements
+	 */
+	default void collectionBound(Class<?> configClass, String propertyName, int size) {
+	}
+
+	/**
+	 * A watched properties file has been reloaded.
+	 *
+	 * @param path      the path of the file
+	 * @param published whether a new configuration object was published
+	 * @see LiveConfiguration
+	 */
+	default void reloaded(String path, boolean published) {
+	}
+
+	/**
+	 * A watched properties file could not be reloaded, the previous configuration object remains
+	 * current.
+	 *
+	 * @param path  the path of the file
+	 * @param error the reason
+	 * @see LiveConfiguration
+	 */
+	default void reloadFailed(String path, RuntimeException error) {
+	}
+}
@@ -0,0 +1,172 @@
+package com.sheiden.configuration;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.sheiden.configuration.BindingPlan.FieldBinding;
+
+/**
+ * Implements a configuration interface lazily: the properties of all getter methods are copied,
+ * when the interface is read, but the value of a getter method is converted not until the method is
+ * called for the first time. Afterwards the value is cached, so that each call returns the same
+ * object. Changes of the source after the read are never visible.<br/>
+ * Values are cached without locking. Concurrent first calls of the same getter may read its value
+ * more than once, but always return equal values.
+ *
+ * @author Sebastian Heiden
+ * @see ConfigurationReader#validate(Object)
+ */
+final class ConfigurationProxy implements InvocationHandler {
+
+	/**
+	 * Marker for cached <tt>null</tt> values
+	 */
+	private static final Object NULL = new Object();
+
+	private final ConfigurationReader reader;
+	private final BindingPlan plan;
+	private final PropertyView properties;
+
+	/**
+	 * the cached values by the index of their bindings, <tt>null</tt> until the first call
+	 */
+	private final AtomicReferenceArray<Object> values;
+
+	private ConfigurationProxy(ConfigurationReader reader, BindingPlan plan, PropertyView properties) {
+		this.reader = reader;
+		this.plan = plan;
+		this.properties = properties.snapshot(plan.getPropertyNames());
+		this.values = new AtomicReferenceArray<>(plan.bindings.length);
+	}
+
+	/**
+	 * Creates a lazy implementation of the configuration interface of given <tt>plan</tt>.
+	 *
+	 * @param reader     the reader, which maps the properties
+	 * @param plan       the binding plan of the configuration interface
+	 * @param properties the properties to copy the values from
+	 * @return the implementation of the interface
+	 */
+	static Object create(ConfigurationReader reader, BindingPlan plan, PropertyView properties) {
+		return new ConfigurationProxy(reader, plan, properties).newProxy();
+	}
+
+	/**
+	 * @param configuration any configuration object
+	 * @return the handler of given configuration object or <tt>null</tt>, if it is no lazy
+	 *         implementation of a configuration interface
+	 */
+	static ConfigurationProxy of(Object configuration) {
+
+		if (configuration == null || !Proxy.isProxyClass(configuration.getClass()))
+			return null;
+
+		InvocationHandler handler = Proxy.getInvocationHandler(configuration);
+		return handler instanceof ConfigurationProxy ? (ConfigurationProxy) handler : null;
+	}
+
+	/**
+	 * @return the implemented configuration interface
+	 */
+	Class<?> getConfigInterface() {
+		return plan.configClass;
+	}
+
+	/**
+	 * Reads the values of all getter methods, that have not been called yet.
+	 *
+	 * @return the values of all getter methods
+	 * @throws IllegalArgumentException     If any required property is not set
+	 * @throws IllegalStateException        If any property can not be mapped
+	 * @throws ConstraintViolationException If any value violates its constraints, with the violations
+	 *                                      of all getter methods
+	 */
+	List<Object> resolveAll() {
+
+		List<Object> resolved = new ArrayList<>(plan.bindings.length);
+		List<String> violations = new ArrayList<>(0);
+
+		for (FieldBinding binding : plan.bindings) {
+			try {
+				resolved.add(get(binding));
+			} catch (ConstraintViolationException e) {
+				violations.addAll(e.getViolations());
+			}
+		}
+
+		if (!violations.isEmpty())
+			throw new ConstraintViolationException(plan.configClass, violations);
+
+		return resolved;
+	}
+
+	/**
+	 * Creates a lazy implementation on given <tt>properties</tt>, which shares the cached values of
+	 * all getter methods, that are not affected by changed properties.
+	 *
+	 * @param properties the changed properties
+	 * @param affected   the bindings, which are affected by changed properties
+	 * @return the new implementation of the interface
+	 */
+	Object rebind(PropertyView properties, Set<FieldBinding> affected) {
+
+		ConfigurationProxy rebound = new ConfigurationProxy(reader, plan, properties);
+		for (FieldBinding binding : plan.bindings) {
+			if (!affected.contains(binding))
+				rebound.values.set(binding.index, values.get(binding.index));
+		}
+
+		return rebound.newProxy();
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) {
+
+		FieldBinding binding = plan.getBinding(method);
+		if (binding != null)
+			return get(binding);
+
+		// methods of Object
+		switch (method.getName()) {
+		case "equals":
+			return proxy == args[0];
+		case "hashCode":
+			return System.identityHashCode(proxy);
+		case "toString":
+			return plan.configClass.getName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+		default:
+			throw new UnsupportedOperationException(method.toString());
+		}
+	}
+
+	private Object get(FieldBinding binding) {
+
+		Object value = values.get(binding.index);
+		if (value == null) {
+
+			value = reader.resolve(binding, properties, plan.configClass);
+
+			// unset primitives are zero like uninitialized fields
+			if (value == null && binding.type.isPrimitive())
+				value = Array.get(Array.newInstance(binding.type, 1), 0);
+
+			if (value == null)
+				value = NULL;
+
+			values.set(binding.index, value);
+		}
+
+		return value == NULL ? null : value;
+	}
+
+	private Object newProxy() {
+		Class<?> configInterface = plan.configClass;
+		return Proxy.newProxyInstance(configInterface.getClassLoader(), new Class<?>[] { configInterface }, this);
+	}
+}
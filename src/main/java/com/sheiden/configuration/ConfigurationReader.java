@@ -4,25 +4,45 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-import com.sheiden.configuration.annotation.ConfigurationProperty;
+import com.sheiden.configuration.BindingPlan.FieldBinding;
+import com.sheiden.configuration.BindingPlan.Kind;
+import com.sheiden.configuration.ConfigurationLogger.Level;
 
 /**
  * This class reads property files and maps each property to a field of a given class.
@@ -31,35 +51,186 @@ import com.sheiden.configuration.annotation.ConfigurationProperty;
  */
 public class ConfigurationReader {
 
-	private final Map<Type, Function<String, ?>> CLASS_MAPPERS = new HashMap<>();
+	/**
+	 * Marker for {@link #resolve(FieldBinding, Object, PropertyView, Class) resolved} fields, which
+	 * keep their default value
+	 */
+	private static final Object KEEP_DEFAULT = new Object();
+
+	/**
+	 * The default minimum number of fields of a class, which are bound in parallel
+	 * 
+	 * @see Builder#parallelBinding(Executor)
+	 */
+	public static final int DEFAULT_PARALLEL_THRESHOLD = 64;
+
+	/**
+	 * The minimum number of fields per helper task of a parallel read
+	 */
+	private static final int FIELDS_PER_HELPER = 8;
+
+	/**
+	 * Registered class mappings. The map itself is never modified, but replaced as a whole, so that
+	 * concurrent reads always see a consistent snapshot without locking.
+	 */
+	private volatile Map<Type, Function<String, ?>> classMappers;
+
+	/**
+	 * The built-in class mappings, which tell replaced class mappings apart
+	 */
+	private final Map<Type, Function<String, ?>> defaultClassMappers;
+
+	/**
+	 * The class mappings with their conversion caches, which convert the elements of the default
+	 * array mappings
+	 */
+	private volatile Map<Type, Function<String, ?>> cachedMappers;
+
+	/**
+	 * Compiled binding plans per configuration class
+	 */
+	private volatile ClassValue<BindingPlan> plans;
+
+	/**
+	 * Readers created by a {@link Builder} do not accept further class mappings
+	 */
+	private final boolean frozen;
+
+	/**
+	 * The executor for parallel binding, <tt>null</tt> if fields are always bound sequentially
+	 */
+	private final Executor bindingExecutor;
+
+	/**
+	 * The minimum number of fields of a class, which are bound in parallel
+	 */
+	private final int parallelThreshold;
+
+	/**
+	 * Receives the measurements of this reader
+	 */
+	private final ConfigurationMetrics metrics;
+
+	/**
+	 * Whether measurements are taken at all. Without measurements, the reader does not even read the
+	 * clock.
+	 */
+	private final boolean instrumented;
+
+	/**
+	 * Receives the log messages of this reader
+	 */
+	private final ConfigurationLogger logger;
+
+	/**
+	 * The maximum number of cached conversions per class mapping, 0 if conversions are not cached
+	 */
+	private final int conversionCacheSize;
+
+	/**
+	 * The types of class mappings, whose conversions are cached
+	 */
+	private final Set<Type> cachedTypes;
 
 	/**
-	 * Instance for singleton usage
+	 * The writer, which flattens configuration objects of this reader, <tt>null</tt> to derive it
+	 * from the class mappings
 	 */
-	private static ConfigurationReader instance = null;
+	private final ConfigurationWriter writer;
 
 	/**
 	 * Default Constructor. For a global instance use {@link #getInstance()} instead.<br/>
 	 * This constructor should not been used, if custom class mappings are used to avoid registering the
 	 * same mapping at all usages of ConfigurationReader.
+	 * 
+	 * @see #builder()
 	 */
 	public ConfigurationReader() {
+		this(new Builder());
+	}
+
+	private ConfigurationReader(Builder builder) {
+
+		Map<Type, Function<String, ?>> mappers = new HashMap<>();
+		addDefaultClassMappers(mappers);
+		this.defaultClassMappers = Collections.unmodifiableMap(new HashMap<>(mappers));
+		mappers.putAll(builder.classMappers);
+
+		this.metrics = builder.metrics;
+		this.logger = builder.logger;
+		this.instrumented = metrics != ConfigurationMetrics.NONE;
+		this.conversionCacheSize = builder.conversionCacheSize;
+		this.cachedTypes = new HashSet<>(builder.cachedTypes);
+		this.classMappers = Collections.unmodifiableMap(mappers);
+		this.cachedMappers = cache(classMappers);
+		this.plans = newPlanCache(instrument(cachedMappers));
+		this.frozen = builder.frozen;
+		this.bindingExecutor = builder.bindingExecutor;
+		this.parallelThreshold = builder.parallelThreshold;
+		this.writer = builder.writer;
+	}
+
+	private void addDefaultClassMappers(Map<Type, Function<String, ?>> mappers) {
 
 		// single classes
-		addClassMapper(String.class, str -> str);
-		addClassMapper(Integer.class, str -> Integer.parseInt(str));
-		addClassMapper(Long.class, str -> Long.parseLong(str));
-		addClassMapper(Float.class, str -> Float.parseFloat(str));
-		addClassMapper(Double.class, str -> Double.parseDouble(str));
-		addClassMapper(Boolean.class, str -> Boolean.valueOf(str));
+		mappers.put(String.class, str -> str);
+		mappers.put(Integer.class, str -> Integer.parseInt(str));
+		mappers.put(Long.class, str -> Long.parseLong(str));
+		mappers.put(Float.class, str -> Float.parseFloat(str));
+		mappers.put(Double.class, str -> Double.parseDouble(str));
+		mappers.put(Boolean.class, str -> Boolean.valueOf(str));
+		mappers.put(BigDecimal.class, str -> new BigDecimal(str));
+		mappers.put(Duration.class, str -> Duration.parse(str));
+		mappers.put(URI.class, str -> URI.create(str));
+		mappers.put(Path.class, str -> Paths.get(str));
+		mappers.put(InetSocketAddress.class, MapperRegistry::parseSocketAddress);
+		mappers.put(Pattern.class, str -> Pattern.compile(str));
 
 		// arrays
-		addClassMapper(String[].class, str -> str.split(","));
-		addClassMapper(Integer[].class, str -> Arrays.asList(str.split(",")).stream().map(s -> CLASS_MAPPERS.get(Integer.class).apply(s)).toArray(Integer[]::new));
-		addClassMapper(Long[].class, str -> Arrays.asList(str.split(",")).stream().map(s -> CLASS_MAPPERS.get(Long.class).apply(s)).toArray(Long[]::new));
-		addClassMapper(Float[].class, str -> Arrays.asList(str.split(",")).stream().map(s -> CLASS_MAPPERS.get(Float.class).apply(s)).toArray(Float[]::new));
-		addClassMapper(Double[].class, str -> Arrays.asList(str.split(",")).stream().map(s -> CLASS_MAPPERS.get(Double.class).apply(s)).toArray(Double[]::new));
-		addClassMapper(Boolean[].class, str -> Arrays.asList(str.split(",")).stream().map(s -> CLASS_MAPPERS.get(Boolean.class).apply(s)).toArray(Boolean[]::new));
+		mappers.put(String[].class, str -> convertElements(str, String.class, String[]::new));
+		mappers.put(Integer[].class, str -> convertElements(str, Integer.class, Integer[]::new));
+		mappers.put(Long[].class, str -> convertElements(str, Long.class, Long[]::new));
+		mappers.put(Float[].class, str -> convertElements(str, Float.class, Float[]::new));
+		mappers.put(Double[].class, str -> convertElements(str, Double.class, Double[]::new));
+		mappers.put(Boolean[].class, str -> convertElements(str, Boolean.class, Boolean[]::new));
+
+		// primitives
+		mappers.put(int.class, str -> Integer.parseInt(str));
+		mappers.put(long.class, str -> Long.parseLong(str));
+		mappers.put(float.class, str -> Float.parseFloat(str));
+		mappers.put(double.class, str -> Double.parseDouble(str));
+		mappers.put(boolean.class, str -> Boolean.parseBoolean(str));
+
+		// primitive arrays
+		mappers.put(int[].class, PrimitiveParser::parseInts);
+		mappers.put(long[].class, PrimitiveParser::parseLongs);
+		mappers.put(double[].class, PrimitiveParser::parseDoubles);
+		mappers.put(boolean[].class, PrimitiveParser::parseBooleans);
+	}
+
+	/**
+	 * Converts the comma separated elements of a default array mapping, so that the elements share
+	 * the conversion cache of their type.
+	 */
+	private <E> E[] convertElements(String str, Class<E> elementType, IntFunction<E[]> arrayFactory) {
+
+		Function<String, ?> mapper = cachedMappers.get(elementType);
+
+		String[] elements = str.split(",");
+		E[] array = arrayFactory.apply(elements.length);
+		for (int i = 0; i < elements.length; i++)
+			array[i] = elementType.cast(mapper.apply(elements[i]));
+
+		return array;
+	}
+
+	/**
+	 * Creates a builder for an immutable reader, which can be shared by any number of threads.
+	 * 
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder().frozen();
 	}
 
 	/**
@@ -68,41 +239,134 @@ public class ConfigurationReader {
 	 * @return the singleton instance
 	 */
 	public static ConfigurationReader getInstance() {
-		if (instance == null) {
-			instance = new ConfigurationReader();
-		}
-		return instance;
+		return InstanceHolder.INSTANCE;
 	}
 
 	/**
-	 * Adds a new (custom) class mapping function.
+	 * Lazy and thread safe initialization of the singleton instance
+	 */
+	private static final class InstanceHolder {
+		private static final ConfigurationReader INSTANCE = new ConfigurationReader();
+	}
+
+	/**
+	 * Adds a new (custom) class mapping function. Reads, that run concurrently, either use all class
+	 * mappings before or after this call.
 	 * 
 	 * @param type the class that should be mapped
 	 * @param func the function, that converts a String to M
+	 * @throws UnsupportedOperationException If this reader was created by a {@link Builder}
 	 */
-	public <M> void addClassMapper(Class<M> type, Function<String, M> func) {
-		CLASS_MAPPERS.put(type, func);
+	public synchronized <M> void addClassMapper(Class<M> type, Function<String, M> func) {
+
+		if (frozen)
+			throw new UnsupportedOperationException("Class mappings of this reader are immutable, register them at the builder instead");
+
+		Map<Type, Function<String, ?>> mappers = new HashMap<>(classMappers);
+		mappers.put(type, func);
+		classMappers = Collections.unmodifiableMap(mappers);
+
+		// compiled plans hold resolved class mappings
+		cachedMappers = cache(classMappers);
+		plans = newPlanCache(instrument(cachedMappers));
 	}
 
 	/**
 	 * Tries to map each field of given <tt>configClass</tt> to a property from the properties file,
-	 * located at <tt>pathToPropertiesFile</tt>.
+	 * located at <tt>pathToPropertiesFile</tt>.<br/>
+	 * Large files are memory mapped and only the properties, which are read by the configuration
+	 * class, are decoded. The mapping is released, before this method returns.
 	 * 
 	 * @param                      <M> the type of the configuration class
 	 * @param pathToPropertiesFile the path to a properties file on the file system
 	 * @param configClass          the class object of the desired configuration object
 	 * @return a new instance with the inserted fields of the provided class M
 	 * @throws IllegalArgumentException If any required property is not set
-	 * @throws IllegalStateException    If any field of the given class has an unsupported type
+	 * @throws IllegalStateException    If any field of the given class has an unsupported type or the
+	 *                                  file can not be read
 	 * 
 	 * @see #read(Properties, Class)
 	 */
 	public <M> M read(String pathToPropertiesFile, Class<M> configClass) {
-		return read(getProperties(pathToPropertiesFile), configClass);
+
+		File configFile = getPropertiesFile(pathToPropertiesFile);
+
+		ByteBuffer content;
+		try {
+			long start = instrumented ? System.nanoTime() : 0;
+			content = MappedProperties.load(configFile.toPath(), logger);
+			if (instrumented)
+				metrics.fileRead(pathToPropertiesFile, content.remaining(), System.nanoTime() - start);
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to read properties file", e);
+		}
+
+		// the mapping is released, before the configuration object is returned
+		try (MappedProperties properties = parse(pathToPropertiesFile, content)) {
+			return read(new PropertyView(properties), configClass);
+		} catch (InternalError e) {
+			// a mapped file, which is truncated while it is read, faults on access
+			throw new IllegalStateException("Properties file changed while it was read", e);
+		} finally {
+			MappedProperties.unmap(content);
+		}
+	}
+
+	private MappedProperties parse(String pathToPropertiesFile, ByteBuffer content) {
+
+		if (!instrumented)
+			return MappedProperties.parse(content);
+
+		long start = System.nanoTime();
+		MappedProperties properties = MappedProperties.parse(content);
+		metrics.parsed(pathToPropertiesFile, properties.size(), System.nanoTime() - start);
+
+		return properties;
+	}
+
+	/**
+	 * Reads the properties file, located at <tt>pathToPropertiesFile</tt>, like
+	 * {@link #read(String, Class)} and reloads it on each change.
+	 * 
+	 * @param                      <M> the type of the configuration class
+	 * @param pathToPropertiesFile the path to a properties file on the file system
+	 * @param configClass          the class object of the desired configuration object
+	 * @return a handle to the current configuration object, which should be closed, if the file
+	 *         should not be watched any longer
+	 * @throws IllegalArgumentException If any required property is not set
+	 * @throws IllegalStateException    If the file can not be read or watched
+	 * 
+	 * @see #watch(String, Class, long)
+	 */
+	public <M> LiveConfiguration<M> watch(String pathToPropertiesFile, Class<M> configClass) {
+		return watch(pathToPropertiesFile, configClass, LiveConfiguration.DEFAULT_DEBOUNCE_MILLIS);
+	}
+
+	/**
+	 * Reads the properties file, located at <tt>pathToPropertiesFile</tt>, like
+	 * {@link #read(String, Class)} and reloads it on each change.
+	 * 
+	 * @param                      <M> the type of the configuration class
+	 * @param pathToPropertiesFile the path to a properties file on the file system
+	 * @param configClass          the class object of the desired configuration object
+	 * @param debounceMillis       the time to wait for further changes before the file is read
+	 * @return a handle to the current configuration object, which should be closed, if the file
+	 *         should not be watched any longer
+	 * @throws IllegalArgumentException If any required property is not set
+	 * @throws IllegalStateException    If the file can not be read or watched
+	 */
+	public <M> LiveConfiguration<M> watch(String pathToPropertiesFile, Class<M> configClass, long debounceMillis) {
+		return new LiveConfiguration<>(this, pathToPropertiesFile, configClass, debounceMillis);
 	}
 
 	/**
 	 * Tries to map each field of given <tt>configClass</tt> to a property from <tt>properties</tt>.
+	 * <p>
+	 * If <tt>configClass</tt> is an interface, its getter methods are mapped instead of fields: the
+	 * properties of all getters are copied by this call, but the returned implementation converts the
+	 * value of a getter on its first call and caches it. Missing or malformed properties are reported
+	 * by that call or by {@link #validate(Object)}.
+	 * </p>
 	 * 
 	 * @param             <M> the type of the configuration class
 	 * @param properties  contains the properties, that are mapped to configClass
@@ -115,149 +379,743 @@ public class ConfigurationReader {
 	 */
 	public <M> M read(Properties properties, Class<M> configClass) {
 
-		M instance = getInstance(configClass);
 		if (properties == null) {
-			System.out.println("Properties for class " + configClass.getName() + " is null");
-			return instance;
+			logger.log(Level.WARN, () -> "Properties for class " + configClass.getName() + " is null");
+			if (configClass.isInterface())
+				return read(new PropertyView(new PropertyIndex(new Properties())), configClass);
+
+			return getInstance(configClass);
 		}
 
-		for (Field field : configClass.getFields()) {
+		return read(new PropertyView(new PropertyIndex(properties)), configClass);
+	}
 
-			checkField(field);
+	/**
+	 * Reads one configuration object of given <tt>configClass</tt> for each distinct name below
+	 * <tt>prefix</tt>, e.g. an object for each tenant from <tt>tenant.&lt;id&gt;.*</tt>. The names are
+	 * collected in a single pass over the sorted property names, and the objects are read in parallel
+	 * on the common {@link ForkJoinPool}.<br/>
+	 * Unlike a map field, an invalid object does not stop the others from being read: all errors are
+	 * reported together afterwards.
+	 * 
+	 * @param             <M> the type of the configuration class
+	 * @param properties  contains the properties, that are mapped to configClass
+	 * @param configClass the class object of the desired configuration objects
+	 * @param prefix      the common prefix of all configuration objects, e.g. <tt>tenant</tt>
+	 * @return the configuration objects by their names, in the order of their names
+	 * @throws IllegalArgumentException If any configuration object can not be read. The errors of the
+	 *                                  single objects are {@link Throwable#getSuppressed()
+	 *                                  suppressed} by this exception.
+	 * @throws IllegalStateException    If any field of the given class has an unsupported type
+	 */
+	public <M> Map<String, M> readAll(Properties properties, Class<M> configClass, String prefix) {
+		return readAll(PropertySource.of(properties), configClass, prefix);
+	}
+
+	/**
+	 * Reads one configuration object of given <tt>configClass</tt> for each distinct name below
+	 * <tt>prefix</tt> from all layers of given <tt>source</tt>.
+	 * 
+	 * @see #readAll(Properties, Class, String)
+	 */
+	public <M> Map<String, M> readAll(PropertySource source, Class<M> configClass, String prefix) {
 
-			Class<?> type = field.getType();
-			boolean required = isRequired(field);
+		if (prefix.endsWith("."))
+			prefix = prefix.substring(0, prefix.length() - 1);
 
+		// the index is sorted on this thread, before it is shared by the parallel reads
+		PropertyView view = new PropertyView(source);
+		List<String> keys = view.keysBelow(prefix);
+
+		String[] names = collectSubKeys(prefix, keys, prefix.length() + 1).toArray(new String[0]);
+
+		// fails fast on unsupported types, which would fail every single read
+		getBindingPlan(configClass);
+
+		Object[] instances = new Object[names.length];
+		RuntimeException[] errors = new RuntimeException[names.length];
+
+		String namePrefix = prefix + ".";
+		IntStream.range(0, names.length).parallel().forEach(i -> {
 			try {
+				instances[i] = read(view.subView(namePrefix + names[i]), configClass);
+			} catch (RuntimeException e) {
+				errors[i] = e;
+			}
+		});
 
-				// check collection classes
-				if (type.equals(Map.class)) {
-					handleMap(field, instance, properties);
-					continue;
-				} else if (type.equals(List.class)) {
-					handleList(field, instance, properties);
+		Map<String, M> result = new LinkedHashMap<>();
+		IllegalArgumentException error = null;
+
+		for (int i = 0; i < names.length; i++) {
+
+			if (errors[i] == null) {
+				result.put(names[i], configClass.cast(instances[i]));
+				continue;
+			}
+
+			if (error == null)
+				error = new IllegalArgumentException("Unable to read all configurations below " + prefix);
+
+			error.addSuppressed(new IllegalArgumentException("Configuration " + namePrefix + names[i] + " is invalid: " + errors[i].getMessage(), errors[i]));
+		}
+
+		if (error != null)
+			throw error;
+
+		return result;
+	}
+
+	/**
+	 * Tries to map each field of given <tt>configClass</tt> to a property of given <tt>source</tt>.
+	 * Unlike {@link #read(Properties, Class)}, the properties may be spread across several layers
+	 * (see {@link PropertySource#layered(PropertySource...)}), which are never merged into a copy.
+	 * 
+	 * @param             <M> the type of the configuration class
+	 * @param source      contains the properties, that are mapped to configClass
+	 * @param configClass the class object of the desired configuration object
+	 * @return a new instance with the inserted fields of the provided class M
+	 * @throws IllegalArgumentException If any required property is not set
+	 * @throws IllegalStateException    If any field of the given class has an unsupported type
+	 * 
+	 * @see #read(Properties, Class)
+	 */
+	public <M> M read(PropertySource source, Class<M> configClass) {
+
+		if (source == null)
+			return read((Properties) null, configClass);
+
+		return read(new PropertyView(source), configClass);
+	}
+
+	/**
+	 * Reads the given <tt>newProperties</tt> incrementally: only fields, which are affected by
+	 * properties, that differ from <tt>oldProperties</tt>, are read again. All other fields of the new
+	 * configuration object share their values (including collections) with <tt>previous</tt>.
+	 * 
+	 * @param               <M> the type of the configuration class
+	 * @param previous      the configuration object, that has been read from <tt>oldProperties</tt>
+	 * @param oldProperties the properties of the previous configuration object
+	 * @param newProperties the changed properties
+	 * @return the new configuration object and the changed fields
+	 * @throws IllegalArgumentException If any required property is not set
+	 * @throws IllegalStateException    If any field of the given class has an unsupported type
+	 */
+	public <M> Rebinding<M> rebind(M previous, Properties oldProperties, Properties newProperties) {
+
+		ConfigurationProxy proxy = ConfigurationProxy.of(previous);
+
+		@SuppressWarnings("unchecked")
+		Class<M> configClass = (Class<M>) (proxy != null ? proxy.getConfigInterface() : previous.getClass());
+		BindingPlan plan = getBindingPlan(configClass);
+
+		Set<String> changedProperties = new TreeSet<>();
+		Set<String> names = newProperties.stringPropertyNames();
+
+		for (String name : names) {
+			if (!Objects.equals(newProperties.getProperty(name), oldProperties.getProperty(name)))
+				changedProperties.add(name);
+		}
+
+		for (String name : oldProperties.stringPropertyNames()) {
+			if (!names.contains(name))
+				changedProperties.add(name);
+		}
+
+		Set<FieldBinding> affected = new HashSet<>();
+		for (String name : changedProperties)
+			plan.collectAffectedBindings(name, affected);
+
+		PropertyView properties = new PropertyView(new PropertyIndex(newProperties));
+		Set<String> changedFields = new LinkedHashSet<>();
+
+		// interfaces share the cached values of unaffected getters
+		if (proxy != null) {
+			for (FieldBinding binding : plan.bindings) {
+				if (affected.contains(binding))
+					changedFields.add(binding.name);
+			}
+
+			return new Rebinding<>(configClass.cast(proxy.rebind(properties, affected)), changedProperties, changedFields);
+		}
+
+		M instance = getInstance(configClass);
+		List<String> violations = new ArrayList<>(0);
+
+		for (FieldBinding binding : plan.bindings) {
+
+			if (affected.contains(binding)) {
+				bind(binding, instance, properties, configClass, violations);
+				changedFields.add(binding.name);
+				continue;
+			}
+
+			try {
+				binding.accessor.set(instance, binding.accessor.get(previous));
+			} catch (IllegalAccessException e) {
+				throw new IllegalArgumentException("Can not instantiate config class: " + binding.name + " is not accessable!");
+			}
+		}
+
+		if (!violations.isEmpty())
+			throw new ConstraintViolationException(configClass, violations);
+
+		return new Rebinding<>(instance, changedProperties, changedFields);
+	}
+
+	/**
+	 * Reads the values of all getter methods of a configuration object, which implements a
+	 * configuration interface lazily, including nested configuration objects. Thereby any missing or
+	 * malformed property is reported at once instead of on first access.<br/>
+	 * Configuration objects of classes have been validated by {@link #read(Properties, Class)}
+	 * already, so nothing is done for them.
+	 * 
+	 * @param configuration a configuration object returned by this reader
+	 * @throws IllegalArgumentException If any required property is not set
+	 * @throws IllegalStateException    If any property can not be mapped
+	 */
+	public void validate(Object configuration) {
+
+		ConfigurationProxy proxy = ConfigurationProxy.of(configuration);
+		if (proxy == null)
+			return;
+
+		for (Object value : proxy.resolveAll())
+			validateNested(value);
+	}
+
+	/**
+	 * Validates a value of a configuration interface, which may be a nested configuration object, or
+	 * a map, list or set of them.
+	 */
+	private void validateNested(Object value) {
+
+		if (value instanceof Map) {
+			for (Object nested : ((Map<?, ?>) value).values())
+				validateNested(nested);
+		} else if (value instanceof Collection) {
+			for (Object nested : (Collection<?>) value)
+				validateNested(nested);
+		} else {
+			validate(value);
+		}
+	}
+
+	/**
+	 * Maps each field of given <tt>configClass</tt> to a property of the given <tt>properties</tt>
+	 * view. Nested configuration objects are read from nested views on the same properties.
+	 * Interfaces are implemented lazily.
+	 * 
+	 * @see #read(Properties, Class)
+	 */
+	private <M> M read(PropertyView properties, Class<M> configClass) {
+
+		if (configClass.isInterface())
+			return configClass.cast(ConfigurationProxy.create(this, getBindingPlan(configClass), properties));
+
+		long start = instrumented ? System.nanoTime() : 0;
+
+		M instance = getInstance(configClass);
+		FieldBinding[] bindings = getBindingPlan(configClass).bindings;
+
+		List<String> violations = new ArrayList<>(0);
+
+		if (bindingExecutor != null && bindings.length >= parallelThreshold) {
+			bindParallel(bindings, instance, properties, configClass, violations);
+		} else {
+			for (FieldBinding binding : bindings)
+				bind(binding, instance, properties, configClass, violations);
+		}
+
+		if (instrumented)
+			metrics.bound(configClass, System.nanoTime() - start);
+
+		if (!violations.isEmpty())
+			throw new ConstraintViolationException(configClass, violations);
+
+		return instance;
+	}
+
+	/**
+	 * Resolves the values of all given bindings concurrently on the {@link #bindingExecutor} and
+	 * the calling thread, and injects them into <tt>instance</tt> on the calling thread.
+	 * 
+	 * @throws IllegalArgumentException If any required property is not set
+	 * @throws IllegalStateException    If any field has an unsupported type
+	 * @see #bind(FieldBinding, Object, PropertyView, Class, List)
+	 */
+	private void bindParallel(FieldBinding[] bindings, Object instance, PropertyView properties, Class<?> configClass, List<String> violations) {
+
+		try {
+			Object[] values = new Object[bindings.length];
+			for (int i = 0; i < bindings.length; i++)
+				values[i] = bindings[i].accessor.get(instance);
+
+			ParallelRead read = new ParallelRead(bindings, values, properties, configClass);
+
+			int helpers = Math.max(1, Math.min(bindings.length / FIELDS_PER_HELPER, Runtime.getRuntime().availableProcessors()));
+			try {
+				for (int i = 0; i < helpers; i++)
+					bindingExecutor.execute(read);
+			} catch (RejectedExecutionException e) {
+				// the calling thread reads the remaining fields
+			}
+
+			read.run();
+			read.await();
+
+			// like a sequential read, the error of the first field is thrown
+			RuntimeException error = null;
+			for (RuntimeException cause : read.errors) {
+				if (cause == null)
 					continue;
-				} else if (type.equals(Set.class)) {
-					handleSet(field, instance, properties);
+
+				if (cause instanceof ConstraintViolationException) {
+					violations.addAll(((ConstraintViolationException) cause).getViolations());
 					continue;
 				}
 
-				String propertyName = ConfigurationUtil.getPropertyName(field);
-				String property = properties.getProperty(propertyName);
+				if (error == null)
+					error = cause;
+				else
+					error.addSuppressed(cause);
+			}
+
+			if (error != null)
+				throw error;
+
+			for (int i = 0; i < bindings.length; i++) {
+				if (values[i] != KEEP_DEFAULT && read.errors[i] == null) {
+					check(bindings[i], values[i], properties, violations);
+					bindings[i].accessor.set(instance, values[i]);
+				}
+			}
+
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException("Can not instantiate config class: " + configClass.getName() + " is not accessable!");
+		}
+	}
 
-				if (property == null) {
-					Object value = field.get(instance);
-					if (required && value == null)
-						throw new IllegalArgumentException("Property " + propertyName + " for class " + configClass + " is not set!");
-				} else {
+	/**
+	 * The fields of a parallel read. The fields are claimed one after another by the calling thread
+	 * and the helper tasks on the executor. Thereby the calling thread only waits for fields, which
+	 * are currently resolved by a running helper, but never for helpers, that have not started yet.
+	 * Even nested parallel reads on a single thread executor can not block each other.
+	 */
+	private final class ParallelRead implements Runnable {
 
-					if (!CLASS_MAPPERS.containsKey(type))
-						throw new IllegalArgumentException( //
-								String.format("Field %s in class %s has an unsupported type %s. Supported Types are: %s", //
-										field.getName(), //
-										configClass.getSimpleName(), //
-										type.getSimpleName(), //
-										accumulateSupportedTypes()));
+		private final FieldBinding[] bindings;
 
-					Object value = null;
+		/**
+		 * the default values, which are replaced by the resolved values
+		 */
+		private final Object[] values;
 
-					try {
-						value = CLASS_MAPPERS.get(type).apply(property);
-					} catch (Exception e) {
-						throw new IllegalStateException("Unable to map property " + propertyName + " with value '" + property + "' to " + type.getSimpleName(), e);
-					}
+		private final RuntimeException[] errors;
 
-					field.set(instance, value);
+		private final PropertyView properties;
+		private final Class<?> configClass;
+
+		private final AtomicInteger next = new AtomicInteger();
+		private final CountDownLatch resolved;
+
+		ParallelRead(FieldBinding[] bindings, Object[] values, PropertyView properties, Class<?> configClass) {
+			this.bindings = bindings;
+			this.values = values;
+			this.errors = new RuntimeException[bindings.length];
+			this.properties = properties;
+			this.configClass = configClass;
+			this.resolved = new CountDownLatch(bindings.length);
+		}
+
+		@Override
+		public void run() {
+
+			for (int i = next.getAndIncrement(); i < bindings.length; i = next.getAndIncrement()) {
+				try {
+					values[i] = resolve(bindings[i], values[i], properties, configClass);
+				} catch (RuntimeException e) {
+					errors[i] = e;
+				} catch (InternalError e) {
+					// see read(String, Class), the error would be lost on a helper thread
+					errors[i] = new IllegalStateException("Properties file changed while it was read", e);
+				} finally {
+					resolved.countDown();
 				}
+			}
+		}
 
-			} catch (IllegalAccessException e) {
-				throw new IllegalArgumentException("Can not instantiate config class: " + field.getName() + " is not accessable!");
+		/**
+		 * Waits until all fields are resolved, which makes their values visible to the calling thread.
+		 */
+		void await() {
+
+			boolean interrupted = false;
+			while (true) {
+				try {
+					resolved.await();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
 			}
+
+			if (interrupted)
+				Thread.currentThread().interrupt();
 		}
+	}
 
-		return instance;
+	/**
+	 * Reads the value of a single field from given <tt>properties</tt> and injects it into
+	 * <tt>instance</tt>, unless the default value of the field should be kept.
+	 * 
+	 * @param binding     the binding of the field
+	 * @param instance    the owner of the field, which holds the default value
+	 * @param properties  the properties to read values from
+	 * @param configClass the class of the owner
+	 * @param violations  the constraint violations of the current read, including the ones of nested
+	 *                    configuration objects
+	 * @throws IllegalArgumentException If any required property is not set
+	 * @throws IllegalStateException    If the field has an unsupported type
+	 */
+	private void bind(FieldBinding binding, Object instance, PropertyView properties, Class<?> configClass, List<String> violations) {
+
+		try {
+
+			Object value = resolve(binding, binding.accessor.get(instance), properties, configClass);
+			if (value != KEEP_DEFAULT) {
+				check(binding, value, properties, violations);
+				binding.accessor.set(instance, value);
+			}
+
+		} catch (ConstraintViolationException e) {
+			// violations of nested configuration objects are reported together with the ones of the owner
+			violations.addAll(e.getViolations());
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException("Can not instantiate config class: " + binding.name + " is not accessable!");
+		}
+	}
+
+	/**
+	 * Reads and maps the value of a single getter method of a configuration interface from given
+	 * <tt>properties</tt>.
+	 * 
+	 * @param binding         the binding of the getter method
+	 * @param properties      the properties to read values from
+	 * @param configInterface the interface, that declares the getter method
+	 * @return the mapped value or <tt>null</tt>, if no property is set
+	 * @throws IllegalArgumentException If the required property is not set
+	 * @throws IllegalStateException    If the getter method has an unsupported type
+	 */
+	Object resolve(FieldBinding binding, PropertyView properties, Class<?> configInterface) {
+
+		Object value = resolve(binding, null, properties, configInterface);
+		if (value == KEEP_DEFAULT)
+			return null;
+
+		List<String> violations = new ArrayList<>(0);
+		check(binding, value, properties, violations);
+		if (!violations.isEmpty())
+			throw new ConstraintViolationException(configInterface, violations);
+
+		return value;
+	}
+
+	/**
+	 * Checks the constraints of given <tt>binding</tt> for a value, that has been read from the
+	 * properties.
+	 * 
+	 * @param binding    the binding of the field
+	 * @param value      the mapped value
+	 * @param properties the properties, from which the value has been read
+	 * @param violations the list, to which a message for each violation is added
+	 */
+	private static void check(FieldBinding binding, Object value, PropertyView properties, List<String> violations) {
+
+		Constraint constraint = binding.constraint;
+		if (constraint != null && value != null)
+			constraint.check(properties.absolute(binding.propertyName), value, violations);
 	}
 
 	/**
-	 * Abstraction method for {@link #read(Properties, Class)}, that encapsulates {@link Type} instead
-	 * of {@link Class}.
+	 * Reads and maps the value of a single field from given <tt>properties</tt>.
+	 * 
+	 * @param binding      the binding of the field
+	 * @param defaultValue the default value of the field
+	 * @param properties   the properties to read values from
+	 * @param configClass  the class, that declares the field
+	 * @return the mapped value or {@link #KEEP_DEFAULT}, if the default value should be kept
+	 * @throws IllegalArgumentException If any required property is not set
+	 * @throws IllegalStateException    If the field has an unsupported type
+	 */
+	private Object resolve(FieldBinding binding, Object defaultValue, PropertyView properties, Class<?> configClass) {
+
+		// check collection classes
+		switch (binding.kind) {
+		case MAP:
+			return handleMap(binding, binding.propertyName, defaultValue, properties, configClass);
+		case LIST:
+			return handleList(binding, binding.propertyName, defaultValue, properties, configClass);
+		case SET:
+			return handleSet(binding, binding.propertyName, defaultValue, properties, configClass);
+		default:
+			return handleValue(binding, defaultValue, properties, configClass);
+		}
+	}
+
+	/**
+	 * Reads the regarding value of given <tt>binding</tt> from given <tt>properties</tt> and maps it to
+	 * the type of the field. Without a class mapping, nested properties are read as nested
+	 * configuration object.
+	 * 
+	 * @param binding      the binding of the field
+	 * @param defaultValue the default value of the field
+	 * @param properties   the properties to read values from
+	 * @param configClass  the class, that declares the field
+	 * @return the mapped value or {@link #KEEP_DEFAULT}, if no property is set
+	 * @throws IllegalArgumentException If no class mapping is available for the type or no property
+	 *                                  and no default value is present
+	 * @throws IllegalStateException    If the value can not be mapped
 	 */
-	private Object read(Properties properties, Type configClass) {
+	private Object handleValue(FieldBinding binding, Object defaultValue, PropertyView properties, Class<?> configClass) {
+
+		String propertyName = binding.propertyName;
+		String property = properties.getProperty(propertyName);
+
+		if (property == null) {
+
+			// no class mapping, but nested properties present: assume a nested configuration object
+			if (binding.mapper == null && !properties.keysBelow(propertyName).isEmpty())
+				return read(properties.subView(propertyName), binding.type);
+
+			if (binding.required && defaultValue == null)
+				throw new IllegalArgumentException("Property " + propertyName + " for class " + configClass + " is not set!");
+
+			return KEEP_DEFAULT;
+		}
+
+		if (binding.mapper == null)
+			throw new IllegalArgumentException( //
+					String.format("Field %s in class %s has an unsupported type %s. Supported Types are: %s", //
+							binding.name, //
+							configClass.getSimpleName(), //
+							binding.type.getSimpleName(), //
+							accumulateSupportedTypes()));
 
 		try {
-			Class<?> clazz = Class.forName(configClass.getTypeName());
-			return read(properties, clazz);
+			return binding.mapper.apply(property);
+		} catch (Exception e) {
+			throw new IllegalStateException("Unable to map property " + propertyName + " with value '" + property + "' to " + binding.type.getSimpleName(), e);
+		}
+	}
+
+	/**
+	 * Returns the cached {@link BindingPlan} of given <tt>configClass</tt>. The plan is compiled on
+	 * first access.
+	 * 
+	 * @param configClass the class to get the plan for
+	 * @return the binding plan of the class
+	 * @throws IllegalStateException If any field of the given class violates a restriction
+	 */
+	BindingPlan getBindingPlan(Class<?> configClass) {
+		return plans.get(configClass);
+	}
 
-		} catch (ClassNotFoundException e) {
-			throw new IllegalArgumentException("Class of type " + configClass + " does not exist");
+	/**
+	 * Returns the built-in class mappings, which have been replaced by the {@link Builder} or by
+	 * {@link #addClassMapper(Class, Function)}. Each one is described by its type and the class of
+	 * the replacing function, whereby lambdas are described by the class, that declares them.
+	 *
+	 * @return the replaced class mappings, ordered by their types
+	 */
+	List<String> getReplacedClassMappers() {
+
+		Map<Type, Function<String, ?>> mappers = classMappers;
+		Set<String> replaced = new TreeSet<>();
+
+		for (Map.Entry<Type, Function<String, ?>> entry : defaultClassMappers.entrySet()) {
+
+			Function<String, ?> mapper = mappers.get(entry.getKey());
+			if (mapper == entry.getValue())
+				continue;
+
+			// lambda classes are numbered in the order of their creation
+			String mapperClass = mapper.getClass().getName();
+			int lambda = mapperClass.indexOf("$$Lambda");
+			replaced.add(entry.getKey().getTypeName() + "=" + (lambda < 0 ? mapperClass : mapperClass.substring(0, lambda)));
 		}
+
+		return new ArrayList<>(replaced);
+	}
+
+	/**
+	 * @return the receiver of the measurements of this reader
+	 */
+	ConfigurationMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * @return the receiver of the log messages of this reader
+	 */
+	ConfigurationLogger getLogger() {
+		return logger;
 	}
 
 	/**
-	 * Checks if given field is public, non static and non final.
+	 * Returns the writer, which flattens configuration objects of this reader, e.g. for
+	 * {@link ConfigurationSnapshot snapshots}. Unless a writer has been passed to the
+	 * {@link Builder}, values of class mappings, which the default writer does not know, are written
+	 * by their string representation instead of being walked like nested configuration objects.
+	 *
+	 * @return the writer
+	 */
+	ConfigurationWriter getWriter() {
+
+		if (writer != null)
+			return writer;
+
+		ConfigurationWriter defaults = ConfigurationWriter.getInstance();
+		ConfigurationWriter.Builder builder = ConfigurationWriter.builder().logger(logger);
+
+		for (Type type : classMappers.keySet()) {
+			if (type instanceof Class && !defaults.hasClassMapper((Class<?>) type)) {
+				@SuppressWarnings("unchecked")
+				Class<Object> mappedClass = (Class<Object>) type;
+				builder.classMapper(mappedClass, String::valueOf);
+			}
+		}
+
+		return builder.build();
+	}
+
+	/**
+	 * Wraps the class mappings of all {@link #cachedTypes}, so that repeated values are converted
+	 * only once. Each plan cache gets new conversion caches, since replaced class mappings may
+	 * convert values differently.
+	 * 
+	 * @param mappers the class mappings
+	 * @return the cached class mappings
+	 */
+	private Map<Type, Function<String, ?>> cache(Map<Type, Function<String, ?>> mappers) {
+
+		if (conversionCacheSize == 0)
+			return mappers;
+
+		Map<Type, Function<String, ?>> cached = new HashMap<>(mappers);
+		for (Type type : cachedTypes) {
+			Function<String, ?> mapper = mappers.get(type);
+			if (mapper != null)
+				cached.put(type, new ConversionCache(mapper, conversionCacheSize));
+		}
+
+		return Collections.unmodifiableMap(cached);
+	}
+
+	/**
+	 * Wraps each class mapping, so that the time of each conversion is measured. Without
+	 * measurements the class mappings are returned as they are, so that compiled plans call them
+	 * directly.
 	 * 
-	 * @param field the field to check
-	 * @throws IllegalStateException If the given field violates any restriction
+	 * @param mappers the class mappings
+	 * @return the measured class mappings
 	 */
-	private void checkField(Field field) {
+	private Map<Type, Function<String, ?>> instrument(Map<Type, Function<String, ?>> mappers) {
 
-		String name = field.getName();
-		Class<?> declaringClass = field.getDeclaringClass();
-		int modifiers = field.getModifiers();
+		if (!instrumented)
+			return mappers;
+
+		Map<Type, Function<String, ?>> measured = new HashMap<>();
+		mappers.forEach((type, mapper) -> measured.put(type, str -> {
+			long start = System.nanoTime();
+			try {
+				return mapper.apply(str);
+			} finally {
+				metrics.mapped(type, System.nanoTime() - start);
+			}
+		}));
 
-		String baseError = String.format("Field %s in class %s ", name, declaringClass);
+		return Collections.unmodifiableMap(measured);
+	}
 
-		if (!Modifier.isPublic(modifiers))
-			throw new IllegalStateException(baseError + "must be public");
+	/**
+	 * Creates an empty cache for {@link BindingPlan binding plans}. The plans are attached to their
+	 * classes via {@link ClassValue}, so caching does not prevent classes from being unloaded.
+	 * 
+	 * @param mappers the snapshot of class mappings, that is used to compile the plans
+	 */
+	private static ClassValue<BindingPlan> newPlanCache(Map<Type, Function<String, ?>> mappers) {
 
-		if (Modifier.isStatic(modifiers))
-			throw new IllegalStateException(baseError + "may not be static");
+		// generic, enum and array types are resolved once for all plans of the cache
+		MapperRegistry registry = new MapperRegistry(mappers);
 
-		if (Modifier.isFinal(modifiers))
-			throw new IllegalStateException(baseError + "may not be final");
+		return new ClassValue<BindingPlan>() {
 
+			@Override
+			protected BindingPlan computeValue(Class<?> type) {
+				return BindingPlan.compile(type, registry);
+			}
+		};
 	}
 
 	/**
-	 * Reads the regarding value of given <tt>field</tt> from given <tt>properties</tt>, maps it to type
-	 * {@link Set} and injects the mapped value to the field of <tt>instance</tt>. If no matching
-	 * property is present either the default value is used, or an empty set is injected.
+	 * Reads the regarding value of given <tt>binding</tt> from given <tt>properties</tt> and maps it
+	 * to type {@link Set}. If no matching property is present either the default value is used, or an
+	 * empty set is returned.
 	 * 
-	 * @param field      the field, in which the value is injected
-	 * @param instance   the owner of the field
-	 * @param properties the properties to read values from
-	 * @throws IllegalAccessException   If the given field is not accessible
+	 * @param binding      the binding of the field
+	 * @param propertyName the name of the property, usually the one of the binding
+	 * @param defaultValue the default value of the field
+	 * @param properties   the properties to read values from
+	 * @param configClass  the class, that declares the field
+	 * @return the mapped set or {@link #KEEP_DEFAULT}
 	 * @throws IllegalArgumentException If no class mapping is available for the generic type or no
 	 *                                  property and no default value is present
 	 */
-	private void handleSet(Field field, Object instance, Properties properties) throws IllegalAccessException {
+	private Object handleSet(FieldBinding binding, String propertyName, Object defaultValue, PropertyView properties, Class<?> configClass) {
 
-		Optional<Stream<Object>> collection = handleCollection(field, instance, properties);
+		Optional<Stream<Object>> collection = handleCollection(binding, propertyName, defaultValue, properties, configClass);
+		if (!collection.isPresent())
+			return KEEP_DEFAULT;
 
-		if (collection.isPresent()) {
-			field.set(instance, collection.get().collect(Collectors.toSet()));
-		}
+		Object[] elements = collection.get().toArray();
+		Set<Object> set = binding.container.create(elements.length);
+		Collections.addAll(set, elements);
+
+		if (instrumented)
+			metrics.collectionBound(configClass, propertyName, set.size());
+
+		return binding.container.finish(set);
 	}
 
 	/**
-	 * Reads the regarding value of given <tt>field</tt> from given <tt>properties</tt>, maps it to type
-	 * {@link List} and injects the mapped value to the field of <tt>instance</tt>. If no matching
-	 * property is present either the default value is used, or an empty list is injected.
+	 * Reads the regarding value of given <tt>binding</tt> from given <tt>properties</tt> and maps it
+	 * to type {@link List}. If no matching property is present either the default value is used, or
+	 * an empty list is returned.
 	 * 
-	 * @param field      the field, in which the value is injected
-	 * @param instance   the owner of the field
-	 * @param properties the properties to read values from
-	 * @throws IllegalAccessException   If the given field is not accessible
+	 * @param binding      the binding of the field
+	 * @param propertyName the name of the property, usually the one of the binding
+	 * @param defaultValue the default value of the field
+	 * @param properties   the properties to read values from
+	 * @param configClass  the class, that declares the field
+	 * @return the mapped list or {@link #KEEP_DEFAULT}
 	 * @throws IllegalArgumentException If no class mapping is available for the generic type or no
 	 *                                  property and no default value is present
 	 */
-	private void handleList(Field field, Object instance, Properties properties) throws IllegalAccessException {
+	private Object handleList(FieldBinding binding, String propertyName, Object defaultValue, PropertyView properties, Class<?> configClass) {
 
-		Optional<Stream<Object>> collection = handleCollection(field, instance, properties);
+		Optional<Stream<Object>> collection = handleCollection(binding, propertyName, defaultValue, properties, configClass);
+		if (!collection.isPresent())
+			return KEEP_DEFAULT;
 
-		if (collection.isPresent()) {
-			field.set(instance, collection.get().collect(Collectors.toList()));
-		}
+		Object[] elements = collection.get().toArray();
+		List<Object> list = binding.container.create(elements.length);
+		Collections.addAll(list, elements);
+
+		if (instrumented)
+			metrics.collectionBound(configClass, propertyName, list.size());
+
+		return binding.container.finish(list);
 	}
 
 	/**
@@ -275,113 +1133,266 @@ public class ConfigurationReader {
 	 * stream is returned.
 	 * </p>
 	 * 
-	 * @param field      the field, for which the value is extracted
-	 * @param instance   the owner of the field
-	 * @param properties the properties to read values from
+	 * <p>
+	 * Elements without class mapping are read as nested configuration objects from the properties
+	 * below their index, e.g. <tt>servers.0.host</tt> and <tt>servers.1.host</tt>. The elements of
+	 * lists are ordered by their numeric indices. Elements, which are arrays, lists or sets
+	 * themselves, are read from the properties of their indices, e.g. <tt>groups.0=1,2</tt> and
+	 * <tt>groups.1=3</tt>, unless the property of the collection itself holds its only element.
+	 * </p>
+	 * 
+	 * @param binding      the binding of the field, for which the value is extracted
+	 * @param propertyName the name of the property, usually the one of the binding
+	 * @param defaultValue the default value of the field
+	 * @param properties   the properties to read values from
+	 * @param configClass  the class, that declares the field
 	 * @return an optional stream, which can be transfered further more to match the final form
-	 * @throws IllegalAccessException   If the given field is not accessible
 	 * @throws IllegalArgumentException If no class mapping is available for the generic type or no
 	 *                                  property and no default value is present
 	 */
-	private Optional<Stream<Object>> handleCollection(Field field, Object instance, Properties properties) throws IllegalAccessException {
+	private Optional<Stream<Object>> handleCollection(FieldBinding binding, String propertyName, Object defaultValue, PropertyView properties,
+			Class<?> configClass) {
 
-		boolean required = isRequired(field);
-		String propertyName = ConfigurationUtil.getPropertyName(field);
+		boolean required = binding.required;
 
-		ParameterizedType pt = (ParameterizedType) field.getGenericType();
-		Type[] actualTypeArguments = pt.getActualTypeArguments();
+		// class mapping for the generic type
+		Function<String, ?> classMapper = binding.mapper;
+		String stringValue = properties.getProperty(propertyName);
 
-		// type and class mapping for the generic type
-		Type keyType = actualTypeArguments[0];
-		Function<String, ?> classMapper = CLASS_MAPPERS.get(keyType);
-		if (classMapper == null)
-			throw new IllegalArgumentException( //
-					String.format("Field %s in class %s has an unsupported generic type %s. Supported Types are: %s", //
-							field.getName(), //
-							instance.getClass().getSimpleName(), //
-							keyType, //
-							accumulateSupportedTypes()));
+		List<String> nestedKeys = Collections.emptyList();
+		if (classMapper != null && binding.hasIndexedElements()) {
 
-		String stringValue = properties.getProperty(propertyName);
-		if (required && field.get(instance) == null && stringValue == null)
-			throw new IllegalArgumentException("Property " + propertyName + " for class " + instance.getClass() + " is not set!");
+			if (stringValue != null)
+				return Optional.of(Stream.of(classMapper.apply(stringValue)));
 
-		if (stringValue == null) {
-			if (field.get(instance) == null)
+			nestedKeys = properties.keysBelow(propertyName);
+
+		} else if (classMapper == null) {
+
+			if (!binding.hasNestedElements() || stringValue != null)
+				throw new IllegalArgumentException( //
+						String.format("Field %s in class %s has an unsupported generic type %s. Supported Types are: %s", //
+								binding.name, //
+								configClass.getSimpleName(), //
+								binding.elementType, //
+								accumulateSupportedTypes()));
+
+			nestedKeys = properties.keysBelow(propertyName);
+		}
+
+		if (stringValue == null && nestedKeys.isEmpty()) {
+
+			if (required && defaultValue == null)
+				throw new IllegalArgumentException("Property " + propertyName + " for class " + configClass + " is not set!");
+
+			if (defaultValue == null)
 				return Optional.of(Stream.empty());
 			else
 				return Optional.empty();
 		}
 
+		if (classMapper == null)
+			return Optional.of(readNestedElements(binding, propertyName, nestedKeys, properties));
+
+		if (binding.hasIndexedElements())
+			return Optional.of(readIndexedElements(binding, propertyName, properties));
+
 		Stream<Object> stream = Arrays.asList(stringValue.split(",")).stream().map(s -> classMapper.apply(s));
 		return Optional.of(stream);
 
 	}
 
-	private void handleMap(Field field, Object instance, Properties properties) throws IllegalAccessException {
+	/**
+	 * Reads a map value, which is a map, list or set itself.
+	 * 
+	 * @param valueBinding the binding of the map values
+	 * @param propertyName the name of the property of the value
+	 * @param properties   the properties to read values from
+	 * @param configClass  the class, that declares the map
+	 * @return the value
+	 */
+	private Object readNestedValue(FieldBinding valueBinding, String propertyName, PropertyView properties, Class<?> configClass) {
+		switch (valueBinding.kind) {
+		case MAP:
+			return handleMap(valueBinding, propertyName, null, properties, configClass);
+		case LIST:
+			return handleList(valueBinding, propertyName, null, properties, configClass);
+		default:
+			return handleSet(valueBinding, propertyName, null, properties, configClass);
+		}
+	}
 
-		Set<String> keys = properties.keySet().stream().map(k -> k.toString()).collect(Collectors.toSet());
+	/**
+	 * Reads the nested configuration objects of a list or set, one for each distinct index below
+	 * <tt>propertyName</tt>.
+	 * 
+	 * @param binding      the binding of the list or set
+	 * @param propertyName the name of the property of the list or set
+	 * @param keys         the absolute names of all properties below <tt>propertyName</tt>
+	 * @param properties   the properties to read values from
+	 * @return the elements, ordered by their indices
+	 */
+	private Stream<Object> readNestedElements(FieldBinding binding, String propertyName, List<String> keys, PropertyView properties) {
 
-		boolean required = isRequired(field);
-		String propertyName = ConfigurationUtil.getPropertyName(field);
+		String[] indices = collectIndices(binding, propertyName, keys, properties);
+		Class<?> elementClass = (Class<?>) binding.elementType;
 
-		Set<String> matchingKeys = keys.stream().filter(k -> k.startsWith(propertyName + ".")).collect(Collectors.toSet());
-		if (matchingKeys.isEmpty() && required && field.get(instance) == null)
-			throw new IllegalArgumentException("Property " + propertyName + " for class " + instance.getClass() + " is not set!");
+		Object[] elements = new Object[indices.length];
+		List<String> violations = new ArrayList<>(0);
 
-		ParameterizedType pt = (ParameterizedType) field.getGenericType();
-		Type[] actualTypeArguments = pt.getActualTypeArguments();
+		for (int i = 0; i < indices.length; i++) {
+			try {
+				elements[i] = read(properties.subView(propertyName + "." + indices[i]), elementClass);
+			} catch (ConstraintViolationException e) {
+				// the violations of all elements are reported at once
+				violations.addAll(e.getViolations());
+			}
+		}
+
+		if (!violations.isEmpty())
+			throw new ConstraintViolationException(elementClass, violations);
 
-		// type and class mapping for the first generic type i.e. the key
-		Type keyType = actualTypeArguments[0];
-		Function<String, ?> keyMapper = CLASS_MAPPERS.get(keyType);
+		return Arrays.stream(elements);
+	}
+
+	/**
+	 * Reads the elements of a list or set, which are arrays, lists or sets themselves, from the
+	 * properties of their indices below <tt>propertyName</tt>. Properties further below an index are
+	 * ignored.
+	 * 
+	 * @param binding      the binding of the list or set
+	 * @param propertyName the name of the property of the list or set
+	 * @param properties   the properties to read values from
+	 * @return the elements, ordered by their indices
+	 */
+	private Stream<Object> readIndexedElements(FieldBinding binding, String propertyName, PropertyView properties) {
+
+		String[] indices = collectIndices(binding, propertyName, properties.keysBelow(propertyName), properties);
+
+		List<Object> elements = new ArrayList<>(indices.length);
+		for (String index : indices) {
+			String value = properties.getProperty(propertyName + "." + index);
+			if (value != null)
+				elements.add(binding.mapper.apply(value));
+		}
+
+		return elements.stream();
+	}
+
+	/**
+	 * @return the distinct indices below <tt>propertyName</tt>, ordered numerically for lists
+	 */
+	private String[] collectIndices(FieldBinding binding, String propertyName, List<String> keys, PropertyView properties) {
+
+		int prefixLength = properties.absolute(propertyName).length() + 1;
+		String[] indices = collectSubKeys(propertyName, keys, prefixLength).toArray(new String[0]);
+
+		// numeric indices without leading zeros are ordered by their length first
+		if (binding.kind == Kind.LIST)
+			Arrays.sort(indices, Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder()));
+
+		return indices;
+	}
+
+	/**
+	 * Reads all properties below the regarding name of given <tt>binding</tt> and maps them to type
+	 * {@link Map}. If the generic value type has no class mapping, each entry is read as nested
+	 * configuration object of that type.
+	 * 
+	 * @param binding      the binding of the field
+	 * @param propertyName the name of the property, usually the one of the binding
+	 * @param defaultValue the default value of the field
+	 * @param properties   the properties to read values from
+	 * @param configClass  the class, that declares the field
+	 * @return the mapped map
+	 * @throws IllegalArgumentException If no class mapping is available for the generic key type or no
+	 *                                  property and no default value is present
+	 */
+	private Object handleMap(FieldBinding binding, String propertyName, Object defaultValue, PropertyView properties, Class<?> configClass) {
+
+		boolean required = binding.required;
+
+		List<String> matchingKeys = properties.keysBelow(propertyName);
+		if (matchingKeys.isEmpty() && required && defaultValue == null)
+			throw new IllegalArgumentException("Property " + propertyName + " for class " + configClass + " is not set!");
+
+		// class mapping for the first generic type i.e. the key
+		Function<String, ?> keyMapper = binding.keyMapper;
 
 		// type and class mapping for the second generic type i.e. the value
-		Type valueType = actualTypeArguments[1];
-		Function<String, ?> valueMapper = CLASS_MAPPERS.get(valueType);
+		Type valueType = binding.elementType;
+		Function<String, ?> valueMapper = binding.mapper;
 
 		if (keyMapper == null) {
 			throw new IllegalArgumentException( //
 					String.format("Field %s in class %s has an unsupported generic key type %s. Supported Types are: %s", //
-							field.getName(), //
-							instance.getClass().getSimpleName(), //
+							binding.name, //
+							configClass.getSimpleName(), //
 							valueType.toString(), //
 							accumulateSupportedTypes()));
 		}
 
-		Map<Object, Object> map = new HashMap<>();
+		Map<Object, Object> map;
+
+		// length of the absolute prefix of all matching keys, including the trailing dot
+		int prefixLength = properties.absolute(propertyName).length() + 1;
 
 		// if no class mapping for the value is present, assume a complex object
 		if (valueMapper == null) {
 
-			Map<String, Properties> subProperties = createSubProperties(propertyName, matchingKeys, properties);
-			Set<Entry<String, Properties>> entrySet = subProperties.entrySet();
-			for (Entry<String, Properties> entry : entrySet) {
+			Set<String> subKeys = collectSubKeys(propertyName, matchingKeys, prefixLength);
+			map = binding.container.create(subKeys.size());
+
+			// the violations of all values are reported at once
+			List<String> violations = new ArrayList<>(0);
+
+			for (String subKey : subKeys) {
+
+				Object key = keyMapper.apply(subKey);
 
-				Object key = keyMapper.apply(entry.getKey());
+				// values, that are maps, lists or sets themselves
+				FieldBinding valueBinding = binding.valueBinding;
+				if (valueBinding != null) {
+					try {
+						map.put(key, readNestedValue(valueBinding, propertyName + "." + subKey, properties, configClass));
+					} catch (ConstraintViolationException e) {
+						violations.addAll(e.getViolations());
+					}
+					continue;
+				}
 
 				try {
-					Object value = read(entry.getValue(), valueType);
+					if (!(valueType instanceof Class))
+						throw new IllegalArgumentException("Class of type " + valueType + " does not exist");
+
+					Object value = read(properties.subView(propertyName + "." + subKey), (Class<?>) valueType);
 
 					map.put(key, value);
+				} catch (ConstraintViolationException e) {
+					violations.addAll(e.getViolations());
 				} catch (IllegalArgumentException e) {
 					throw new IllegalArgumentException( //
 							String.format(
 									"Field %s in class %s has an unsupported generic value type %s. Either choose an supported type, add a class mapping for your class, or use a class, that has a public default constructor. Supported Types are: %s", //
-									field.getName(), //
-									instance.getClass().getSimpleName(), //
+									binding.name, //
+									configClass.getSimpleName(), //
 									valueType.toString(), //
 									accumulateSupportedTypes()),
 							e);
 				}
 			}
 
+			if (!violations.isEmpty())
+				throw new ConstraintViolationException(configClass, violations);
+
 		} else {
 
+			map = binding.container.create(matchingKeys.size());
+
 			for (String propertyKey : matchingKeys) {
 
-				String stringKey = extractRelativeKey(propertyName, propertyKey);
-				String stringValue = properties.getProperty(propertyKey);
+				String stringKey = propertyKey.substring(prefixLength);
+				String stringValue = properties.getAbsoluteProperty(propertyKey);
 
 				Object key = keyMapper.apply(stringKey);
 				Object value = valueMapper.apply(stringValue);
@@ -390,45 +1401,46 @@ public class ConfigurationReader {
 			}
 		}
 
-		field.set(instance, map);
+		if (instrumented)
+			metrics.collectionBound(configClass, propertyName, map.size());
+
+		return binding.container.finish(map);
 	}
 
-	private Map<String, Properties> createSubProperties(String propertyName, Set<String> keys, Properties properties) {
+	/**
+	 * Collects the distinct map keys of complex map values, i.e. the first name segment after the map
+	 * prefix. Everything after the map key is read by the nested configuration object.
+	 * 
+	 * @param propertyName the name of the map property
+	 * @param keys         the absolute names of all properties of the map
+	 * @param prefixLength the length of the absolute map prefix including the trailing dot
+	 * @return the map keys in the order of their first occurrence
+	 * @throws IllegalArgumentException If any property has no map key
+	 */
+	private Set<String> collectSubKeys(String propertyName, List<String> keys, int prefixLength) {
 
-		Map<String, List<String>> propertyParts = new HashMap<>();
+		Set<String> subKeys = new LinkedHashSet<>();
+		String previous = null;
 
 		for (String propertyKey : keys) {
 
-			String key = extractRelativeKey(propertyName, propertyKey);
-			if (key == null || key.isEmpty())
-				throw new IllegalArgumentException("Map " + propertyName + " needs a key");
-
-			String[] split = key.split("\\.");
-
-			List<String> parts = propertyParts.getOrDefault(split[0], new ArrayList<>());
-
-			if (split.length > 1) {
-				parts.add(split[1]);
-			}
-
-			propertyParts.putIfAbsent(split[0], parts);
-		}
-
-		Map<String, Properties> propertyList = new HashMap<>();
-
-		for (Entry<String, List<String>> entry : propertyParts.entrySet()) {
+			int end = propertyKey.indexOf('.', prefixLength);
+			if (end < 0)
+				end = propertyKey.length();
 
-			String subKey = entry.getKey();
-			Properties subProperties = new Properties();
+			if (end == prefixLength)
+				throw new IllegalArgumentException("Map " + propertyName + " needs a key");
 
-			for (String subSubKey : entry.getValue()) {
-				subProperties.setProperty(subSubKey, properties.getProperty(propertyName + "." + subKey + "." + subSubKey));
-			}
+			// sorted keys of the same entry are mostly adjacent, which saves the substring
+			int length = end - prefixLength;
+			if (previous != null && previous.length() == length && propertyKey.regionMatches(prefixLength, previous, 0, length))
+				continue;
 
-			propertyList.put(subKey, subProperties);
+			previous = propertyKey.substring(prefixLength, end);
+			subKeys.add(previous);
 		}
 
-		return propertyList;
+		return subKeys;
 	}
 
 	/**
@@ -436,7 +1448,8 @@ public class ConfigurationReader {
 	 */
 	private List<String> accumulateSupportedTypes() {
 
-		Set<Type> types = new HashSet<>(CLASS_MAPPERS.keySet());
+		Set<Type> types = new HashSet<>(classMappers.keySet());
+		types.add(Enum.class);
 		types.add(Map.class);
 		types.add(List.class);
 		types.add(Set.class);
@@ -444,34 +1457,6 @@ public class ConfigurationReader {
 		return types.stream().map(t -> t.toString()).sorted().collect(Collectors.toList());
 	}
 
-	/**
-	 * Extracts the relative path e.g. for parsing {@link Map} from properties.
-	 * 
-	 * @param prefix      the prefix, that is ignored
-	 * @param propertyKey the full name of the property
-	 * @return the relative key
-	 */
-	private String extractRelativeKey(String prefix, String propertyKey) {
-		return propertyKey.substring(prefix.length() + 1);
-	}
-
-	/**
-	 * Checks if the given field is necessary to set with a value from the properties.
-	 * 
-	 * @param field the field to check
-	 * @see ConfigurationProperty#required()
-	 * @return true, if the field must have a value, false else
-	 */
-	private boolean isRequired(Field field) {
-
-		ConfigurationProperty annotation = field.getAnnotation(ConfigurationProperty.class);
-		if (annotation == null)
-			return true;
-
-		return annotation.required();
-
-	}
-
 	/**
 	 * Creates a new instance of given class.
 	 * 
@@ -483,12 +1468,7 @@ public class ConfigurationReader {
 	 */
 	private <M> M getInstance(Class<M> clazz) {
 
-		try {
-			return clazz.newInstance();
-
-		} catch (InstantiationException | IllegalAccessException e) {
-			throw new IllegalArgumentException("Can not instantiate config class: " + clazz.getName(), e);
-		}
+		return clazz.cast(Accessors.forClass(clazz).newInstance());
 	}
 
 	/**
@@ -500,14 +1480,46 @@ public class ConfigurationReader {
 	 */
 	public Properties getProperties(String pathToPropertiesFile) {
 
+		File configFile = getPropertiesFile(pathToPropertiesFile);
+
+		// Reads the properties from the file
+		try (InputStream input = new FileInputStream(configFile)) {
+
+			long start = instrumented ? System.nanoTime() : 0;
+
+			Properties shardProperties = new Properties();
+			shardProperties.load(input);
+
+			// the file is read while it is parsed
+			if (instrumented)
+				metrics.parsed(pathToPropertiesFile, shardProperties.size(), System.nanoTime() - start);
+
+			return shardProperties;
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to read properties file", e);
+		}
+	}
+
+	/**
+	 * Resolves the properties file, located at <tt>pathToPropertiesFile</tt>.
+	 * 
+	 * @param pathToPropertiesFile the path to a properties file, may start with ~
+	 * @return the properties file
+	 * @throws IllegalStateException If the given path does not points to a file
+	 */
+	private File getPropertiesFile(String pathToPropertiesFile) {
+
 		pathToPropertiesFile = pathToPropertiesFile.replaceFirst("^~", System.getProperty("user.home"));
 
 		File configFile = new File(pathToPropertiesFile);
 
-		try {
-			System.out.println("Loading properties from: " + configFile.getCanonicalPath());
-		} catch (IOException e) {
-			System.out.println("Error: Unable to determine properties canconical file path: " + pathToPropertiesFile);
+		// resolving the canonical path accesses the file system
+		if (logger.isEnabled(Level.INFO)) {
+			try {
+				logger.log(Level.INFO, "Loading properties from: " + configFile.getCanonicalPath(), null);
+			} catch (IOException e) {
+				logger.log(Level.WARN, "Unable to determine properties canonical file path: " + pathToPropertiesFile, e);
+			}
 		}
 
 		// Checks if file exists
@@ -518,15 +1530,160 @@ public class ConfigurationReader {
 				throw new IllegalStateException("Properties file does not exist");
 		}
 
-		// Reads the properties from the file
-		try (InputStream input = new FileInputStream(configFile)) {
+		return configFile;
+	}
 
-			Properties shardProperties = new Properties();
-			shardProperties.load(input);
+	/**
+	 * Builder for {@link ConfigurationReader}. Readers created by {@link ConfigurationReader#builder()}
+	 * are immutable: their class mappings are a frozen snapshot, which can be shared by any number of
+	 * threads without synchronization.
+	 */
+	public static final class Builder {
 
-			return shardProperties;
-		} catch (IOException e) {
-			throw new IllegalStateException("Unable to read properties file", e);
+		private final Map<Type, Function<String, ?>> classMappers = new HashMap<>();
+
+		private boolean frozen;
+
+		private Executor bindingExecutor;
+
+		private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+		private ConfigurationMetrics metrics = ConfigurationMetrics.NONE;
+
+		private ConfigurationLogger logger = ConfigurationLogger.STANDARD_OUTPUT;
+
+		private int conversionCacheSize;
+
+		private final Set<Type> cachedTypes = new HashSet<>();
+
+		private ConfigurationWriter writer;
+
+		private Builder() {
+		}
+
+		private Builder frozen() {
+			this.frozen = true;
+			return this;
+		}
+
+		/**
+		 * Adds a new (custom) class mapping function, which may also replace a default mapping.
+		 * 
+		 * @param type the class that should be mapped
+		 * @param func the function, that converts a String to M
+		 * @return this builder
+		 */
+		public <M> Builder classMapper(Class<M> type, Function<String, M> func) {
+			classMappers.put(type, func);
+			return this;
+		}
+
+		/**
+		 * Enables parallel binding for configuration classes with at least
+		 * {@link ConfigurationReader#DEFAULT_PARALLEL_THRESHOLD} fields.
+		 * 
+		 * @param executor the executor, that converts the properties of the fields, e.g.
+		 *                 {@link ForkJoinPool#commonPool()}
+		 * @return this builder
+		 * @see #parallelBinding(Executor, int)
+		 */
+		public Builder parallelBinding(Executor executor) {
+			return parallelBinding(executor, DEFAULT_PARALLEL_THRESHOLD);
+		}
+
+		/**
+		 * Enables parallel binding: the properties of all fields of a configuration class with at least
+		 * <tt>threshold</tt> fields are read and converted concurrently on given <tt>executor</tt> and
+		 * the calling thread. The values are injected into the new instance on the calling thread,
+		 * after all fields are converted. Smaller classes are still bound sequentially, since they do
+		 * not outweigh the overhead of the tasks.<br/>
+		 * This pays off for wide classes with costly class mappings. The class mappings must be thread
+		 * safe.
+		 * 
+		 * @param executor  the executor, that converts the properties of the fields, e.g.
+		 *                  {@link ForkJoinPool#commonPool()}
+		 * @param threshold the minimum number of fields of a class, which are bound in parallel
+		 * @return this builder
+		 * @throws IllegalArgumentException If the threshold is less than 1
+		 */
+		public Builder parallelBinding(Executor executor, int threshold) {
+
+			if (threshold < 1)
+				throw new IllegalArgumentException("Threshold for parallel binding must be positive, but is " + threshold);
+
+			this.bindingExecutor = Objects.requireNonNull(executor, "executor");
+			this.parallelThreshold = threshold;
+			return this;
+		}
+
+		/**
+		 * Reports the measurements of the reader, e.g. the time to read files and bind classes, to
+		 * given <tt>metrics</tt>. By default no measurements are taken.
+		 * 
+		 * @param metrics the receiver of the measurements, e.g. a {@link ConfigurationStatistics}
+		 * @return this builder
+		 */
+		public Builder metrics(ConfigurationMetrics metrics) {
+			this.metrics = Objects.requireNonNull(metrics, "metrics");
+			return this;
+		}
+
+		/**
+		 * Caches the conversions of the class mappings of {@link String}, the wrapper types and the
+		 * primitives, and of given <tt>immutableTypes</tt>: each distinct property value is converted
+		 * only once, and all fields with the same value share one instance. This saves time and heap
+		 * for large maps or many configuration objects with repeated values.<br/>
+		 * Each class mapping has its own cache of at most <tt>maximumSize</tt> values, which evicts the
+		 * least recently used values. Arrays and collections are never shared, but their elements are.
+		 * 
+		 * @param maximumSize    the maximum number of cached values per class mapping
+		 * @param immutableTypes further types of class mappings, which return immutable objects, that
+		 *                       can be shared safely
+		 * @return this builder
+		 * @throws IllegalArgumentException If the maximum size is less than 1
+		 */
+		public Builder conversionCache(int maximumSize, Class<?>... immutableTypes) {
+
+			if (maximumSize < 1)
+				throw new IllegalArgumentException("Maximum size of the conversion cache must be positive, but is " + maximumSize);
+
+			this.conversionCacheSize = maximumSize;
+			cachedTypes.addAll(Arrays.asList(String.class, Integer.class, Long.class, Float.class, Double.class, Boolean.class));
+			cachedTypes.addAll(Arrays.asList(int.class, long.class, float.class, double.class, boolean.class));
+			cachedTypes.addAll(Arrays.asList(immutableTypes));
+			return this;
+		}
+
+		/**
+		 * Passes the log messages of the reader, and of its {@link LiveConfiguration}s and
+		 * {@link BinaryConfigurationCache}s, to given <tt>logger</tt> instead of {@link System#out}.
+		 * 
+		 * @param logger the receiver of the log messages, e.g. {@link ConfigurationLogger#SILENT}
+		 * @return this builder
+		 */
+		public Builder logger(ConfigurationLogger logger) {
+			this.logger = Objects.requireNonNull(logger, "logger");
+			return this;
+		}
+
+		/**
+		 * Sets the writer, which flattens the configuration objects of the reader for the
+		 * {@link ConfigurationSnapshot snapshots} of its {@link LiveConfiguration}s. It should write
+		 * the values of custom class mappings in the form, that the class mappings read.
+		 * 
+		 * @param writer the writer with the reverse class mappings of the reader
+		 * @return this builder
+		 */
+		public Builder writer(ConfigurationWriter writer) {
+			this.writer = Objects.requireNonNull(writer, "writer");
+			return this;
+		}
+
+		/**
+		 * @return a new, immutable reader
+		 */
+		public ConfigurationReader build() {
+			return new ConfigurationReader(this);
 		}
 	}
 }
@@ -0,0 +1,244 @@
+package com.sheiden.configuration;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The effective configuration of a configuration object at a point in time: all of its values,
+ * flattened to properties by a {@link ConfigurationWriter} and sorted by their names. Snapshots are
+ * immutable and can be compared by their {@link #getHash() content hash} or by their
+ * {@link #diff(ConfigurationSnapshot) differences}.
+ *
+ * <pre>
+ * ConfigurationSnapshot before = ConfigurationSnapshot.of(current);
+ * ...
+ * ConfigurationDiff diff = before.diff(ConfigurationSnapshot.of(reloaded));
+ * if (diff.affects("pool"))
+ * 	restartPool();
+ * </pre>
+ *
+ * @author Sebastian Heiden
+ * @see LiveConfiguration#addListener(String, java.util.function.BiConsumer)
+ */
+public final class ConfigurationSnapshot {
+
+	private static final ConfigurationSnapshot EMPTY = new ConfigurationSnapshot(new String[0], new String[0]);
+
+	/**
+	 * the names of all properties in ascending order
+	 */
+	final String[] keys;
+
+	/**
+	 * the values of the properties, in the order of their names
+	 */
+	final String[] values;
+
+	private final long hash;
+
+	private ConfigurationSnapshot(String[] keys, String[] values) {
+		this.keys = keys;
+		this.values = values;
+		this.hash = hash(keys, values);
+	}
+
+	/**
+	 * Takes a snapshot of given configuration object with the global {@link ConfigurationWriter}.
+	 *
+	 * @param configuration the configuration object or <tt>null</tt> for an empty snapshot
+	 * @return the snapshot
+	 * @throws IllegalStateException If the object graph contains a cycle
+	 */
+	public static ConfigurationSnapshot of(Object configuration) {
+		return of(ConfigurationWriter.getInstance(), configuration);
+	}
+
+	/**
+	 * Takes a snapshot of given configuration object with given writer, e.g. with its custom class
+	 * mappings.
+	 *
+	 * @param writer        the writer, which flattens the configuration object
+	 * @param configuration the configuration object or <tt>null</tt> for an empty snapshot
+	 * @return the snapshot
+	 * @throws IllegalStateException If the object graph contains a cycle
+	 */
+	public static ConfigurationSnapshot of(ConfigurationWriter writer, Object configuration) {
+
+		if (configuration == null)
+			return EMPTY;
+
+		SnapshotCollector collector = new SnapshotCollector();
+		try {
+			writer.write(collector, configuration);
+		} catch (IOException e) {
+			// properties are collected in memory
+			throw new IllegalStateException(e);
+		}
+
+		return collector.toSnapshot();
+	}
+
+	/**
+	 * @param key the name of a property
+	 * @return the value of the property or <tt>null</tt>, if the snapshot does not contain it
+	 */
+	public String get(String key) {
+		int index = Arrays.binarySearch(keys, key);
+		return index < 0 ? null : values[index];
+	}
+
+	/**
+	 * @return the names of all properties in ascending order
+	 */
+	public List<String> getKeys() {
+		return Collections.unmodifiableList(Arrays.asList(keys));
+	}
+
+	/**
+	 * @return the number of properties
+	 */
+	public int size() {
+		return keys.length;
+	}
+
+	/**
+	 * @return the 64 bit hash of all names and values, which is equal for equal snapshots, even
+	 *         across processes
+	 */
+	public long getHash() {
+		return hash;
+	}
+
+	/**
+	 * Computes the differences to a newer snapshot by merging the sorted properties of both
+	 * snapshots, in linear time.
+	 *
+	 * @param newer the newer snapshot
+	 * @return the properties, which were added, removed or changed by <tt>newer</tt>
+	 */
+	public ConfigurationDiff diff(ConfigurationSnapshot newer) {
+		return ConfigurationDiff.between(this, newer);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+
+		if (this == obj)
+			return true;
+
+		if (!(obj instanceof ConfigurationSnapshot))
+			return false;
+
+		ConfigurationSnapshot other = (ConfigurationSnapshot) obj;
+		return hash == other.hash && Arrays.equals(keys, other.keys) && Arrays.equals(values, other.values);
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(hash);
+	}
+
+	@Override
+	public String toString() {
+		return "ConfigurationSnapshot[" + keys.length + " properties, hash " + Long.toHexString(hash) + "]";
+	}
+
+	/**
+	 * 64 bit FNV-1a of all names and values, separated by characters, that can not be confused with
+	 * their content
+	 */
+	private static long hash(String[] keys, String[] values) {
+
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < keys.length; i++) {
+			hash = hash(hash, keys[i]);
+			hash = (hash ^ '\0') * 0x100000001b3L;
+			hash = hash(hash, values[i]);
+			hash = (hash ^ '\n') * 0x100000001b3L;
+		}
+
+		return hash;
+	}
+
+	private static long hash(long hash, String str) {
+		for (int i = 0; i < str.length(); i++) {
+			hash ^= str.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		return hash;
+	}
+
+	/**
+	 * Collects the properties of a {@link ConfigurationWriter}.
+	 */
+	private static final class SnapshotCollector implements PropertySink {
+
+		private final List<String> keys = new ArrayList<>();
+		private final List<String> values = new ArrayList<>();
+
+		private final StringBuilder value = new StringBuilder();
+
+		private String key;
+
+		/**
+		 * whether the keys have been collected in ascending order
+		 */
+		private boolean sorted = true;
+
+		@Override
+		public PropertySink property(String prefix, String name, String escapedName) {
+			key = prefix.isEmpty() ? name : prefix + name;
+			value.setLength(0);
+			return this;
+		}
+
+		@Override
+		public PropertySink value(CharSequence part) {
+			value.append(part);
+			return this;
+		}
+
+		@Override
+		public PropertySink plain(char c) {
+			value.append(c);
+			return this;
+		}
+
+		@Override
+		public void end() {
+
+			// the writer sorts the names of each object, which mostly sorts all keys already
+			if (sorted && !keys.isEmpty() && keys.get(keys.size() - 1).compareTo(key) > 0)
+				sorted = false;
+
+			keys.add(key);
+			values.add(value.toString());
+		}
+
+		ConfigurationSnapshot toSnapshot() {
+
+			int size = keys.size();
+			String[] sortedKeys = keys.toArray(new String[size]);
+			String[] sortedValues = values.toArray(new String[size]);
+
+			if (!sorted) {
+
+				Integer[] order = new Integer[size];
+				for (int i = 0; i < size; i++)
+					order[i] = i;
+				Arrays.sort(order, Comparator.comparing(keys::get));
+
+				for (int i = 0; i < size; i++) {
+					sortedKeys[i] = keys.get(order[i]);
+					sortedValues[i] = values.get(order[i]);
+				}
+			}
+
+			return new ConfigurationSnapshot(sortedKeys, sortedValues);
+		}
+	}
+}
@@ -0,0 +1,290 @@
+package com.sheiden.configuration;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the measurements of a {@link ConfigurationReader} in counters and histograms, which can
+ * be queried or exported at any time. Recording is lock free and scales with the number of reading
+ * threads.
+ *
+ * <pre>
+ * ConfigurationStatistics statistics = new ConfigurationStatistics();
+ * ConfigurationReader reader = ConfigurationReader.builder().metrics(statistics).build();
+ * ...
+ * statistics.getHistograms().forEach((name, histogram) -&gt; ...);
+ * </pre>
+ *
+ * @author Sebastian Heiden
+ */
+public final class ConfigurationStatistics implements ConfigurationMetrics {
+
+	private final Histogram fileReadTime = new Histogram();
+	private final Histogram fileSize = new Histogram();
+	private final Histogram parseTime = new Histogram();
+	private final Histogram parsedProperties = new Histogram();
+
+	/**
+	 * The histograms are keyed by the names of classes and types, so that the statistics of a
+	 * long-lived reader do not prevent unloading the classes, e.g. of redeployed applications.
+	 */
+	private final ConcurrentMap<String, Histogram> bindTimes = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Histogram> mapperTimes = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Histogram> collectionSizes = new ConcurrentHashMap<>();
+
+	private final LongAdder reloads = new LongAdder();
+	private final LongAdder publishedReloads = new LongAdder();
+	private final LongAdder failedReloads = new LongAdder();
+
+	@Override
+	public void fileRead(String path, long bytes, long nanos) {
+		fileReadTime.record(nanos);
+		fileSize.record(bytes);
+	}
+
+	@Override
+	public void parsed(String path, int properties, long nanos) {
+		parseTime.record(nanos);
+		parsedProperties.record(properties);
+	}
+
+	@Override
+	public void bound(Class<?> configClass, long nanos) {
+		histogram(bindTimes, configClass.getName()).record(nanos);
+	}
+
+	@Override
+	public void mapped(Type type, long nanos) {
+		histogram(mapperTimes, type.getTypeName()).record(nanos);
+	}
+
+	@Override
+	public void collectionBound(Class<?> configClass, String propertyName, int size) {
+		histogram(collectionSizes, configClass.getName() + "#" + propertyName).record(size);
+	}
+
+	@Override
+	public void reloaded(String path, boolean published) {
+		reloads.increment();
+		if (published)
+			publishedReloads.increment();
+	}
+
+	@Override
+	public void reloadFailed(String path, RuntimeException error) {
+		reloads.increment();
+		failedReloads.increment();
+	}
+
+	/**
+	 * @return the time in nanoseconds to read properties files into memory
+	 */
+	public Histogram getFileReadTime() {
+		return fileReadTime;
+	}
+
+	/**
+	 * @return the size in bytes of read properties files
+	 */
+	public Histogram getFileSize() {
+		return fileSize;
+	}
+
+	/**
+	 * @return the time in nanoseconds to parse properties files
+	 */
+	public Histogram getParseTime() {
+		return parseTime;
+	}
+
+	/**
+	 * @return the number of properties of parsed properties files
+	 */
+	public Histogram getParsedProperties() {
+		return parsedProperties;
+	}
+
+	/**
+	 * @param configClass a configuration class
+	 * @return the time in nanoseconds to bind an instance of given class, or an empty histogram
+	 */
+	public Histogram getBindTime(Class<?> configClass) {
+		return histogram(bindTimes, configClass.getName());
+	}
+
+	/**
+	 * @param type the type of a class mapping
+	 * @return the time in nanoseconds to convert a single value by the class mapping of given type,
+	 *         or an empty histogram
+	 */
+	public Histogram getMapperTime(Type type) {
+		return histogram(mapperTimes, type.getTypeName());
+	}
+
+	/**
+	 * @param configClass  the class, that declares a collection
+	 * @param propertyName the name of the property of the collection
+	 * @return the number of elements of the collection, or an empty histogram
+	 */
+	public Histogram getCollectionSize(Class<?> configClass, String propertyName) {
+		return histogram(collectionSizes, configClass.getName() + "#" + propertyName);
+	}
+
+	/**
+	 * @return the number of reloads of watched properties files, including failed reloads
+	 */
+	public long getReloads() {
+		return reloads.sum();
+	}
+
+	/**
+	 * @return the number of reloads, that published a new configuration object
+	 */
+	public long getPublishedReloads() {
+		return publishedReloads.sum();
+	}
+
+	/**
+	 * @return the number of failed reloads
+	 */
+	public long getFailedReloads() {
+		return failedReloads.sum();
+	}
+
+	/**
+	 * Lists all histograms, that recorded any value, by a unique name, e.g. to export them:
+	 * <tt>file.read.nanos</tt>, <tt>file.bytes</tt>, <tt>parse.nanos</tt>, <tt>parse.properties</tt>,
+	 * <tt>bind.nanos.&lt;class&gt;</tt>, <tt>mapper.nanos.&lt;type&gt;</tt> and
+	 * <tt>collection.size.&lt;class&gt;#&lt;property&gt;</tt>.
+	 *
+	 * @return the histograms sorted by their names
+	 */
+	public Map<String, Histogram> getHistograms() {
+
+		Map<String, Histogram> histograms = new TreeMap<>();
+		put(histograms, "file.read.nanos", fileReadTime);
+		put(histograms, "file.bytes", fileSize);
+		put(histograms, "parse.nanos", parseTime);
+		put(histograms, "parse.properties", parsedProperties);
+
+		bindTimes.forEach((name, histogram) -> put(histograms, "bind.nanos." + name, histogram));
+		mapperTimes.forEach((name, histogram) -> put(histograms, "mapper.nanos." + name, histogram));
+		collectionSizes.forEach((name, histogram) -> put(histograms, "collection.size." + name, histogram));
+
+		return histograms;
+	}
+
+	private static void put(Map<String, Histogram> histograms, String name, Histogram histogram) {
+		if (histogram.getCount() > 0)
+			histograms.put(name, histogram);
+	}
+
+	private static <K> Histogram histogram(ConcurrentMap<K, Histogram> histograms, K key) {
+
+		// avoids the locking of computeIfAbsent for existing histograms
+		Histogram histogram = histograms.get(key);
+		return histogram != null ? histogram : histograms.computeIfAbsent(key, k -> new Histogram());
+	}
+
+	/**
+	 * Records the distribution of non-negative values in buckets of powers of two, i.e. percentiles
+	 * are accurate up to a factor of two.
+	 */
+	public static final class Histogram {
+
+		/**
+		 * bucket <tt>i</tt> counts the values with <tt>i</tt> significant bits, i.e. values up to
+		 * 2<sup>i</sup>-1
+		 */
+		private final LongAdder[] buckets = new LongAdder[Long.SIZE + 1];
+
+		private final LongAdder count = new LongAdder();
+		private final LongAdder sum = new LongAdder();
+		private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+		Histogram() {
+			for (int i = 0; i < buckets.length; i++)
+				buckets[i] = new LongAdder();
+		}
+
+		/**
+		 * @param value the value to record, negative values are recorded as zero
+		 */
+		void record(long value) {
+
+			if (value < 0)
+				value = 0;
+
+			buckets[Long.SIZE - Long.numberOfLeadingZeros(value)].increment();
+			count.increment();
+			sum.add(value);
+			max.accumulate(value);
+		}
+
+		/**
+		 * @return the number of recorded values
+		 */
+		public long getCount() {
+			return count.sum();
+		}
+
+		/**
+		 * @return the sum of all recorded values
+		 */
+		public long getSum() {
+			return sum.sum();
+		}
+
+		/**
+		 * @return the largest recorded value, or 0 if none has been recorded
+		 */
+		public long getMax() {
+			return max.get();
+		}
+
+		/**
+		 * @return the mean of all recorded values, or 0 if none has been recorded
+		 */
+		public double getMean() {
+			long count = getCount();
+			return count == 0 ? 0 : (double) getSum() / count;
+		}
+
+		/**
+		 * @param percentile the percentile between 0 and 100, e.g. 99
+		 * @return an upper bound of given percentile of all recorded values, which is at most twice the
+		 *         exact percentile, or 0 if none has been recorded
+		 * @throws IllegalArgumentException If the percentile is not between 0 and 100
+		 */
+		public long getPercentile(double percentile) {
+
+			if (percentile < 0 || percentile > 100)
+				throw new IllegalArgumentException("Percentile must be between 0 and 100, but is " + percentile);
+
+			long count = getCount();
+			if (count == 0)
+				return 0;
+
+			long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+			long seen = 0;
+
+			for (int i = 0; i < buckets.length; i++) {
+				seen += buckets[i].sum();
+				if (seen >= rank)
+					return Math.min(getMax(), i == Long.SIZE ? Long.MAX_VALUE : (1L << i) - 1);
+			}
+
+			return getMax();
+		}
+
+		@Override
+		public String toString() {
+			return String.format("count=%d, mean=%.1f, p50=%d, p99=%d, max=%d", getCount(), getMean(), getPercentile(50), getPercentile(99), getMax());
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package com.sheiden.configuration;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 
 import com.sheiden.configuration.annotation.ConfigurationProperty;
 import com.sheiden.configuration.annotation.NameSpace;
@@ -22,6 +23,56 @@ public class ConfigurationUtil {
 		return nameSpace + name;
 	}
 
+	/**
+	 * Evaluates the property name of a getter method of a configuration interface. Without
+	 * annotation, the name of the getter is used without its prefix <tt>get</tt> or <tt>is</tt>, e.g.
+	 * <tt>getServerName()</tt> and <tt>isEnabled()</tt> are mapped to <tt>serverName</tt> and
+	 * <tt>enabled</tt>.
+	 * 
+	 * @param method the getter method
+	 * @return the property name including the name space of the interface
+	 */
+	static String getPropertyName(Method method) {
+
+		String nameSpace = ConfigurationUtil.getNameSpace(method.getDeclaringClass(), true);
+
+		ConfigurationProperty propertyName = method.getAnnotation(ConfigurationProperty.class);
+		if (propertyName == null || isEmpty(propertyName.value()))
+			return nameSpace + getGetterName(method);
+
+		return nameSpace + propertyName.value();
+	}
+
+	private static String getGetterName(Method method) {
+
+		String name = method.getName();
+		Class<?> type = method.getReturnType();
+
+		if (hasPrefix(name, "get"))
+			return decapitalize(name.substring(3));
+
+		if (hasPrefix(name, "is") && (type.equals(boolean.class) || type.equals(Boolean.class)))
+			return decapitalize(name.substring(2));
+
+		return name;
+	}
+
+	private static boolean hasPrefix(String name, String prefix) {
+		return name.length() > prefix.length() && name.startsWith(prefix) && Character.isUpperCase(name.charAt(prefix.length()));
+	}
+
+	/**
+	 * Converts the first character to lower case, unless the name starts with an acronym like
+	 * <tt>URL</tt>.
+	 */
+	private static String decapitalize(String name) {
+
+		if (name.length() > 1 && Character.isUpperCase(name.charAt(1)))
+			return name;
+
+		return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+	}
+
 	/**
 	 * Recursive function to evaluate the name space of the given class.
 	 * 
@@ -34,10 +85,16 @@ public class ConfigurationUtil {
 		String prefix = "";
 
 		Class<?> superclass = clazz.getSuperclass();
-		if (!superclass.equals(Object.class)) {
+		if (superclass != null && !superclass.equals(Object.class)) {
 			prefix += getNameSpace(superclass, false);
 		}
 
+		// configuration interfaces inherit the name spaces of their super interfaces
+		if (clazz.isInterface()) {
+			for (Class<?> superInterface : clazz.getInterfaces())
+				prefix += getNameSpace(superInterface, false);
+		}
+
 		NameSpace annotation = clazz.getAnnotation(NameSpace.class);
 		if (annotation == null)
 			return prefix;
@@ -1,15 +1,34 @@
 package com.sheiden.configuration;
 
-import java.lang.reflect.Field;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.sheiden.configuration.ConfigurationLogger.Level;
+import com.sheiden.configuration.WriterPlan.Kind;
+import com.sheiden.configuration.WriterPlan.Property;
 
 /**
  * 
@@ -23,50 +42,116 @@ import java.util.stream.Collectors;
  */
 public class ConfigurationWriter {
 
-	private final Map<Class<?>, Function<?, String>> CLASS_MAPPERS = new HashMap<>();
+	/**
+	 * The default class mappings. Fields of these types are written by a {@link WriterPlan} without
+	 * calling the mappings, unless they are replaced by custom class mappings.
+	 */
+	private static final Map<Class<?>, Function<?, String>> DEFAULT_CLASS_MAPPERS = createDefaultClassMappers();
 
 	/**
-	 * Instance for singleton usage
+	 * Registered class mappings. The map itself is never modified, but replaced as a whole, so that
+	 * concurrent writes always see a consistent snapshot without locking.
 	 */
-	private static ConfigurationWriter instance = null;
+	private volatile Map<Class<?>, Function<?, String>> classMappers;
+
+	/**
+	 * Compiled writer plans per class, which are replaced together with the class mappings
+	 */
+	private volatile ClassValue<WriterPlan> plans;
+
+	/**
+	 * Writers created by a {@link Builder} do not accept further class mappings
+	 */
+	private final boolean frozen;
+
+	/**
+	 * Receives the log messages of this writer
+	 */
+	private final ConfigurationLogger logger;
 
 	/**
 	 * Default Constructor. For a global instance use {@link #getInstance()} instead.<br/>
 	 * This constructor should not been used, if custom class mappings are used to avoid registering the
 	 * same mapping at all usages of ConfigurationWriter.
+	 * 
+	 * @see #builder()
 	 */
 	public ConfigurationWriter() {
+		this(new Builder());
+	}
+
+	private ConfigurationWriter(Builder builder) {
+
+		Map<Class<?>, Function<?, String>> mappers = new HashMap<>(DEFAULT_CLASS_MAPPERS);
+		mappers.putAll(builder.classMappers);
+
+		this.classMappers = Collections.unmodifiableMap(mappers);
+		this.plans = newPlanCache(classMappers);
+		this.frozen = builder.frozen;
+		this.logger = builder.logger;
+	}
+
+	private static Map<Class<?>, Function<?, String>> createDefaultClassMappers() {
+
+		Map<Class<?>, Function<?, String>> mappers = new HashMap<>();
 
 		// simple classes
-		addClassMapper(String.class, str -> str);
-		addClassMapper(Integer.class, i -> i.toString());
-		addClassMapper(Long.class, l -> l.toString());
-		addClassMapper(Float.class, f -> f.toString());
-		addClassMapper(Double.class, d -> d.toString());
-		addClassMapper(Boolean.class, b -> b.toString());
+		addClassMapper(mappers, String.class, str -> str);
+		addClassMapper(mappers, Integer.class, i -> i.toString());
+		addClassMapper(mappers, Long.class, l -> l.toString());
+		addClassMapper(mappers, Float.class, f -> f.toString());
+		addClassMapper(mappers, Double.class, d -> d.toString());
+		addClassMapper(mappers, Boolean.class, b -> b.toString());
+
+		// the reader parses unresolved addresses of this form, e.g. [::1]:8080
+		addClassMapper(mappers, InetSocketAddress.class, address -> {
+			String host = address.getHostString();
+			return (host.indexOf(':') < 0 ? host : "[" + host + "]") + ":" + address.getPort();
+		});
 
 		// reverse arrays
-		addClassMapper(String[].class, arr -> Arrays.asList(arr).stream().collect(Collectors.joining(",")));
-		addClassMapper(Integer[].class, arr -> Arrays.asList(arr).stream().map(x -> x.toString()).collect(Collectors.joining(",")));
-		addClassMapper(Long[].class, arr -> Arrays.asList(arr).stream().map(x -> x.toString()).collect(Collectors.joining(",")));
-		addClassMapper(Float[].class, arr -> Arrays.asList(arr).stream().map(x -> x.toString()).collect(Collectors.joining(",")));
-		addClassMapper(Double[].class, arr -> Arrays.asList(arr).stream().map(x -> x.toString()).collect(Collectors.joining(",")));
-		addClassMapper(Boolean[].class, arr -> Arrays.asList(arr).stream().map(x -> x.toString()).collect(Collectors.joining(",")));
+		addClassMapper(mappers, String[].class, arr -> Arrays.asList(arr).stream().collect(Collectors.joining(",")));
+		addClassMapper(mappers, Integer[].class, arr -> Arrays.asList(arr).stream().map(x -> x.toString()).collect(Collectors.joining(",")));
+		addClassMapper(mappers, Long[].class, arr -> Arrays.asList(arr).stream().map(x -> x.toString()).collect(Collectors.joining(",")));
+		addClassMapper(mappers, Float[].class, arr -> Arrays.asList(arr).stream().map(x -> x.toString()).collect(Collectors.joining(",")));
+		addClassMapper(mappers, Double[].class, arr -> Arrays.asList(arr).stream().map(x -> x.toString()).collect(Collectors.joining(",")));
+		addClassMapper(mappers, Boolean[].class, arr -> Arrays.asList(arr).stream().map(x -> x.toString()).collect(Collectors.joining(",")));
+
+		// primitive arrays
+		addClassMapper(mappers, int[].class, arr -> Arrays.stream(arr).mapToObj(x -> Integer.toString(x)).collect(Collectors.joining(",")));
+		addClassMapper(mappers, long[].class, arr -> Arrays.stream(arr).mapToObj(x -> Long.toString(x)).collect(Collectors.joining(",")));
+		addClassMapper(mappers, double[].class, arr -> Arrays.stream(arr).mapToObj(x -> Double.toString(x)).collect(Collectors.joining(",")));
+		addClassMapper(mappers, boolean[].class, arr -> IntStream.range(0, arr.length).mapToObj(i -> Boolean.toString(arr[i])).collect(Collectors.joining(",")));
 
 		// collections
-		addClassMapper(List.class, list -> {
+		addClassMapper(mappers, List.class, list -> {
 
 			@SuppressWarnings("unchecked")
 			String result = (String) list.stream().map(x -> x.toString()).collect(Collectors.joining(","));
 			return result;
 		});
 
-		addClassMapper(Set.class, set -> {
+		addClassMapper(mappers, Set.class, set -> {
 
 			@SuppressWarnings("unchecked")
 			String result = (String) set.stream().map(x -> x.toString()).collect(Collectors.joining(","));
 			return result;
 		});
+
+		return Collections.unmodifiableMap(mappers);
+	}
+
+	private static <M> void addClassMapper(Map<Class<?>, Function<?, String>> mappers, Class<M> type, Function<M, String> func) {
+		mappers.put(type, func);
+	}
+
+	/**
+	 * Creates a builder for an immutable writer, which can be shared by any number of threads.
+	 * 
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder().frozen();
 	}
 
 	/**
@@ -75,10 +160,14 @@ public class ConfigurationWriter {
 	 * @return the singleton instance
 	 */
 	public static ConfigurationWriter getInstance() {
-		if (instance == null) {
-			instance = new ConfigurationWriter();
-		}
-		return instance;
+		return InstanceHolder.INSTANCE;
+	}
+
+	/**
+	 * Lazy and thread safe initialization of the singleton instance
+	 */
+	private static final class InstanceHolder {
+		private static final ConfigurationWriter INSTANCE = new ConfigurationWriter();
 	}
 
 	/**
@@ -88,101 +177,540 @@ public class ConfigurationWriter {
 	 * 
 	 * @param type the class that should be mapped
 	 * @param func the function, that converts a String to M
+	 * @throws UnsupportedOperationException If this writer was created by a {@link Builder}
+	 */
+	public synchronized <M> void addClassMapper(Class<M> type, Function<M, String> func) {
+
+		if (frozen)
+			throw new UnsupportedOperationException("Class mappings of this writer are immutable, register them at the builder instead");
+
+		Map<Class<?>, Function<?, String>> mappers = new HashMap<>(classMappers);
+		mappers.put(type, func);
+		classMappers = Collections.unmodifiableMap(mappers);
+
+		// compiled plans hold resolved class mappings
+		plans = newPlanCache(classMappers);
+	}
+
+	/**
+	 * Creates an empty cache for {@link WriterPlan writer plans}.
+	 * 
+	 * @param mappers the snapshot of class mappings, that is used to compile the plans
 	 */
-	public <M> void addClassMapper(Class<M> type, Function<M, String> func) {
-		CLASS_MAPPERS.put(type, func);
+	private static ClassValue<WriterPlan> newPlanCache(Map<Class<?>, Function<?, String>> mappers) {
+		return new ClassValue<WriterPlan>() {
+
+			@Override
+			protected WriterPlan computeValue(Class<?> type) {
+				return WriterPlan.compile(type, mappers, DEFAULT_CLASS_MAPPERS);
+			}
+		};
 	}
 
 	/**
 	 * Writes each non <tt>null</tt> value of fields of given <tt>object</tt> as property to given
-	 * <tt>properties</tt>.
+	 * <tt>properties</tt>. Fields without class mapping, whose values have public fields themselves,
+	 * are written as nested objects below the name of the field, like maps, lists and sets of such
+	 * objects.
 	 * 
 	 * @param properties properties object to write each property to
 	 * @param object     object, that contains fields, which are written to <tt>properties</tt>
+	 * @throws IllegalStateException If the object graph contains a cycle
+	 * @see #write(Appendable, Object)
 	 */
 	public void write(Properties properties, Object object) {
 
 		if (properties == null || object == null)
 			return;
 
-		Class<?> clazz = object.getClass();
+		try {
+			writeGraph(new PropertiesCollector(properties), object);
+		} catch (IOException e) {
+			// properties are collected in memory
+			throw new IllegalStateException(e);
+		}
+	}
 
-		for (Field field : clazz.getFields()) {
+	/**
+	 * Writes each non <tt>null</tt> value of fields of given <tt>object</tt> as property to given
+	 * <tt>output</tt>, in the format of {@link Properties#store(java.io.Writer, String)}, but without
+	 * a header comment. The properties are sorted by their names and the entries of maps by their
+	 * keys, so that equal objects are always written the same way.<br/>
+	 * Unlike {@link #write(Properties, Object)}, no intermediate strings or collections are built for
+	 * arrays, collections and nested map values: each value is escaped and appended directly.
+	 * 
+	 * @param output the destination of the properties, which is neither flushed nor closed
+	 * @param object object, that contains fields, which are written to <tt>output</tt>
+	 * @throws IOException           If the output fails
+	 * @throws IllegalStateException If the object graph contains a cycle
+	 */
+	public void write(Appendable output, Object object) throws IOException {
 
-			try {
-				Object value = field.get(object);
-				if (value == null)
-					continue;
+		if (output == null || object == null)
+			return;
+
+		writeGraph(new PropertiesAppender(output), object);
+	}
+
+	/**
+	 * Writes each non <tt>null</tt> value of fields of given <tt>object</tt> as property to given
+	 * <tt>output</tt>, like {@link #write(Appendable, Object)}. The properties are encoded in ISO
+	 * 8859-1, all other characters are escaped, like {@link Properties#store(OutputStream, String)}.
+	 * 
+	 * @param output the destination of the properties, which is flushed, but not closed
+	 * @param object object, that contains fields, which are written to <tt>output</tt>
+	 * @throws IOException           If the output fails
+	 * @throws IllegalStateException If the object graph contains a cycle
+	 */
+	public void write(OutputStream output, Object object) throws IOException {
+
+		if (output == null || object == null)
+			return;
+
+		Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.ISO_8859_1));
+		write(writer, object);
+		writer.flush();
+	}
+
+	/**
+	 * @param type any class
+	 * @return true, if values of given class are written by a class mapping
+	 */
+	boolean hasClassMapper(Class<?> type) {
+		return classMappers.containsKey(type);
+	}
+
+	/**
+	 * Writes each non <tt>null</tt> value of fields of given <tt>object</tt> as property to given
+	 * <tt>out</tt>, like {@link #write(Appendable, Object)}.
+	 * 
+	 * @throws IllegalStateException If the object graph contains a cycle
+	 */
+	void write(PropertySink out, Object object) throws IOException {
+		writeGraph(out, object);
+	}
 
-				String name = ConfigurationUtil.getPropertyName(field);
+	/**
+	 * Walks the object graph of given <tt>root</tt> depth first and writes a property for each value.
+	 * Nested objects, maps and collections are pushed to an explicit stack instead of recursing, so
+	 * that the depth of the graph is not limited by the call stack.
+	 * 
+	 * @param out  the destination of the properties
+	 * @param root the object to write
+	 * @throws IllegalStateException If an object refers to another object on its own path
+	 */
+	private void writeGraph(PropertySink out, Object root) throws IOException {
+
+		Deque<Frame> stack = new ArrayDeque<>();
+
+		// the objects, maps and collections of the frames on the stack
+		Set<Object> path = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		push(stack, path, "root", new Frame(root, "", plans.get(root.getClass()).properties));
 
-				Class<?> type = field.getType();
+		while (!stack.isEmpty()) {
 
-				if (CLASS_MAPPERS.containsKey(type)) {
-					properties.setProperty(name, apply(value, type));
+			Frame frame = stack.peek();
+			if (frame.index == frame.length) {
+				stack.pop();
+				path.remove(frame.owner);
+				continue;
+			}
+
+			int index = frame.index++;
 
-				} else if (type.equals(Map.class)) {
-					handleMap(properties, name, value, clazz);
+			if (frame.properties == null) {
+				Object value = frame.values[index];
+				try {
+					if (value != null)
+						writeValue(out, stack, path, frame.prefix, frame.names[index], value);
 
-				} else {
-					properties.setProperty(name, value.toString());
+				} catch (IllegalArgumentException e) {
+					// nested maps with unsupported keys are skipped like maps of fields
+					logger.log(Level.ERROR, () -> "Can not write properties: " + e.getMessage(), e);
 				}
+				continue;
+			}
+
+			Property property = frame.properties[index];
+			try {
+				Object value = property.accessor.get(frame.owner);
+				if (value != null)
+					writeProperty(out, stack, path, frame.prefix, property, value);
 
 			} catch (IllegalArgumentException | IllegalAccessException e) {
-				System.out.println("Can not write properties: " + e.getMessage());
-				e.printStackTrace();
+				logger.log(Level.ERROR, () -> "Can not write properties: " + e.getMessage(), e);
 			}
 		}
 	}
 
-	private void handleMap(Properties properties, String name, Object value, Class<?> clazz) throws IllegalAccessException {
+	/**
+	 * Writes the value of a field or pushes it to the stack, if it is a nested object or map.
+	 */
+	private void writeProperty(PropertySink out, Deque<Frame> stack, Set<Object> path, String prefix, Property property, Object value) throws IOException {
+
+		switch (property.kind) {
+		case MAP:
+			String name = prefix + property.name;
+			push(stack, path, name, mapFrame((Map<?, ?>) value, name, property.name, property.field.getDeclaringClass()));
+			return;
+		case TEXT:
+		case ITERABLE:
+			// the kind depends on the runtime type of nested objects and elements
+			writeValue(out, stack, path, prefix, property.name, value);
+			return;
+		default:
+			break;
+		}
 
-		@SuppressWarnings("unchecked")
-		Map<Object, Object> map = (Map<Object, Object>) value;
-		for (Entry<Object, Object> entry : map.entrySet()) {
+		out.property(prefix, property.name, property.escapedName);
+
+		switch (property.kind) {
+		case MAPPED:
+			out.value(apply(property.mapper, value));
+			break;
+		case ELEMENTS:
+			Object[] elements = (Object[]) value;
+			for (int i = 0; i < elements.length; i++) {
+				if (i > 0)
+					out.plain(',');
+				out.value(String.valueOf(elements[i]));
+			}
+			break;
+		case INTS:
+			int[] ints = (int[]) value;
+			for (int i = 0; i < ints.length; i++) {
+				if (i > 0)
+					out.plain(',');
+				out.value(Integer.toString(ints[i]));
+			}
+			break;
+		case LONGS:
+			long[] longs = (long[]) value;
+			for (int i = 0; i < longs.length; i++) {
+				if (i > 0)
+					out.plain(',');
+				out.value(Long.toString(longs[i]));
+			}
+			break;
+		case DOUBLES:
+			double[] doubles = (double[]) value;
+			for (int i = 0; i < doubles.length; i++) {
+				if (i > 0)
+					out.plain(',');
+				out.value(Double.toString(doubles[i]));
+			}
+			break;
+		case BOOLEANS:
+			boolean[] booleans = (boolean[]) value;
+			for (int i = 0; i < booleans.length; i++) {
+				if (i > 0)
+					out.plain(',');
+				out.value(booleans[i] ? "true" : "false");
+			}
+			break;
+		default:
+			throw new IllegalStateException("Unexpected kind " + property.kind);
+		}
 
-			Object entryKey = entry.getKey();
-			Object entryValue = entry.getValue();
+		out.end();
+	}
 
-			if (!CLASS_MAPPERS.containsKey(entryKey.getClass()))
-				throw new IllegalArgumentException("Key of map " + name + " in class " + clazz + " has unsupported type " + entryKey.getClass());
+	/**
+	 * Writes a value, which is not described by a {@link Property}, i.e. the value of a map entry,
+	 * an element of a collection or the value of a field, whose type is not known in advance. Values
+	 * with class mapping and values without public fields are written as a single property, all other
+	 * values are pushed to the stack.
+	 * 
+	 * @param prefix the prefix of the property, either empty or ending with a dot
+	 * @param name   the remaining part of the name of the property
+	 */
+	private void writeValue(PropertySink out, Deque<Frame> stack, Set<Object> path, String prefix, String name, Object value) throws IOException {
 
-			String key = apply(entryKey, entryKey.getClass());
+		Class<?> type = value.getClass();
 
-			if (CLASS_MAPPERS.containsKey(entryValue.getClass())) {
+		Function<?, String> mapper = classMappers.get(type);
+		if (mapper != null) {
+			out.property(prefix, name, null).value(apply(mapper, value)).end();
+			return;
+		}
 
-				String stringValue = apply(entryValue, entryValue.getClass());
-				properties.setProperty(name + "." + key, stringValue);
-			} else {
+		if (value instanceof Map) {
+			String mapName = prefix + name;
+			push(stack, path, mapName, mapFrame((Map<?, ?>) value, mapName, mapName, null));
+			return;
+		}
+
+		if (value instanceof List || value instanceof Set) {
+
+			Collection<?> collection = (Collection<?>) value;
+			if (!hasNestedElements(collection)) {
 
-				// assume a complex object, if no class mapping is present
-				for (Entry<String, String> subEntry : mapComplexObject(entryValue).entrySet()) {
-					properties.setProperty(name + "." + key + "." + subEntry.getKey(), subEntry.getValue());
+				out.property(prefix, name, null);
+
+				boolean first = true;
+				for (Object element : collection) {
+					if (!first)
+						out.plain(',');
+					out.value(String.valueOf(element));
+					first = false;
 				}
+
+				out.end();
+				return;
 			}
+
+			// lists and sets of nested objects are written indexed, e.g. servers.0.host
+			Object[] elements = collection.toArray();
+			String[] indices = new String[elements.length];
+			for (int i = 0; i < indices.length; i++)
+				indices[i] = Integer.toString(i);
+
+			push(stack, path, prefix + name, new Frame(collection, prefix + name + ".", indices, elements));
+			return;
+		}
+
+		// Guava is only loaded, if such an array is written
+		if (PrimitiveArrays.isPrimitiveArray(type)) {
+			String elements = PrimitiveArrays.format(value);
+			if (elements != null) {
+				out.property(prefix, name, null).value(elements).end();
+				return;
+			}
+		}
+
+		Property[] properties = plans.get(type).properties;
+		if (properties.length > 0) {
+			push(stack, path, prefix + name, new Frame(value, prefix + name + ".", properties));
+			return;
 		}
+
+		out.property(prefix, name, null).value(value.toString()).end();
 	}
 
-	private Map<String, String> mapComplexObject(Object object) throws IllegalAccessException {
+	/**
+	 * @return whether any element of given <tt>collection</tt> is a nested object
+	 */
+	private boolean hasNestedElements(Collection<?> collection) {
 
-		Map<String, String> map = new HashMap<>();
+		for (Object element : collection) {
 
-		for (Field field : object.getClass().getFields()) {
+			if (element == null || element instanceof Map || element instanceof Collection)
+				continue;
 
-			String name = ConfigurationUtil.getPropertyName(field);
-			Object value = field.get(object);
-			Class<?> type = field.getType();
+			Class<?> type = element.getClass();
+			if (!classMappers.containsKey(type) && plans.get(type).properties.length > 0)
+				return true;
+		}
 
-			map.put(name, CLASS_MAPPERS.containsKey(type) ? apply(value, type) : value.toString());
+		return false;
+	}
+
+	/**
+	 * Creates the frame for the entries of given <tt>map</tt>, sorted by their mapped keys.
+	 * 
+	 * @param map            the map to write
+	 * @param name           the name of the property of the map
+	 * @param fieldName      the name of the field for error messages
+	 * @param declaringClass the class, that declares the map, or <tt>null</tt>
+	 * @throws IllegalArgumentException If any key has no class mapping. Nothing is written in this
+	 *                                  case.
+	 */
+	private Frame mapFrame(Map<?, ?> map, String name, String fieldName, Class<?> declaringClass) {
+
+		// the keys are mapped first, so that a map with unsupported keys is not written partially
+		List<Entry<String, Object>> entries = new ArrayList<>(map.size());
+
+		for (Entry<?, ?> entry : map.entrySet()) {
+
+			Object key = entry.getKey();
+			if (!classMappers.containsKey(key.getClass()))
+				throw new IllegalArgumentException("Key of map " + fieldName + (declaringClass == null ? "" : " in class " + declaringClass) + " has unsupported type " + key.getClass());
+
+			entries.add(new SimpleImmutableEntry<>(apply(key, key.getClass()), entry.getValue()));
+		}
+
+		entries.sort(Entry.comparingByKey());
+
+		int size = entries.size();
+		String[] keys = new String[size];
+		Object[] values = new Object[size];
+		for (int i = 0; i < size; i++) {
+			keys[i] = entries.get(i).getKey();
+			values[i] = entries.get(i).getValue();
 		}
 
-		return map;
+		return new Frame(map, name + ".", keys, values);
+	}
+
+	/**
+	 * Pushes given <tt>frame</tt> to the stack.
+	 * 
+	 * @param name the name of the property of the frame for error messages
+	 * @throws IllegalStateException If the object of the frame is already on the stack
+	 */
+	private static void push(Deque<Frame> stack, Set<Object> path, String name, Frame frame) {
+
+		if (!path.add(frame.owner))
+			throw new IllegalStateException("Can not write property " + name + ": " + frame.owner.getClass().getName() + " refers to itself");
+
+		stack.push(frame);
+	}
+
+	private static String apply(Function<?, String> mapper, Object object) {
+		@SuppressWarnings("unchecked")
+		Function<Object, String> function = (Function<Object, String>) mapper;
+		return function.apply(object);
 	}
 
 	private String apply(Object object, Class<?> type) {
 		@SuppressWarnings("unchecked")
-		Function<Object, String> function = (Function<Object, String>) CLASS_MAPPERS.get(type);
+		Function<Object, String> function = (Function<Object, String>) classMappers.get(type);
 		return function.apply(object);
 	}
 
+	/**
+	 * An object, map or collection on the stack of {@link ConfigurationWriter#writeGraph(PropertySink,
+	 * Object)}, of which the first <tt>index</tt> values have been written.
+	 */
+	private static final class Frame {
+
+		final Object owner;
+
+		/**
+		 * the prefix of all properties of this frame, either empty or ending with a dot
+		 */
+		final String prefix;
+
+		/**
+		 * the properties of an object, otherwise <tt>null</tt>
+		 */
+		final Property[] properties;
+
+		/**
+		 * the mapped keys of a map or the indices of a collection
+		 */
+		final String[] names;
+
+		/**
+		 * the values of a map or the elements of a collection
+		 */
+		final Object[] values;
+
+		final int length;
+
+		int index;
+
+		Frame(Object object, String prefix, Property[] properties) {
+			this.owner = object;
+			this.prefix = prefix;
+			this.properties = properties;
+			this.names = null;
+			this.values = null;
+			this.length = properties.length;
+		}
+
+		Frame(Object owner, String prefix, String[] names, Object[] values) {
+			this.owner = owner;
+			this.prefix = prefix;
+			this.properties = null;
+			this.names = names;
+			this.values = values;
+			this.length = values.length;
+		}
+	}
+
+	/**
+	 * Collects the written properties in a {@link Properties} object, without escaping them.
+	 */
+	private static final class PropertiesCollector implements PropertySink {
+
+		private final Properties properties;
+
+		private final StringBuilder value = new StringBuilder();
+
+		private String key;
+
+		PropertiesCollector(Properties properties) {
+			this.properties = properties;
+		}
+
+		@Override
+		public PropertySink property(String prefix, String name, String escapedName) {
+			key = prefix.isEmpty() ? name : prefix + name;
+			value.setLength(0);
+			return this;
+		}
+
+		@Override
+		public PropertySink value(CharSequence part) {
+			value.append(part);
+			return this;
+		}
+
+		@Override
+		public PropertySink plain(char c) {
+			value.append(c);
+			return this;
+		}
+
+		@Override
+		public void end() {
+			properties.setProperty(key, value.toString());
+		}
+	}
+
+	/**
+	 * Builder for {@link ConfigurationWriter}. Writers created by {@link ConfigurationWriter#builder()}
+	 * are immutable: their class mappings are a frozen snapshot, which can be shared by any number of
+	 * threads without synchronization.
+	 */
+	public static final class Builder {
+
+		private final Map<Class<?>, Function<?, String>> classMappers = new HashMap<>();
+
+		private boolean frozen;
+
+		private ConfigurationLogger logger = ConfigurationLogger.STANDARD_OUTPUT;
+
+		private Builder() {
+		}
+
+		private Builder frozen() {
+			this.frozen = true;
+			return this;
+		}
+
+		/**
+		 * Adds a new (custom) class mapping function, which may also replace a default mapping.
+		 * 
+		 * @param type the class that should be mapped
+		 * @param func the function, that converts M to a String
+		 * @return this builder
+		 */
+		public <M> Builder classMapper(Class<M> type, Function<M, String> func) {
+			classMappers.put(type, func);
+			return this;
+		}
+
+		/**
+		 * Passes the log messages of the writer to given <tt>logger</tt> instead of
+		 * {@link System#out}.
+		 * 
+		 * @param logger the receiver of the log messages, e.g. {@link ConfigurationLogger#SILENT}
+		 * @return this builder
+		 */
+		public Builder logger(ConfigurationLogger logger) {
+			this.logger = Objects.requireNonNull(logger, "logger");
+			return this;
+		}
+
+		/**
+		 * @return a new, immutable writer
+		 */
+		public ConfigurationWriter build() {
+			return new ConfigurationWriter(this);
+		}
+	}
+
 }
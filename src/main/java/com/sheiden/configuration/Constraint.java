@@ -0,0 +1,164 @@
+package com.sheiden.configuration;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.sheiden.configuration.annotation.ConfigurationProperty;
+
+/**
+ * The constraints of a single field or getter method, compiled once into its binding. Numbers are
+ * checked against the range, all other constraints are checked against the string representation
+ * of a value. The elements of collections and arrays and the values of maps are checked one by one.
+ *
+ * @author Sebastian Heiden
+ * @see ConfigurationProperty#min()
+ */
+final class Constraint {
+
+	/**
+	 * Compiled patterns by their regular expressions, which are shared by all plans of all readers
+	 */
+	private static final Map<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
+
+	private final double min;
+	private final double max;
+
+	/**
+	 * the compiled pattern, <tt>null</tt> for any value
+	 */
+	private final Pattern pattern;
+
+	private final int minSize;
+	private final int maxSize;
+
+	/**
+	 * the allowed values, <tt>null</tt> for any value
+	 */
+	private final Set<String> allowed;
+
+	private Constraint(double min, double max, String pattern, int minSize, int maxSize, String[] allowed) {
+		this.min = min;
+		this.max = max;
+		this.pattern = pattern.isEmpty() ? null : PATTERNS.computeIfAbsent(pattern, Pattern::compile);
+		this.minSize = minSize;
+		this.maxSize = maxSize;
+		this.allowed = allowed.length == 0 ? null : new HashSet<>(Arrays.asList(allowed));
+	}
+
+	/**
+	 * @param annotation the annotation of a field or getter method, may be <tt>null</tt>
+	 * @return the compiled constraint or <tt>null</tt>, if no constraint is defined
+	 * @throws java.util.regex.PatternSyntaxException If the pattern is invalid
+	 */
+	static Constraint of(ConfigurationProperty annotation) {
+
+		if (annotation == null)
+			return null;
+
+		return of(annotation.min(), annotation.max(), annotation.pattern(), annotation.minSize(), annotation.maxSize(), annotation.allowed());
+	}
+
+	/**
+	 * @return the compiled constraint or <tt>null</tt>, if all parameters are the defaults of
+	 *         {@link ConfigurationProperty}
+	 * @throws java.util.regex.PatternSyntaxException If the pattern is invalid
+	 */
+	static Constraint of(double min, double max, String pattern, int minSize, int maxSize, String[] allowed) {
+
+		if (min == Double.NEGATIVE_INFINITY && max == Double.POSITIVE_INFINITY && pattern.isEmpty() && minSize == 0 && maxSize == Integer.MAX_VALUE
+				&& allowed.length == 0)
+			return null;
+
+		return new Constraint(min, max, pattern, minSize, maxSize, allowed);
+	}
+
+	/**
+	 * Checks given <tt>value</tt> and adds a message for each violation to <tt>violations</tt>.
+	 *
+	 * @param propertyName the absolute name of the property of the value
+	 * @param value        the mapped value
+	 * @param violations   the violations of the current read
+	 */
+	void check(String propertyName, Object value, List<String> violations) {
+
+		if (value instanceof Collection) {
+			Collection<?> collection = (Collection<?>) value;
+			checkSize(propertyName, collection.size(), violations);
+			for (Object element : collection)
+				checkElement(propertyName, element, violations);
+
+		} else if (value instanceof Map) {
+			Map<?, ?> map = (Map<?, ?>) value;
+			checkSize(propertyName, map.size(), violations);
+			for (Map.Entry<?, ?> entry : map.entrySet())
+				checkElement(propertyName + "." + entry.getKey(), entry.getValue(), violations);
+
+		} else if (value.getClass().isArray()) {
+			int length = Array.getLength(value);
+			checkSize(propertyName, length, violations);
+			for (int i = 0; i < length; i++)
+				checkElement(propertyName, Array.get(value, i), violations);
+
+		} else {
+			if (value instanceof CharSequence)
+				checkSize(propertyName, ((CharSequence) value).length(), violations);
+			checkElement(propertyName, value, violations);
+		}
+	}
+
+	private void checkSize(String propertyName, int size, List<String> violations) {
+
+		if (size < minSize)
+			violations.add(propertyName + ": size " + size + " is less than " + minSize);
+		if (size > maxSize)
+			violations.add(propertyName + ": size " + size + " is greater than " + maxSize);
+	}
+
+	private void checkElement(String propertyName, Object value, List<String> violations) {
+
+		if (value == null)
+			return;
+
+		if (value instanceof Number) {
+			double number = ((Number) value).doubleValue();
+			if (number < min)
+				violations.add(propertyName + ": " + value + " is less than " + format(min));
+			if (number > max)
+				violations.add(propertyName + ": " + value + " is greater than " + format(max));
+		}
+
+		if (pattern == null && allowed == null)
+			return;
+
+		String string = value instanceof Enum ? ((Enum<?>) value).name() : value.toString();
+
+		if (pattern != null && !pattern.matcher(string).matches())
+			violations.add(propertyName + ": '" + string + "' does not match " + pattern.pattern());
+		if (allowed != null && !allowed.contains(string))
+			violations.add(propertyName + ": '" + string + "' is not one of " + allowed);
+	}
+
+	/**
+	 * @return all attributes of this constraint, in the same form for equal constraints, e.g. for
+	 *         the schema of snapshots
+	 */
+	@Override
+	public String toString() {
+
+		String allowedValues = allowed == null ? "" : allowed.stream().sorted().collect(Collectors.joining(",", "[", "]"));
+		return "Constraint[" + format(min) + ".." + format(max) + ", size " + minSize + ".." + maxSize + ", pattern " + (pattern == null ? "" : pattern.pattern())
+				+ ", allowed " + allowedValues + "]";
+	}
+
+	private static String format(double bound) {
+		return bound == Math.rint(bound) && Math.abs(bound) < 1e15 ? Long.toString((long) bound) : Double.toString(bound);
+	}
+}
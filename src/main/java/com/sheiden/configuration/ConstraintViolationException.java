@@ -0,0 +1,36 @@
+package com.sheiden.configuration;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.sheiden.configuration.annotation.ConfigurationProperty;
+
+/**
+ * Reports all values of a read, which violate the constraints of their
+ * {@link ConfigurationProperty}, including the ones of nested configuration objects.
+ *
+ * @author Sebastian Heiden
+ */
+public class ConstraintViolationException extends IllegalArgumentException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final List<String> violations;
+
+	/**
+	 * @param configClass the class, that has been read
+	 * @param violations  a message for each violation, starting with the name of the property
+	 */
+	ConstraintViolationException(Class<?> configClass, List<String> violations) {
+		super(violations.size() + " invalid properties for class " + configClass.getName() + ":\n\t" + String.join("\n\t", violations));
+		this.violations = Collections.unmodifiableList(violations);
+	}
+
+	/**
+	 * @return a message for each violation, starting with the name of the property, e.g.
+	 *         <tt>server.port: 70000 is greater than 65535</tt>
+	 */
+	public List<String> getViolations() {
+		return violations;
+	}
+}
@@ -0,0 +1,190 @@
+package com.sheiden.configuration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.ImmutableSortedSet;
+
+import com.sheiden.configuration.BindingPlan.Kind;
+
+/**
+ * Creates the maps, lists and sets of fields according to their declared types, e.g. a
+ * {@link TreeMap} for a <tt>NavigableMap</tt> or an {@link EnumSet} for an <tt>EnumSet</tt>. Each
+ * container is created for the number of its elements, so that hash based containers are never
+ * rehashed while they are filled.<br/>
+ * Immutable collections of Guava are filled as mutable containers first and copied once they are
+ * complete.
+ *
+ * @author Sebastian Heiden
+ */
+final class Container {
+
+	/**
+	 * the containers of fields declared as {@link List}, {@link Set} or {@link Map}
+	 */
+	static final Container LIST = new Container(Kind.LIST, true, ArrayList::new, null);
+	static final Container SET = new Container(Kind.SET, true, size -> new HashSet<>(capacity(size)), null);
+	static final Container MAP = new Container(Kind.MAP, true, size -> new HashMap<>(capacity(size)), null);
+
+	final Kind kind;
+
+	/**
+	 * whether the container is the default one of its kind, i.e. an {@link ArrayList},
+	 * {@link HashSet} or {@link HashMap}
+	 */
+	final boolean plain;
+
+	private final IntFunction<Object> factory;
+
+	/**
+	 * turns a filled container into the declared type, <tt>null</tt> if it is of that type already
+	 */
+	private final UnaryOperator<Object> finisher;
+
+	private Container(Kind kind, boolean plain, IntFunction<Object> factory, UnaryOperator<Object> finisher) {
+		this.kind = kind;
+		this.plain = plain;
+		this.factory = factory;
+		this.finisher = finisher;
+	}
+
+	/**
+	 * @param type     the declared type of a field
+	 * @param argument the key type of maps or the element type of collections
+	 * @return the container for given type or <tt>null</tt>, if the type is no supported map, list or
+	 *         set
+	 * @throws IllegalStateException If an <tt>EnumMap</tt> or <tt>EnumSet</tt> has no enum argument
+	 */
+	static Container of(Class<?> type, Object argument) {
+
+		if (type == List.class || type == Collection.class)
+			return LIST;
+		if (type == Set.class)
+			return SET;
+		if (type == Map.class)
+			return MAP;
+
+		if (type == ArrayList.class)
+			return new Container(Kind.LIST, false, ArrayList::new, null);
+		if (type == LinkedList.class)
+			return new Container(Kind.LIST, false, size -> new LinkedList<>(), null);
+
+		if (type == HashSet.class)
+			return new Container(Kind.SET, false, size -> new HashSet<>(capacity(size)), null);
+		if (type == LinkedHashSet.class)
+			return new Container(Kind.SET, false, size -> new LinkedHashSet<>(capacity(size)), null);
+		if (type == SortedSet.class || type == NavigableSet.class || type == TreeSet.class)
+			return new Container(Kind.SET, false, size -> new TreeSet<>(), null);
+		if (type == EnumSet.class)
+			return enumSet(enumClass(type, argument));
+
+		if (type == HashMap.class)
+			return new Container(Kind.MAP, false, size -> new HashMap<>(capacity(size)), null);
+		if (type == LinkedHashMap.class)
+			return new Container(Kind.MAP, false, size -> new LinkedHashMap<>(capacity(size)), null);
+		if (type == SortedMap.class || type == NavigableMap.class || type == TreeMap.class)
+			return new Container(Kind.MAP, false, size -> new TreeMap<>(), null);
+		if (type == ConcurrentMap.class || type == ConcurrentHashMap.class)
+			return new Container(Kind.MAP, false, size -> new ConcurrentHashMap<>(capacity(size)), null);
+		if (type == EnumMap.class)
+			return enumMap(enumClass(type, argument));
+
+		// Guava is only loaded, if it is used by the configuration class
+		if (type.getName().startsWith("com.google.common.collect.Immutable"))
+			return Immutables.of(type);
+
+		return null;
+	}
+
+	/**
+	 * @param size the number of elements
+	 * @return a new, empty container for given number of elements, which is filled by the caller
+	 */
+	@SuppressWarnings("unchecked")
+	<C> C create(int size) {
+		return (C) factory.apply(size);
+	}
+
+	/**
+	 * @param container a container of this type, which has been filled
+	 * @return the value of the field
+	 */
+	Object finish(Object container) {
+		return finisher == null ? container : finisher.apply(container);
+	}
+
+	/**
+	 * @return the initial capacity of a hash based container, which holds <tt>size</tt> elements
+	 *         without being resized
+	 */
+	static int capacity(int size) {
+		return size < 3 ? size + 1 : (int) (size / 0.75F + 1F);
+	}
+
+	private static Class<?> enumClass(Class<?> type, Object argument) {
+
+		if (!(argument instanceof Class) || !((Class<?>) argument).isEnum())
+			throw new IllegalStateException(type.getSimpleName() + " requires an enum type instead of " + argument);
+
+		return (Class<?>) argument;
+	}
+
+	private static <E extends Enum<E>> Container enumSet(Class<?> elementClass) {
+		@SuppressWarnings("unchecked")
+		Class<E> enumClass = (Class<E>) elementClass;
+		return new Container(Kind.SET, false, size -> EnumSet.noneOf(enumClass), null);
+	}
+
+	private static <E extends Enum<E>> Container enumMap(Class<?> keyClass) {
+		@SuppressWarnings("unchecked")
+		Class<E> enumClass = (Class<E>) keyClass;
+		return new Container(Kind.MAP, false, size -> new EnumMap<>(enumClass), null);
+	}
+
+	/**
+	 * The immutable collections of Guava
+	 */
+	private static final class Immutables {
+
+		@SuppressWarnings("unchecked")
+		static Container of(Class<?> type) {
+
+			if (type == ImmutableList.class)
+				return new Container(Kind.LIST, false, ArrayList::new, list -> ImmutableList.copyOf((Collection<Object>) list));
+			if (type == ImmutableSet.class)
+				return new Container(Kind.SET, false, size -> new LinkedHashSet<>(capacity(size)), set -> ImmutableSet.copyOf((Collection<Object>) set));
+			if (type == ImmutableSortedSet.class)
+				return new Container(Kind.SET, false, size -> new TreeSet<>(), set -> ImmutableSortedSet.copyOfSorted((SortedSet<Object>) set));
+			if (type == ImmutableMap.class)
+				return new Container(Kind.MAP, false, size -> new LinkedHashMap<>(capacity(size)), map -> ImmutableMap.copyOf((Map<Object, Object>) map));
+			if (type == ImmutableSortedMap.class)
+				return new Container(Kind.MAP, false, size -> new TreeMap<>(), map -> ImmutableSortedMap.copyOfSorted((SortedMap<Object, Object>) map));
+
+			return null;
+		}
+	}
+}
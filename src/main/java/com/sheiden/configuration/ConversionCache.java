@@ -0,0 +1,98 @@
+package com.sheiden.configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of the results of a single class mapping, so that repeated property values (e.g.
+ * <tt>true</tt>, <tt>1000</tt> or common host names) are converted only once and share one
+ * instance. Only class mappings with immutable results may be cached.<br/>
+ * The cache is split into stripes with separate locks, each evicting its least recently used
+ * entries, so that concurrent reads rarely contend.
+ *
+ * @author Sebastian Heiden
+ * @see ConfigurationReader.Builder#conversionCache(int, Class...)
+ */
+final class ConversionCache implements Function<String, Object> {
+
+	private static final int STRIPES = 16;
+
+	private final Function<String, ?> mapper;
+
+	private final Stripe[] stripes;
+
+	/**
+	 * @param mapper      the class mapping, whose results are cached
+	 * @param maximumSize the maximum number of cached results
+	 */
+	ConversionCache(Function<String, ?> mapper, int maximumSize) {
+
+		this.mapper = mapper;
+
+		int stripeCount = Math.min(STRIPES, Integer.highestOneBit(maximumSize));
+		int stripeSize = Math.max(1, maximumSize / stripeCount);
+
+		this.stripes = new Stripe[stripeCount];
+		for (int i = 0; i < stripeCount; i++)
+			stripes[i] = new Stripe(stripeSize);
+	}
+
+	@Override
+	public Object apply(String value) {
+
+		int hash = value.hashCode();
+		Stripe stripe = stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+
+		synchronized (stripe) {
+			Object result = stripe.get(value);
+			if (result != null)
+				return result;
+		}
+
+		// converts outside of the lock, concurrent conversions of the same value keep the first result
+		Object result = mapper.apply(value);
+		if (result == null)
+			return null;
+
+		synchronized (stripe) {
+			Object previous = stripe.putIfAbsent(value, result);
+			return previous != null ? previous : result;
+		}
+	}
+
+	/**
+	 * @return the number of cached results
+	 */
+	int size() {
+
+		int size = 0;
+		for (Stripe stripe : stripes) {
+			synchronized (stripe) {
+				size += stripe.size();
+			}
+		}
+
+		return size;
+	}
+
+	/**
+	 * A part of the cache, ordered from the least to the most recently used entry
+	 */
+	private static final class Stripe extends LinkedHashMap<String, Object> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int maximumSize;
+
+		Stripe(int maximumSize) {
+			super(16, 0.75F, true);
+			this.maximumSize = maximumSize;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+			return size() > maximumSize;
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package com.sheiden.configuration;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * A generic type, which is created by a {@link ConfigurationBinder generated binder} instead of
+ * reflection. Equals and hash code are compatible with the generic types of the JDK.
+ *
+ * @author Sebastian Heiden
+ */
+final class GenericType implements ParameterizedType {
+
+	private final Class<?> rawType;
+
+	private final Type[] typeArguments;
+
+	GenericType(Class<?> rawType, Type[] typeArguments) {
+		this.rawType = rawType;
+		this.typeArguments = typeArguments.clone();
+	}
+
+	@Override
+	public Type[] getActualTypeArguments() {
+		return typeArguments.clone();
+	}
+
+	@Override
+	public Type getRawType() {
+		return rawType;
+	}
+
+	@Override
+	public Type getOwnerType() {
+		return rawType.getDeclaringClass();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+
+		if (!(obj instanceof ParameterizedType))
+			return false;
+
+		ParameterizedType other = (ParameterizedType) obj;
+		return rawType.equals(other.getRawType()) && Objects.equals(getOwnerType(), other.getOwnerType())
+				&& Arrays.equals(typeArguments, other.getActualTypeArguments());
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(typeArguments) ^ Objects.hashCode(getOwnerType()) ^ rawType.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return rawType.getName() + Arrays.stream(typeArguments).map(Type::getTypeName).collect(Collectors.joining(", ", "<", ">"));
+	}
+}
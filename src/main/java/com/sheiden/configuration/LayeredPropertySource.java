@@ -0,0 +1,103 @@
+package com.sheiden.configuration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Combines several {@link PropertySource}s in order of their precedence, without building a merged
+ * copy: a property is looked up layer by layer until the first layer, that contains it. Prefix
+ * queries merge the sorted names of all layers, so that map entries may be spread across layers.
+ *
+ * @author Sebastian Heiden
+ * @see PropertySource#layered(PropertySource...)
+ */
+public final class LayeredPropertySource implements PropertySource {
+
+	private final PropertySource[] layers;
+
+	/**
+	 * @param layers the sources, starting with the highest precedence
+	 */
+	public LayeredPropertySource(List<? extends PropertySource> layers) {
+
+		this.layers = layers.toArray(new PropertySource[0]);
+
+		for (PropertySource layer : this.layers) {
+			if (layer == null)
+				throw new IllegalArgumentException("Layers must not be null");
+		}
+	}
+
+	@Override
+	public String getProperty(String key) {
+
+		for (PropertySource layer : layers) {
+			String value = layer.getProperty(key);
+			if (value != null)
+				return value;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Finds all property names of all layers, that start with given <tt>prefix</tt>, by merging the
+	 * sorted names of the layers in a single pass.
+	 *
+	 * @param prefix the prefix of the property names
+	 * @return a sorted, unmodifiable list of the distinct matching property names
+	 */
+	@Override
+	public List<String> keysWithPrefix(String prefix) {
+
+		if (layers.length == 1)
+			return layers[0].keysWithPrefix(prefix);
+
+		List<List<String>> lists = new ArrayList<>(layers.length);
+		int size = 0;
+
+		for (PropertySource layer : layers) {
+			List<String> keys = layer.keysWithPrefix(prefix);
+			if (!keys.isEmpty()) {
+				lists.add(keys);
+				size += keys.size();
+			}
+		}
+
+		if (lists.isEmpty())
+			return Collections.emptyList();
+
+		if (lists.size() == 1)
+			return lists.get(0);
+
+		// k-way merge of the sorted names, the number of layers is small
+		int[] positions = new int[lists.size()];
+		List<String> merged = new ArrayList<>(size);
+
+		while (true) {
+
+			String next = null;
+			for (int i = 0; i < positions.length; i++) {
+				List<String> keys = lists.get(i);
+				if (positions[i] < keys.size()) {
+					String key = keys.get(positions[i]);
+					if (next == null || key.compareTo(next) < 0)
+						next = key;
+				}
+			}
+
+			if (next == null)
+				return Collections.unmodifiableList(merged);
+
+			merged.add(next);
+
+			// skips the same name in all other layers
+			for (int i = 0; i < positions.length; i++) {
+				List<String> keys = lists.get(i);
+				if (positions[i] < keys.size() && keys.get(positions[i]).equals(next))
+					positions[i]++;
+			}
+		}
+	}
+}
@@ -0,0 +1,360 @@
+package com.sheiden.configuration;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import com.sheiden.configuration.ConfigurationLogger.Level;
+
+/**
+ * A configuration object, that is reloaded whenever its properties file changes.<br/>
+ * The file is watched by a {@link WatchService}. Change events are debounced, so that a file, which
+ * is written in several steps, is read only once. If the content did not change, nothing is bound.
+ * Otherwise a new configuration object is bound on a background thread and published atomically:
+ * {@link #get()} never blocks and always returns a completely bound object. Only fields, which are
+ * affected by changed properties, are read again (see
+ * {@link ConfigurationReader#rebind(Object, Properties, Properties)}).
+ *
+ * <pre>
+ * try (LiveConfiguration&lt;MyConfig&gt; live = ConfigurationReader.getInstance().watch("my.properties", MyConfig.class)) {
+ * 	MyConfig current = live.get();
+ * }
+ * </pre>
+ *
+ * @param <M> the type of the configuration class
+ * @author Sebastian Heiden
+ * @see ConfigurationReader#watch(String, Class)
+ */
+public final class LiveConfiguration<M> implements AutoCloseable {
+
+	/**
+	 * The default time to wait for further change events before the file is read
+	 */
+	public static final long DEFAULT_DEBOUNCE_MILLIS = 200;
+
+	/**
+	 * A file, which has not been modified for this time, when it was read, can not have been
+	 * modified unnoticed within the resolution of the modification time
+	 */
+	private static final long MODIFICATION_TIME_RESOLUTION_MILLIS = 2000;
+
+	private final ConfigurationReader reader;
+	private final Class<M> configClass;
+	private final Path file;
+	private final long debounceMillis;
+
+	/**
+	 * flattens the configuration objects for the snapshots of the prefix listeners
+	 */
+	private final ConfigurationWriter writer;
+
+	private final WatchService watchService;
+	private final Thread watcher;
+
+	private final List<Consumer<? super M>> listeners = new CopyOnWriteArrayList<>();
+
+	private final List<PrefixListener<M>> prefixListeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * The current configuration object, which is replaced as a whole on each reload
+	 */
+	private volatile M current;
+
+	/**
+	 * The properties of the current configuration object
+	 */
+	private Properties currentProperties;
+
+	/**
+	 * The snapshot of the current configuration object, only taken once a listener for a prefix has
+	 * been added
+	 */
+	private ConfigurationSnapshot currentSnapshot;
+
+	// state of the last read, only accessed by the thread, which reloads the file
+	private long lastModified;
+	private long lastSize;
+	private long lastRead;
+	private long lastHash;
+
+	/**
+	 * Reads the given file and starts watching it for changes.
+	 *
+	 * @throws IllegalStateException If the file can not be read or watched
+	 * @see ConfigurationReader#watch(String, Class, long)
+	 */
+	LiveConfiguration(ConfigurationReader reader, String pathToPropertiesFile, Class<M> configClass, long debounceMillis) {
+
+		this.reader = reader;
+		this.configClass = configClass;
+		this.file = Paths.get(pathToPropertiesFile.replaceFirst("^~", System.getProperty("user.home"))).toAbsolutePath();
+		this.debounceMillis = debounceMillis;
+		this.writer = reader.getWriter();
+
+		if (!Files.isRegularFile(file))
+			throw new IllegalStateException("Properties file " + file + " does not exist or is no file");
+
+		// registered before the initial read, so that no change after the read is missed
+		try {
+			this.watchService = file.getFileSystem().newWatchService();
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to watch properties file " + file, e);
+		}
+
+		try {
+			file.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+
+			// initial read, errors are passed to the caller
+			reload();
+
+		} catch (IOException e) {
+			closeWatchService(e);
+			throw new IllegalStateException("Unable to watch properties file " + file, e);
+		} catch (RuntimeException e) {
+			closeWatchService(e);
+			throw e;
+		}
+
+		this.watcher = new Thread(this::watch, "configuration-watcher-" + file.getFileName());
+		this.watcher.setDaemon(true);
+		this.watcher.start();
+	}
+
+	/**
+	 * Closes the watch service after the constructor failed.
+	 *
+	 * @param cause the error of the constructor, to which errors of the close are added
+	 */
+	private void closeWatchService(Exception cause) {
+		try {
+			watchService.close();
+		} catch (IOException e) {
+			cause.addSuppressed(e);
+		}
+	}
+
+	/**
+	 * @return the current configuration object, never <tt>null</tt>
+	 */
+	public M get() {
+		return current;
+	}
+
+	/**
+	 * Adds a listener, which is called on the background thread with each newly published
+	 * configuration object.
+	 *
+	 * @param listener the listener to add
+	 */
+	public void addListener(Consumer<? super M> listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Adds a listener, which is called on the background thread with each newly published
+	 * configuration object, whose effective configuration changed at or below given prefix, e.g.
+	 * <tt>pool</tt> for <tt>pool.size</tt>. The changes are determined by the
+	 * {@link ConfigurationSnapshot snapshots} of both configuration objects, so that listeners of
+	 * unaffected subsystems are not called.
+	 *
+	 * @param prefix   the name of a property or a name space, the empty prefix matches all properties
+	 * @param listener the listener to add, which receives the new configuration object and all its
+	 *                 differences to the previous one
+	 */
+	public synchronized void addListener(String prefix, BiConsumer<? super M, ConfigurationDiff> listener) {
+
+		if (currentSnapshot == null)
+			currentSnapshot = ConfigurationSnapshot.of(writer, current);
+
+		prefixListeners.add(new PrefixListener<>(prefix, listener));
+	}
+
+	/**
+	 * @return the watched properties file
+	 */
+	public Path getFile() {
+		return file;
+	}
+
+	/**
+	 * Stops watching the properties file. The last configuration object stays available.
+	 */
+	@Override
+	public void close() {
+
+		try {
+			watchService.close();
+		} catch (IOException e) {
+			reader.getLogger().log(Level.WARN, () -> "Unable to close watch service of " + file + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Loop of the background thread: waits for events of the watched file, debounces them and
+	 * reloads the file.
+	 */
+	private void watch() {
+
+		try {
+			while (true) {
+
+				if (!awaitChange(watchService.take()))
+					continue;
+
+				// debounce: wait until no further events of the file occur
+				WatchKey key;
+				while ((key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null)
+					awaitChange(key);
+
+				try {
+					boolean published = reload();
+					reader.getMetrics().reloaded(file.toString(), published);
+				} catch (RuntimeException e) {
+					reader.getMetrics().reloadFailed(file.toString(), e);
+					reader.getLogger().log(Level.ERROR, () -> "Unable to reload properties file " + file + ": " + e.getMessage(), e);
+				}
+			}
+
+		} catch (ClosedWatchServiceException | InterruptedException e) {
+			// closed
+		}
+	}
+
+	/**
+	 * Consumes the events of given key.
+	 *
+	 * @return true, if any event affects the watched file
+	 */
+	private boolean awaitChange(WatchKey key) {
+
+		boolean changed = false;
+		for (WatchEvent<?> event : key.pollEvents()) {
+			Object context = event.context();
+			if (context == null || file.getFileName().equals(context))
+				changed = true;
+		}
+
+		key.reset();
+		return changed;
+	}
+
+	/**
+	 * Reads the properties file and publishes a new configuration object, if the content changed.
+	 *
+	 * @return true, if a new configuration object was published
+	 * @throws IllegalStateException If the file can not be read
+	 */
+	synchronized boolean reload() {
+
+		M published;
+		try {
+			long modified = Files.getLastModifiedTime(file).toMillis();
+			long size = Files.size(file);
+
+			// the file is unchanged, if it did not change after it has been stable for a while
+			if (current != null && modified == lastModified && size == lastSize && lastRead - modified > MODIFICATION_TIME_RESOLUTION_MILLIS)
+				return false;
+
+			long read = System.currentTimeMillis();
+			byte[] content = Files.readAllBytes(file);
+
+			CRC32 crc = new CRC32();
+			crc.update(content);
+			long hash = crc.getValue();
+
+			lastModified = modified;
+			lastSize = size;
+			lastRead = read;
+
+			if (current != null && hash == lastHash)
+				return false;
+
+			Properties properties = new Properties();
+			properties.load(new ByteArrayInputStream(content));
+
+			lastHash = hash;
+
+			if (current == null) {
+				current = reader.read(properties, configClass);
+				currentProperties = properties;
+				return true;
+			}
+
+			// only fields, which are affected by changed properties, are read again
+			Rebinding<M> rebinding = reader.rebind(current, currentProperties, properties);
+			currentProperties = properties;
+
+			if (!rebinding.isChanged())
+				return false;
+
+			published = rebinding.getConfiguration();
+
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to read properties file " + file, e);
+		}
+
+		// the diff is computed before publishing, so that the snapshot always belongs to the current
+		// configuration object, whatever the listeners do
+		ConfigurationDiff diff = null;
+		if (currentSnapshot != null) {
+			ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(writer, published);
+			diff = currentSnapshot.diff(snapshot);
+			currentSnapshot = snapshot;
+		}
+
+		current = published;
+
+		for (Consumer<? super M> listener : listeners)
+			callListener(() -> listener.accept(published));
+
+		if (diff != null) {
+			ConfigurationDiff changes = diff;
+			for (PrefixListener<M> listener : prefixListeners) {
+				if (changes.affects(listener.prefix))
+					callListener(() -> listener.listener.accept(published, changes));
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Calls a listener. The configuration object has been published already, so that a failing
+	 * listener neither fails the reload nor keeps other listeners from being called.
+	 */
+	private void callListener(Runnable call) {
+		try {
+			call.run();
+		} catch (RuntimeException e) {
+			reader.getLogger().log(Level.ERROR, () -> "Listener of properties file " + file + " failed: " + e.getMessage(), e);
+		}
+	}
+
+	private static final class PrefixListener<M> {
+
+		final String prefix;
+
+		final BiConsumer<? super M, ConfigurationDiff> listener;
+
+		PrefixListener(String prefix, BiConsumer<? super M, ConfigurationDiff> listener) {
+			this.prefix = prefix;
+			this.listener = listener;
+		}
+	}
+}
@@ -0,0 +1,660 @@
+package com.sheiden.configuration;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import com.sheiden.configuration.ConfigurationLogger.Level;
+
+/**
+ * Properties of a file, which is memory mapped and scanned once for the positions of all keys and
+ * values. Nothing is decoded during the scan: a value is converted into a string not until it is
+ * requested, so properties, which are not read by any configuration class, cost just their
+ * positions.<br/>
+ * The file is parsed with the same rules as {@link Properties#load(java.io.InputStream)}: ISO 8859-1
+ * encoding, comments, line continuations, escape sequences and the last of duplicate keys wins.
+ * <p>
+ * The properties must be {@link #close() closed}, before the file may change: a mapped file, which
+ * is truncated while it is read, makes the next access fail with an {@link InternalError}. Hence a
+ * mapping must never outlive the read, which has opened it. Since Java 17 offers no public API to
+ * release a mapping, it is released by <tt>sun.misc.Unsafe.invokeCleaner</tt>. If that is not
+ * available, files are not mapped at all, but read into the heap.
+ * </p>
+ *
+ * @author Sebastian Heiden
+ */
+final class MappedProperties implements PropertySource, AutoCloseable {
+
+	/**
+	 * Files below this size are read into the heap, since mapping them costs more than copying
+	 */
+	private static final long MAPPING_THRESHOLD = 256 * 1024;
+
+	/**
+	 * Unmaps a mapped buffer immediately, <tt>null</tt> if the JDK does not support it. Then no file
+	 * is mapped, since the garbage collector may release a mapping long after its read.
+	 */
+	private static final MethodHandle UNMAPPER;
+
+	/**
+	 * the reason, why there is no {@link #UNMAPPER}, <tt>null</tt> if there is one
+	 */
+	private static final Exception UNMAPPER_FAILURE;
+
+	static {
+		MethodHandle unmapper = null;
+		Exception failure = null;
+		try {
+			unmapper = findUnmapper();
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			failure = e;
+		}
+
+		UNMAPPER = unmapper;
+		UNMAPPER_FAILURE = failure;
+	}
+
+	/**
+	 * the content of the file, <tt>null</tt> after the properties have been closed
+	 */
+	private ByteBuffer buffer;
+
+	// positions of the entries in the buffer, the end of a key is the start of its separator
+	private final int[] keyStarts;
+	private final int[] keyEnds;
+	private final int[] valueStarts;
+	private final int[] valueEnds;
+
+	/**
+	 * the decoded keys, eagerly set for keys with escape sequences only
+	 */
+	private final String[] keys;
+
+	/**
+	 * the decoded values, set on first access or eagerly for values with unicode escape sequences
+	 */
+	private final String[] values;
+
+	/**
+	 * open addressing hash table of entry indices + 1, indexed by the hash code of the key
+	 */
+	private final int[] table;
+	private final int[] hashes;
+
+	/**
+	 * the sorted property names, which are collected on the first prefix query
+	 */
+	private final PropertyIndex index = new PropertyIndex(this::getProperty, this::keySet);
+
+	private MappedProperties(ByteBuffer buffer, Scanner scanner) {
+
+		this.buffer = buffer;
+		this.keyStarts = scanner.keyStarts;
+		this.keyEnds = scanner.keyEnds;
+		this.valueStarts = scanner.valueStarts;
+		this.valueEnds = scanner.valueEnds;
+		this.keys = new String[scanner.size];
+		this.values = new String[scanner.size];
+		this.hashes = new int[scanner.size];
+
+		int capacity = Integer.highestOneBit(Math.max(scanner.size, 1) * 2) * 2;
+		this.table = new int[capacity];
+
+		for (int i = 0; i < scanner.size; i++)
+			insert(i);
+
+		// malformed unicode escapes fail on load like in Properties
+		BitSet unicodeValues = scanner.unicodeValues;
+		for (int i = unicodeValues.nextSetBit(0); i >= 0; i = unicodeValues.nextSetBit(i + 1))
+			values[i] = decode(valueStarts[i], valueEnds[i]);
+	}
+
+	/**
+	 * Maps and scans given properties file. Small files are read instead.
+	 *
+	 * @param file   the properties file
+	 * @param logger receives a warning, if a large file can not be mapped
+	 * @return the scanned properties
+	 * @throws IOException              If the file can not be read
+	 * @throws IllegalArgumentException If the file contains a malformed \\uxxxx escape sequence
+	 */
+	static MappedProperties open(Path file, ConfigurationLogger logger) throws IOException {
+		return parse(load(file, logger));
+	}
+
+	/**
+	 * Maps given file into memory. Small files are read into the heap instead, as well as large files,
+	 * if mappings can not be released by {@link #unmap(ByteBuffer)}.
+	 *
+	 * @param file   the file to load
+	 * @param logger receives a warning, if a large file can not be mapped
+	 * @return the content of the file, from position 0 to its limit
+	 * @throws IOException If the file can not be read
+	 */
+	static ByteBuffer load(Path file, ConfigurationLogger logger) throws IOException {
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+			long size = channel.size();
+			if (size >= MAPPING_THRESHOLD) {
+
+				// the mapping stays valid after the channel is closed
+				if (UNMAPPER != null)
+					return channel.map(MapMode.READ_ONLY, 0, size);
+
+				logger.log(Level.WARN, () -> "Unable to release memory mapped files, " + file + " is read into the heap", UNMAPPER_FAILURE);
+			}
+
+			ByteBuffer buffer = ByteBuffer.allocate((int) size);
+			while (buffer.hasRemaining() && channel.read(buffer) >= 0)
+				;
+
+			buffer.flip();
+			return buffer;
+		}
+	}
+
+	/**
+	 * Scans given content of a properties file.
+	 *
+	 * @param buffer the content of a properties file, from position 0 to its limit
+	 * @return the scanned properties
+	 * @throws IllegalArgumentException If the content contains a malformed \\uxxxx escape sequence
+	 */
+	static MappedProperties parse(ByteBuffer buffer) {
+
+		Scanner scanner = new Scanner(buffer);
+		scanner.scan();
+
+		return new MappedProperties(buffer, scanner);
+	}
+
+	/**
+	 * Releases the content of the file. Afterwards each access fails with an
+	 * {@link IllegalStateException}.
+	 */
+	@Override
+	public void close() {
+
+		ByteBuffer buffer = this.buffer;
+		if (buffer == null)
+			return;
+
+		this.buffer = null;
+		unmap(buffer);
+	}
+
+	/**
+	 * Releases given buffer, as returned by {@link #load(Path, ConfigurationLogger)}. Mapped buffers
+	 * are unmapped at once, so the buffer must not be accessed any more.
+	 *
+	 * @param buffer the content of a file
+	 * @throws IllegalStateException If a mapped buffer can not be released
+	 */
+	static void unmap(ByteBuffer buffer) {
+
+		// without unmapper, no file is mapped
+		if (!(buffer instanceof MappedByteBuffer))
+			return;
+
+		try {
+			UNMAPPER.invokeExact(buffer);
+		} catch (Throwable t) {
+			throw new IllegalStateException("Unable to release memory mapped file", t);
+		}
+	}
+
+	private static MethodHandle findUnmapper() throws ReflectiveOperationException {
+
+		Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+		Field field = unsafeClass.getDeclaredField("theUnsafe");
+		field.setAccessible(true);
+
+		MethodHandle invokeCleaner = MethodHandles.lookup().findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class));
+		return invokeCleaner.bindTo(field.get(null));
+	}
+
+	/**
+	 * @return the number of distinct properties
+	 */
+	int size() {
+
+		int size = 0;
+		for (int slot : table) {
+			if (slot != 0)
+				size++;
+		}
+
+		return size;
+	}
+
+	@Override
+	public String getProperty(String key) {
+
+		checkOpen();
+
+		int entry = find(key);
+		if (entry < 0)
+			return null;
+
+		String value = values[entry];
+		if (value == null) {
+			value = decode(valueStarts[entry], valueEnds[entry]);
+			values[entry] = value;
+		}
+
+		return value;
+	}
+
+	/**
+	 * Finds all property names, that start with given <tt>prefix</tt> in O(log n).
+	 *
+	 * @param prefix the prefix of the property names
+	 * @return a sorted, unmodifiable view of the matching property names
+	 */
+	@Override
+	public List<String> keysWithPrefix(String prefix) {
+
+		checkOpen();
+
+		return index.keysWithPrefix(prefix);
+	}
+
+	private void checkOpen() {
+		if (buffer == null)
+			throw new IllegalStateException("The properties file has been closed");
+	}
+
+	/**
+	 * @return the distinct property names
+	 */
+	private Set<String> keySet() {
+
+		Set<String> keys = new HashSet<>(table.length);
+		for (int slot : table) {
+			if (slot != 0)
+				keys.add(key(slot - 1));
+		}
+
+		return keys;
+	}
+
+	/**
+	 * Adds given entry to the hash table or replaces a previous entry with the same key.
+	 */
+	private void insert(int entry) {
+
+		int hash;
+		if (hasEscapes(keyStarts[entry], keyEnds[entry])) {
+			keys[entry] = decode(keyStarts[entry], keyEnds[entry]);
+			hash = keys[entry].hashCode();
+		} else {
+			hash = hash(keyStarts[entry], keyEnds[entry]);
+		}
+
+		hashes[entry] = hash;
+
+		int mask = table.length - 1;
+		for (int slot = mix(hash) & mask;; slot = (slot + 1) & mask) {
+
+			int other = table[slot] - 1;
+			if (other < 0 || hashes[other] == hash && key(other).equals(key(entry))) {
+				table[slot] = entry + 1;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * @return the index of the entry with given key or -1
+	 */
+	private int find(String key) {
+
+		int hash = key.hashCode();
+		int mask = table.length - 1;
+
+		for (int slot = mix(hash) & mask;; slot = (slot + 1) & mask) {
+
+			int entry = table[slot] - 1;
+			if (entry < 0)
+				return -1;
+
+			if (hashes[entry] == hash && keyEquals(entry, key))
+				return entry;
+		}
+	}
+
+	private boolean keyEquals(int entry, String key) {
+
+		if (keys[entry] != null)
+			return keys[entry].equals(key);
+
+		int start = keyStarts[entry];
+		if (keyEnds[entry] - start != key.length())
+			return false;
+
+		for (int i = 0; i < key.length(); i++) {
+			if ((buffer.get(start + i) & 0xFF) != key.charAt(i))
+				return false;
+		}
+
+		return true;
+	}
+
+	private String key(int entry) {
+
+		if (keys[entry] == null)
+			keys[entry] = decode(keyStarts[entry], keyEnds[entry]);
+
+		return keys[entry];
+	}
+
+	/**
+	 * @return the hash code of the string, the given bytes without escape sequences decode to
+	 */
+	private int hash(int start, int end) {
+
+		int hash = 0;
+		for (int i = start; i < end; i++)
+			hash = 31 * hash + (buffer.get(i) & 0xFF);
+
+		return hash;
+	}
+
+	/**
+	 * spreads the higher bits of a hash code, since the table is indexed by the lower bits
+	 */
+	private static int mix(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	private boolean hasEscapes(int start, int end) {
+
+		for (int i = start; i < end; i++) {
+			if (buffer.get(i) == '\\')
+				return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Decodes the given bytes of a key or a value: line continuations are removed with the leading
+	 * white space of the following line and escape sequences are converted.
+	 */
+	private String decode(int start, int end) {
+
+		char[] chars = new char[end - start];
+		int length = 0;
+		boolean escaped = false;
+
+		// join the logical line
+		int i = start;
+		while (i < end) {
+
+			char c = (char) (buffer.get(i++) & 0xFF);
+			if (c == '\\' && !escaped && i < end && isLineEnd(buffer.get(i))) {
+				if (buffer.get(i++) == '\r' && i < end && buffer.get(i) == '\n')
+					i++;
+				while (i < end && isWhitespace(buffer.get(i)))
+					i++;
+				continue;
+			}
+
+			escaped = c == '\\' && !escaped;
+			chars[length++] = c;
+		}
+
+		if (!hasEscapes(start, end))
+			return new String(chars, 0, length);
+
+		StringBuilder builder = new StringBuilder(length);
+
+		i = 0;
+		while (i < length) {
+
+			char c = chars[i++];
+			if (c != '\\') {
+				builder.append(c);
+				continue;
+			}
+
+			// a trailing backslash at the end of the file is dropped
+			if (i == length)
+				break;
+
+			c = chars[i++];
+			switch (c) {
+			case 'u':
+				builder.append(decodeUnicode(chars, i, length));
+				i += 4;
+				break;
+			case 't':
+				builder.append('\t');
+				break;
+			case 'n':
+				builder.append('\n');
+				break;
+			case 'r':
+				builder.append('\r');
+				break;
+			case 'f':
+				builder.append('\f');
+				break;
+			default:
+				builder.append(c);
+			}
+		}
+
+		return builder.toString();
+	}
+
+	private static char decodeUnicode(char[] chars, int start, int end) {
+
+		if (end - start < 4)
+			throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+
+		int value = 0;
+		for (int i = start; i < start + 4; i++) {
+			int digit = Character.digit(chars[i], 16);
+			if (digit < 0)
+				throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+
+			value = (value << 4) + digit;
+		}
+
+		return (char) value;
+	}
+
+	private static boolean isWhitespace(byte b) {
+		return b == ' ' || b == '\t' || b == '\f';
+	}
+
+	private static boolean isLineEnd(byte b) {
+		return b == '\n' || b == '\r';
+	}
+
+	/**
+	 * Finds the positions of all keys and values in a single pass over the bytes.
+	 */
+	private static final class Scanner {
+
+		private final ByteBuffer buffer;
+		private final int limit;
+
+		private int position;
+
+		private int size;
+		private int[] keyStarts = new int[64];
+		private int[] keyEnds = new int[64];
+		private int[] valueStarts = new int[64];
+		private int[] valueEnds = new int[64];
+		private final BitSet unicodeValues = new BitSet();
+
+		Scanner(ByteBuffer buffer) {
+			this.buffer = buffer;
+			this.limit = buffer.limit();
+		}
+
+		void scan() {
+
+			while (position < limit) {
+
+				skipWhitespace();
+				if (position == limit)
+					break;
+
+				byte b = buffer.get(position);
+				if (isLineEnd(b)) {
+					position++;
+				} else if (b == '\\' && position + 1 < limit && isLineEnd(buffer.get(position + 1))) {
+					// a continued empty line, the next line may still be a comment
+					position += 2;
+
+					// but a line end, which is the last byte of the file, ends an empty key like in Properties
+					if (position == limit)
+						add(position, position, position, position);
+					else if (buffer.get(position - 1) == '\r' && buffer.get(position) == '\n')
+						position++;
+				} else if (b == '#' || b == '!') {
+					// comments end at the end of the line, even if it ends with a backslash
+					while (position < limit && !isLineEnd(buffer.get(position)))
+						position++;
+				} else {
+					scanEntry();
+				}
+			}
+		}
+
+		/**
+		 * Scans a logical line, that starts at the current position.
+		 */
+		private void scanEntry() {
+
+			int keyStart = position;
+			int keyEnd = -1;
+			boolean hasSeparator = false;
+			boolean precedingBackslash = false;
+
+			// key: ends at the first unescaped separator or white space
+			while (position < limit) {
+
+				byte b = buffer.get(position);
+				if (isLineEnd(b)) {
+					if (!precedingBackslash || !continueLine())
+						break;
+
+					precedingBackslash = false;
+					continue;
+				}
+
+				if (!precedingBackslash && (b == '=' || b == ':' || isWhitespace(b))) {
+					keyEnd = position++;
+					hasSeparator = b != ' ' && b != '\t' && b != '\f';
+					break;
+				}
+
+				precedingBackslash = b == '\\' && !precedingBackslash;
+				position++;
+			}
+
+			if (keyEnd < 0) {
+				add(keyStart, position, position, position);
+				return;
+			}
+
+			// separator: white space and at most one '=' or ':'
+			while (position < limit) {
+
+				byte b = buffer.get(position);
+				if (isWhitespace(b)) {
+					position++;
+				} else if (!hasSeparator && (b == '=' || b == ':')) {
+					hasSeparator = true;
+					position++;
+				} else if (b == '\\' && position + 1 < limit && isLineEnd(buffer.get(position + 1))) {
+					position++;
+					if (!continueLine())
+						break;
+				} else {
+					break;
+				}
+			}
+
+			// value: ends at the end of the logical line
+			int valueStart = position;
+			precedingBackslash = false;
+
+			while (position < limit) {
+
+				byte b = buffer.get(position);
+				if (isLineEnd(b)) {
+					if (!precedingBackslash || !continueLine())
+						break;
+
+					precedingBackslash = false;
+					continue;
+				}
+
+				if (precedingBackslash && b == 'u')
+					unicodeValues.set(size);
+
+				precedingBackslash = b == '\\' && !precedingBackslash;
+				position++;
+			}
+
+			add(keyStart, keyEnd, valueStart, position);
+		}
+
+		/**
+		 * Skips the line end at the current position and the leading white space of the next line.
+		 *
+		 * @return true, if the logical line continues on the next line
+		 */
+		private boolean continueLine() {
+
+			if (buffer.get(position++) == '\r' && position < limit && buffer.get(position) == '\n')
+				position++;
+
+			skipWhitespace();
+
+			// an empty line ends the logical line
+			return position < limit && !isLineEnd(buffer.get(position));
+		}
+
+		private void skipWhitespace() {
+			while (position < limit && isWhitespace(buffer.get(position)))
+				position++;
+		}
+
+		private void add(int keyStart, int keyEnd, int valueStart, int valueEnd) {
+
+			if (size == keyStarts.length) {
+				keyStarts = Arrays.copyOf(keyStarts, size * 2);
+				keyEnds = Arrays.copyOf(keyEnds, size * 2);
+				valueStarts = Arrays.copyOf(valueStarts, size * 2);
+				valueEnds = Arrays.copyOf(valueEnds, size * 2);
+			}
+
+			keyStarts[size] = keyStart;
+			keyEnds[size] = keyEnd;
+			valueStarts[size] = valueStart;
+			valueEnds[size] = valueEnd;
+			size++;
+		}
+	}
+}
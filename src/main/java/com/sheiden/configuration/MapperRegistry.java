@@ -0,0 +1,203 @@
+package com.sheiden.configuration;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Resolves the class mapping of any field type, element type or value type, based on the registered
+ * class mappings of a reader:
+ * <ul>
+ * <li>registered types are mapped by their class mappings</li>
+ * <li>enums are mapped by the names of their constants</li>
+ * <li>arrays, lists and sets are split at commas and each element is mapped by the class mapping of
+ * its type, recursively, e.g. <tt>BigDecimal[]</tt> or the values of <tt>Map&lt;String,
+ * List&lt;Long&gt;&gt;</tt></li>
+ * <li>the immutable primitive arrays of Guava, e.g. <tt>ImmutableIntArray</tt>, are parsed like
+ * primitive arrays, without boxing their elements</li>
+ * <li>a supertype, e.g. <tt>CharSequence</tt>, is mapped by the class mapping of the only
+ * registered type, that is assignable to it</li>
+ * </ul>
+ * Resolved class mappings, including unsupported types, are cached per type, so that each lookup
+ * after the first one is a single map access.
+ *
+ * @author Sebastian Heiden
+ */
+final class MapperRegistry {
+
+	/**
+	 * Marker for cached types, that have no class mapping
+	 */
+	private static final Function<String, ?> UNSUPPORTED = str -> {
+		throw new UnsupportedOperationException();
+	};
+
+	/**
+	 * the registered class mappings
+	 */
+	private final Map<Type, Function<String, ?>> mappers;
+
+	/**
+	 * the registered and resolved class mappings by their types
+	 */
+	private final ConcurrentMap<Type, Function<String, ?>> resolved;
+
+	/**
+	 * @param mappers the registered class mappings, which are neither copied nor modified
+	 */
+	MapperRegistry(Map<Type, Function<String, ?>> mappers) {
+		this.mappers = mappers;
+		this.resolved = new ConcurrentHashMap<>(mappers);
+	}
+
+	/**
+	 * @param type any type
+	 * @return the class mapping for given type or <tt>null</tt>, if the type is not supported
+	 */
+	Function<String, ?> get(Type type) {
+
+		Function<String, ?> mapper = resolved.get(type);
+		if (mapper == null) {
+
+			// no computeIfAbsent, since the resolution of generic types looks up their type arguments
+			mapper = resolve(type);
+			Function<String, ?> previous = resolved.putIfAbsent(type, mapper == null ? UNSUPPORTED : mapper);
+			if (previous != null)
+				mapper = previous;
+		}
+
+		return mapper == UNSUPPORTED ? null : mapper;
+	}
+
+	private Function<String, ?> resolve(Type type) {
+
+		if (type instanceof ParameterizedType)
+			return resolveParameterized((ParameterizedType) type);
+
+		if (!(type instanceof Class))
+			return null;
+
+		Class<?> clazz = (Class<?>) type;
+
+		if (clazz.isEnum())
+			return enumMapper(clazz.asSubclass(Enum.class));
+
+		if (clazz.isArray())
+			return arrayMapper(clazz.getComponentType());
+
+		if (PrimitiveArrays.isPrimitiveArray(clazz))
+			return PrimitiveArrays.mapper(clazz);
+
+		return resolveAssignable(clazz);
+	}
+
+	/**
+	 * Resolves lists and sets of any supported type, or generic types, whose raw type is registered.
+	 */
+	private Function<String, ?> resolveParameterized(ParameterizedType type) {
+
+		Class<?> rawType = (Class<?>) type.getRawType();
+
+		Function<String, ?> mapper = mappers.get(rawType);
+		if (mapper != null)
+			return mapper;
+
+		if (!rawType.equals(List.class) && !rawType.equals(Set.class) && !rawType.equals(Collection.class))
+			return null;
+
+		Function<String, ?> elementMapper = get(type.getActualTypeArguments()[0]);
+		if (elementMapper == null)
+			return null;
+
+		boolean set = rawType.equals(Set.class);
+		return str -> {
+			String[] elements = str.split(",");
+			Collection<Object> collection = set ? new HashSet<>(elements.length * 4 / 3 + 1) : new ArrayList<>(elements.length);
+			for (String element : elements)
+				collection.add(elementMapper.apply(element));
+			return collection;
+		};
+	}
+
+	/**
+	 * Resolves a supertype by the only registered type, that is assignable to it.
+	 */
+	private Function<String, ?> resolveAssignable(Class<?> clazz) {
+
+		if (clazz.isPrimitive())
+			return null;
+
+		Function<String, ?> candidate = null;
+		for (Map.Entry<Type, Function<String, ?>> entry : mappers.entrySet()) {
+
+			Type registered = entry.getKey();
+			if (!(registered instanceof Class) || !clazz.isAssignableFrom((Class<?>) registered))
+				continue;
+
+			// ambiguous, e.g. Number
+			if (candidate != null)
+				return null;
+
+			candidate = entry.getValue();
+		}
+
+		return candidate;
+	}
+
+	private static <E extends Enum<E>> Function<String, ?> enumMapper(Class<?> enumClass) {
+
+		@SuppressWarnings("unchecked")
+		Class<E> type = (Class<E>) enumClass;
+		return str -> Enum.valueOf(type, str);
+	}
+
+	private Function<String, ?> arrayMapper(Class<?> componentType) {
+
+		// primitive arrays are registered and parsed without boxing
+		if (componentType.isPrimitive())
+			return null;
+
+		Function<String, ?> elementMapper = get(componentType);
+		if (elementMapper == null)
+			return null;
+
+		return str -> {
+			String[] elements = str.split(",");
+			Object array = Array.newInstance(componentType, elements.length);
+			for (int i = 0; i < elements.length; i++)
+				Array.set(array, i, elementMapper.apply(elements[i]));
+			return array;
+		};
+	}
+
+	/**
+	 * Parses a socket address of the form <tt>host:port</tt> or <tt>[IPv6 address]:port</tt>. The
+	 * host name is not resolved.
+	 *
+	 * @param str the socket address
+	 * @return the unresolved socket address
+	 * @throws IllegalArgumentException If no port is given
+	 */
+	static InetSocketAddress parseSocketAddress(String str) {
+
+		int separator = str.lastIndexOf(':');
+		if (separator < 0 || separator < str.lastIndexOf(']'))
+			throw new IllegalArgumentException("Socket address " + str + " has no port");
+
+		String host = str.substring(0, separator);
+		if (host.startsWith("[") && host.endsWith("]"))
+			host = host.substring(1, host.length() - 1);
+
+		return InetSocketAddress.createUnresolved(host, Integer.parseInt(str.substring(separator + 1)));
+	}
+}
@@ -0,0 +1,70 @@
+package com.sheiden.configuration;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.google.common.primitives.ImmutableDoubleArray;
+import com.google.common.primitives.ImmutableIntArray;
+import com.google.common.primitives.ImmutableLongArray;
+
+/**
+ * Reads and writes the immutable primitive arrays of Guava, i.e. {@link ImmutableIntArray},
+ * {@link ImmutableLongArray} and {@link ImmutableDoubleArray}, which hold their elements without
+ * boxing. Their properties are comma separated like the ones of <tt>int[]</tt>, <tt>long[]</tt> and
+ * <tt>double[]</tt>, and they are parsed by the {@link PrimitiveParser} as well.<br/>
+ * Like the immutable collections of {@link Container}, Guava is only loaded, if a configuration
+ * class uses such an array, i.e. if {@link #isPrimitiveArray(Class)} is true.
+ *
+ * @author Sebastian Heiden
+ */
+final class PrimitiveArrays {
+
+	private static final String PREFIX = "com.google.common.primitives.Immutable";
+
+	private PrimitiveArrays() {
+	}
+
+	/**
+	 * Checks the name of given type only, so that Guava is not loaded.
+	 *
+	 * @param type any class
+	 * @return true, if the type may be an immutable primitive array of Guava
+	 */
+	static boolean isPrimitiveArray(Class<?> type) {
+		return type.getName().startsWith(PREFIX);
+	}
+
+	/**
+	 * @param type an immutable primitive array of Guava
+	 * @return the class mapping for given type or <tt>null</tt>, if it is not supported
+	 */
+	static Function<String, ?> mapper(Class<?> type) {
+
+		if (type == ImmutableIntArray.class)
+			return str -> ImmutableIntArray.copyOf(PrimitiveParser.parseInts(str));
+		if (type == ImmutableLongArray.class)
+			return str -> ImmutableLongArray.copyOf(PrimitiveParser.parseLongs(str));
+		if (type == ImmutableDoubleArray.class)
+			return str -> ImmutableDoubleArray.copyOf(PrimitiveParser.parseDoubles(str));
+
+		return null;
+	}
+
+	/**
+	 * @param value an immutable primitive array of Guava
+	 * @return the comma separated elements of given value or <tt>null</tt>, if its type is not
+	 *         supported
+	 */
+	static String format(Object value) {
+
+		if (value instanceof ImmutableIntArray)
+			return Arrays.stream(((ImmutableIntArray) value).toArray()).mapToObj(Integer::toString).collect(Collectors.joining(","));
+		if (value instanceof ImmutableLongArray)
+			return Arrays.stream(((ImmutableLongArray) value).toArray()).mapToObj(Long::toString).collect(Collectors.joining(","));
+		if (value instanceof ImmutableDoubleArray)
+			return Arrays.stream(((ImmutableDoubleArray) value).toArray()).mapToObj(Double::toString).collect(Collectors.joining(","));
+
+		return null;
+	}
+}
@@ -0,0 +1,227 @@
+package com.sheiden.configuration;
+
+/**
+ * Parses comma separated property values into primitive arrays in a single pass over the
+ * characters. Neither intermediate strings nor boxed values are created, unless a number is too
+ * complex for the fast path (e.g. doubles with exponents), or it is malformed.<br/>
+ * The elements are parsed with the same rules as {@link Integer#parseInt(String)},
+ * {@link Long#parseLong(String)}, {@link Double#parseDouble(String)} and
+ * {@link Boolean#parseBoolean(String)}. Like {@link String#split(String)} trailing empty elements
+ * are ignored.
+ *
+ * @author Sebastian Heiden
+ */
+final class PrimitiveParser {
+
+	private static final char SEPARATOR = ',';
+
+	/**
+	 * powers of ten, which are exactly representable as double
+	 */
+	private static final double[] POWERS_OF_TEN = new double[23];
+
+	static {
+		POWERS_OF_TEN[0] = 1;
+		for (int i = 1; i < POWERS_OF_TEN.length; i++)
+			POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+	}
+
+	/**
+	 * the maximum number of significant digits, that is exactly representable as double
+	 */
+	private static final int MAX_EXACT_DIGITS = 15;
+
+	private PrimitiveParser() {
+	}
+
+	static int[] parseInts(String value) {
+
+		int end = trimTrailingSeparators(value);
+		int[] result = new int[count(value, end)];
+
+		int from = 0;
+		for (int i = 0; i < result.length; i++) {
+			int to = nextSeparator(value, from, end);
+			result[i] = (int) parseLong(value, from, to, Integer.MIN_VALUE, Integer.MAX_VALUE);
+			from = to + 1;
+		}
+
+		return result;
+	}
+
+	static long[] parseLongs(String value) {
+
+		int end = trimTrailingSeparators(value);
+		long[] result = new long[count(value, end)];
+
+		int from = 0;
+		for (int i = 0; i < result.length; i++) {
+			int to = nextSeparator(value, from, end);
+			result[i] = parseLong(value, from, to, Long.MIN_VALUE, Long.MAX_VALUE);
+			from = to + 1;
+		}
+
+		return result;
+	}
+
+	static double[] parseDoubles(String value) {
+
+		int end = trimTrailingSeparators(value);
+		double[] result = new double[count(value, end)];
+
+		int from = 0;
+		for (int i = 0; i < result.length; i++) {
+			int to = nextSeparator(value, from, end);
+			result[i] = parseDouble(value, from, to);
+			from = to + 1;
+		}
+
+		return result;
+	}
+
+	static boolean[] parseBooleans(String value) {
+
+		int end = trimTrailingSeparators(value);
+		boolean[] result = new boolean[count(value, end)];
+
+		int from = 0;
+		for (int i = 0; i < result.length; i++) {
+			int to = nextSeparator(value, from, end);
+			result[i] = to - from == 4 && value.regionMatches(true, from, "true", 0, 4);
+			from = to + 1;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Parses a whole number within the given range of characters.
+	 *
+	 * @throws NumberFormatException If the characters are no number or exceed the given bounds
+	 */
+	private static long parseLong(String value, int from, int to, long min, long max) {
+
+		if (from == to)
+			throw numberFormatException(value, from, to);
+
+		int i = from;
+		boolean negative = false;
+
+		char first = value.charAt(i);
+		if (first == '-' || first == '+') {
+			negative = first == '-';
+			if (++i == to)
+				throw numberFormatException(value, from, to);
+		}
+
+		// accumulate negatively, which covers the minimum value as well
+		long limit = negative ? min : -max;
+		long multiplicationLimit = limit / 10;
+		long result = 0;
+
+		for (; i < to; i++) {
+
+			int digit = Character.digit(value.charAt(i), 10);
+			if (digit < 0 || result < multiplicationLimit)
+				throw numberFormatException(value, from, to);
+
+			result *= 10;
+			if (result < limit + digit)
+				throw numberFormatException(value, from, to);
+
+			result -= digit;
+		}
+
+		return negative ? result : -result;
+	}
+
+	/**
+	 * Parses a decimal number within the given range of characters. Plain decimals with up to 15
+	 * significant digits are converted exactly without creating a string. Any other format is
+	 * delegated to {@link Double#parseDouble(String)}.
+	 *
+	 * @throws NumberFormatException If the characters are no number
+	 */
+	private static double parseDouble(String value, int from, int to) {
+
+		int i = from;
+		boolean negative = false;
+
+		if (i < to && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+			negative = value.charAt(i) == '-';
+			i++;
+		}
+
+		long mantissa = 0;
+		int digits = 0;
+		int significantDigits = 0;
+		int fractionDigits = -1;
+
+		for (; i < to; i++) {
+
+			char c = value.charAt(i);
+			if (c >= '0' && c <= '9') {
+
+				digits++;
+				if (mantissa != 0 || c != '0')
+					significantDigits++;
+
+				mantissa = mantissa * 10 + (c - '0');
+				if (fractionDigits >= 0)
+					fractionDigits++;
+
+			} else if (c == '.' && fractionDigits < 0) {
+				fractionDigits = 0;
+			} else {
+				break;
+			}
+		}
+
+		// fast path: the mantissa and the power of ten are exact, so a single division is rounded correctly
+		if (i == to && digits > 0 && significantDigits <= MAX_EXACT_DIGITS && fractionDigits < POWERS_OF_TEN.length) {
+			double result = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+			return negative ? -result : result;
+		}
+
+		return Double.parseDouble(value.substring(from, to));
+	}
+
+	/**
+	 * @return the number of elements before <tt>end</tt>
+	 */
+	private static int count(String value, int end) {
+
+		if (end == 0)
+			return 0;
+
+		int count = 1;
+		for (int i = 0; i < end; i++) {
+			if (value.charAt(i) == SEPARATOR)
+				count++;
+		}
+
+		return count;
+	}
+
+	/**
+	 * @return the index after the last non separator character
+	 */
+	private static int trimTrailingSeparators(String value) {
+
+		int end = value.length();
+		while (end > 0 && value.charAt(end - 1) == SEPARATOR)
+			end--;
+
+		return end;
+	}
+
+	private static int nextSeparator(String value, int from, int end) {
+
+		int index = value.indexOf(SEPARATOR, from);
+		return index < 0 || index > end ? end : index;
+	}
+
+	private static NumberFormatException numberFormatException(String value, int from, int to) {
+		return new NumberFormatException("For input string: \"" + value.substring(from, to) + "\"");
+	}
+}
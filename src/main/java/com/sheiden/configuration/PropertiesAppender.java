@@ -0,0 +1,129 @@
+package com.sheiden.configuration;
+
+import java.io.IOException;
+
+/**
+ * Writes properties line by line in the format of {@link java.util.Properties#store(java.io.Writer,
+ * String)}, escaping keys and values on the fly. The output is pure ASCII: all other characters are
+ * written as <tt>\\uXXXX</tt>, so that it can be loaded from a reader or an ISO 8859-1 stream.<br/>
+ * Values may be written in several parts, e.g. the elements of an array, without concatenating them
+ * first.
+ *
+ * @author Sebastian Heiden
+ */
+final class PropertiesAppender implements PropertySink {
+
+	private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+	private final Appendable output;
+
+	/**
+	 * whether nothing has been written since the separator, i.e. a space must be escaped
+	 */
+	private boolean valueStart;
+
+	PropertiesAppender(Appendable output) {
+		this.output = output;
+	}
+
+	@Override
+	public PropertiesAppender property(String prefix, String name, String escapedName) throws IOException {
+
+		escape(prefix, true);
+		if (escapedName == null)
+			escape(name, true);
+		else
+			output.append(escapedName);
+
+		output.append('=');
+		valueStart = true;
+		return this;
+	}
+
+	@Override
+	public PropertiesAppender value(CharSequence part) throws IOException {
+		escape(part, false);
+		return this;
+	}
+
+	@Override
+	public PropertiesAppender plain(char c) throws IOException {
+		output.append(c);
+		valueStart = false;
+		return this;
+	}
+
+	@Override
+	public void end() throws IOException {
+		output.append('\n');
+	}
+
+	/**
+	 * @param key a key or a part of it
+	 * @return the escaped key, as written by {@link #property(String, String, String)}
+	 */
+	static String escapeKey(String key) {
+
+		StringBuilder escaped = new StringBuilder(key.length());
+		try {
+			new PropertiesAppender(escaped).escape(key, true);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+
+		return escaped.toString();
+	}
+
+	private void escape(CharSequence part, boolean key) throws IOException {
+
+		int length = part.length();
+		int run = 0;
+
+		for (int i = 0; i < length; i++) {
+
+			char c = part.charAt(i);
+			if (c > ' ' && c < 127 && c != '\\' && c != '=' && c != ':' && c != '#' && c != '!')
+				continue;
+
+			// appends the characters, that do not need to be escaped, at once
+			if (run < i)
+				output.append(part, run, i);
+			run = i + 1;
+
+			switch (c) {
+			case ' ':
+				if (key || (valueStart && i == 0))
+					output.append('\\');
+				output.append(' ');
+				break;
+			case '\t':
+				output.append('\\').append('t');
+				break;
+			case '\n':
+				output.append('\\').append('n');
+				break;
+			case '\r':
+				output.append('\\').append('r');
+				break;
+			case '\f':
+				output.append('\\').append('f');
+				break;
+			case '\\':
+			case '=':
+			case ':':
+			case '#':
+			case '!':
+				output.append('\\').append(c);
+				break;
+			default:
+				output.append('\\').append('u').append(HEX[(c >> 12) & 0xF]).append(HEX[(c >> 8) & 0xF]).append(HEX[(c >> 4) & 0xF]).append(HEX[c & 0xF]);
+			}
+		}
+
+		if (run < length)
+			output.append(part, run, length);
+
+		if (length > 0)
+			valueStart = false;
+	}
+}
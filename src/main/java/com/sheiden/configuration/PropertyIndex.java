@@ -0,0 +1,93 @@
+package com.sheiden.configuration;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Wraps {@link Properties} or a map with a sorted index over the property names, so that all
+ * properties with a common prefix (e.g. the entries of a map) can be found without scanning all
+ * keys.<br/>
+ * The index is built once on the first prefix query and shared by all bindings of one read.
+ *
+ * @author Sebastian Heiden
+ */
+final class PropertyIndex implements PropertySource {
+
+	private final Function<String, String> lookup;
+	private final Supplier<Set<String>> names;
+
+	/**
+	 * sorted property names, <tt>null</tt> until the first prefix query. Volatile, since the
+	 * properties may be shared by the threads of a parallel read.
+	 */
+	private volatile String[] keys;
+
+	PropertyIndex(Properties properties) {
+		this(properties::getProperty, properties::stringPropertyNames);
+	}
+
+	PropertyIndex(Map<String, String> map) {
+		this(map::get, map::keySet);
+	}
+
+	/**
+	 * @param lookup the values by property name
+	 * @param names  supplies the names of all properties on the first prefix query
+	 */
+	PropertyIndex(Function<String, String> lookup, Supplier<Set<String>> names) {
+		this.lookup = lookup;
+		this.names = names;
+	}
+
+	@Override
+	public String getProperty(String key) {
+		return lookup.apply(key);
+	}
+
+	/**
+	 * Finds all property names, that start with given <tt>prefix</tt> in O(log n).
+	 *
+	 * @param prefix the prefix of the property names
+	 * @return a sorted, unmodifiable view of the matching property names
+	 */
+	@Override
+	public List<String> keysWithPrefix(String prefix) {
+
+		String[] keys = getKeys();
+
+		int from = Arrays.binarySearch(keys, prefix);
+		if (from < 0)
+			from = -from - 1;
+
+		// all names with the prefix are located in a row, starting at the insertion point of the prefix
+		int low = from;
+		int high = keys.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (keys[mid].startsWith(prefix))
+				low = mid + 1;
+			else
+				high = mid;
+		}
+
+		return Collections.unmodifiableList(Arrays.asList(keys).subList(from, low));
+	}
+
+	private String[] getKeys() {
+
+		String[] keys = this.keys;
+		if (keys == null) {
+			keys = names.get().toArray(new String[0]);
+			Arrays.sort(keys);
+			this.keys = keys;
+		}
+
+		return keys;
+	}
+}
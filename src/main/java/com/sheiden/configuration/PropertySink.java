@@ -0,0 +1,40 @@
+package com.sheiden.configuration;
+
+import java.io.IOException;
+
+/**
+ * Receives the properties of a {@link ConfigurationWriter}, one after another. The key of each
+ * property is passed at once, its value may be passed in several parts, e.g. the elements of an
+ * array, without concatenating them first.
+ *
+ * @author Sebastian Heiden
+ * @see PropertiesAppender
+ */
+interface PropertySink {
+
+	/**
+	 * Starts a new property, the following parts belong to its value.
+	 *
+	 * @param prefix      the prefix of the key, either empty or ending with a dot
+	 * @param name        the remaining part of the key
+	 * @param escapedName <tt>name</tt>, escaped as key of a properties file, or <tt>null</tt>, if it
+	 *                    has not been escaped yet
+	 */
+	PropertySink property(String prefix, String name, String escapedName) throws IOException;
+
+	/**
+	 * Appends a part of the value.
+	 */
+	PropertySink value(CharSequence part) throws IOException;
+
+	/**
+	 * Appends a character of the value, which never needs to be escaped, e.g. the separator of array
+	 * elements.
+	 */
+	PropertySink plain(char c) throws IOException;
+
+	/**
+	 * Ends the current property.
+	 */
+	void end() throws IOException;
+}
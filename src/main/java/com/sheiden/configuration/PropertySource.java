@@ -0,0 +1,65 @@
+package com.sheiden.configuration;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * A source of properties, which are read by {@link ConfigurationReader}.<br/>
+ * Sources are combined without copying by {@link #layered(PropertySource...)}, e.g. per-host
+ * overrides, system properties, environment and defaults.
+ *
+ * @author Sebastian Heiden
+ * @see ConfigurationReader#read(PropertySource, Class)
+ */
+public interface PropertySource {
+
+	/**
+	 * @param key the name of the property
+	 * @return the value of the property or <tt>null</tt>, if not set
+	 */
+	String getProperty(String key);
+
+	/**
+	 * Finds all property names, that start with given <tt>prefix</tt>.
+	 *
+	 * @param prefix the prefix of the property names
+	 * @return a sorted, unmodifiable list of the matching property names
+	 */
+	List<String> keysWithPrefix(String prefix);
+
+	/**
+	 * Creates a source, which reads from given <tt>properties</tt>. Changes of the properties after
+	 * the first prefix query are not visible to {@link #keysWithPrefix(String)}.
+	 *
+	 * @param properties the properties to read from
+	 * @return the source of the properties
+	 */
+	static PropertySource of(Properties properties) {
+		return new PropertyIndex(properties);
+	}
+
+	/**
+	 * Creates a source, which reads from given <tt>map</tt>, e.g. {@link System#getenv()}. Changes
+	 * of the map after the first prefix query are not visible to {@link #keysWithPrefix(String)}.
+	 *
+	 * @param map the properties to read from
+	 * @return the source of the properties
+	 */
+	static PropertySource of(Map<String, String> map) {
+		return new PropertyIndex(map);
+	}
+
+	/**
+	 * Combines given sources in order of their precedence: a property is read from the first source,
+	 * which contains it.
+	 *
+	 * @param layers the sources, starting with the highest precedence
+	 * @return the layered source
+	 * @see LayeredPropertySource
+	 */
+	static PropertySource layered(PropertySource... layers) {
+		return new LayeredPropertySource(Arrays.asList(layers));
+	}
+}
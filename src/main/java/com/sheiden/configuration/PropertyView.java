@@ -0,0 +1,104 @@
+package com.sheiden.configuration;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A view on all properties of a {@link PropertySource} below a certain prefix, e.g. the properties
+ * of a nested configuration object or a map entry. Nothing is copied, property names are just
+ * resolved relative to the prefix.
+ *
+ * @author Sebastian Heiden
+ */
+final class PropertyView {
+
+	private final PropertySource source;
+
+	/**
+	 * the prefix of all properties of this view, either empty or ending with a dot
+	 */
+	private final String prefix;
+
+	PropertyView(PropertySource source) {
+		this(source, "");
+	}
+
+	private PropertyView(PropertySource source, String prefix) {
+		this.source = source;
+		this.prefix = prefix;
+	}
+
+	/**
+	 * @param name the property name relative to this view
+	 * @return the value of the property or <tt>null</tt>, if not set
+	 */
+	String getProperty(String name) {
+		return source.getProperty(absolute(name));
+	}
+
+	/**
+	 * @param absoluteName the absolute property name, e.g. as returned by {@link #keysBelow(String)}
+	 * @return the value of the property or <tt>null</tt>, if not set
+	 */
+	String getAbsoluteProperty(String absoluteName) {
+		return source.getProperty(absoluteName);
+	}
+
+	/**
+	 * Finds all property names below given <tt>name</tt>, i.e. starting with <tt>name</tt>
+	 * followed by a dot.
+	 *
+	 * @param name the property name relative to this view
+	 * @return a sorted view of the matching <b>absolute</b> property names
+	 */
+	List<String> keysBelow(String name) {
+		return source.keysWithPrefix(absolute(name) + ".");
+	}
+
+	/**
+	 * Creates a view on all properties below given <tt>name</tt>.
+	 *
+	 * @param name the property name relative to this view
+	 * @return the nested view
+	 */
+	PropertyView subView(String name) {
+		return new PropertyView(source, absolute(name) + ".");
+	}
+
+	/**
+	 * Copies the properties with given names and all properties below them into the heap, so that
+	 * later changes of the source are not visible to the returned view.
+	 *
+	 * @param names the property names relative to this view
+	 * @return a view with the same prefix on the copied properties
+	 */
+	PropertyView snapshot(Iterable<String> names) {
+
+		Map<String, String> copy = new HashMap<>();
+		for (String name : names) {
+
+			String value = getProperty(name);
+			if (value != null)
+				copy.put(absolute(name), value);
+
+			for (String key : keysBelow(name)) {
+				value = source.getProperty(key);
+				if (value != null)
+					copy.put(key, value);
+			}
+		}
+
+		return new PropertyView(new PropertyIndex(copy), prefix);
+	}
+
+	/**
+	 * Converts given relative property name into the name of the underlying source.
+	 *
+	 * @param name the property name relative to this view
+	 * @return the absolute property name
+	 */
+	String absolute(String name) {
+		return prefix.isEmpty() ? name : prefix + name;
+	}
+}
@@ -0,0 +1,56 @@
+package com.sheiden.configuration;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * The result of an incremental read by
+ * {@link ConfigurationReader#rebind(Object, java.util.Properties, java.util.Properties)}: a new
+ * configuration object and the names of the properties and fields, which changed.
+ *
+ * @param <M> the type of the configuration class
+ * @author Sebastian Heiden
+ */
+public final class Rebinding<M> {
+
+	private final M configuration;
+
+	private final Set<String> changedProperties;
+
+	private final Set<String> changedFields;
+
+	Rebinding(M configuration, Set<String> changedProperties, Set<String> changedFields) {
+		this.configuration = configuration;
+		this.changedProperties = Collections.unmodifiableSet(changedProperties);
+		this.changedFields = Collections.unmodifiableSet(changedFields);
+	}
+
+	/**
+	 * @return the new configuration object. Fields, that are not affected by any change, share their
+	 *         values with the previous configuration object.
+	 */
+	public M getConfiguration() {
+		return configuration;
+	}
+
+	/**
+	 * @return the names of all properties, which were added, removed or changed
+	 */
+	public Set<String> getChangedProperties() {
+		return changedProperties;
+	}
+
+	/**
+	 * @return the names of all fields, which were read again
+	 */
+	public Set<String> getChangedFields() {
+		return changedFields;
+	}
+
+	/**
+	 * @return true, if any field changed
+	 */
+	public boolean isChanged() {
+		return !changedFields.isEmpty();
+	}
+}
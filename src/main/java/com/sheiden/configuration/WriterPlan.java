@@ -0,0 +1,159 @@
+package com.sheiden.configuration;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.sheiden.configuration.Accessors.FieldAccessor;
+
+/**
+ * Precompiled write information of a class: its public fields, sorted by their property names, with
+ * escaped names and the way their values are written. A plan is compiled once per class and reused
+ * by each {@link ConfigurationWriter#write(Appendable, Object) streaming write}.
+ *
+ * @author Sebastian Heiden
+ */
+final class WriterPlan {
+
+	/**
+	 * How the value of a field is written
+	 */
+	enum Kind {
+
+		/**
+		 * {@link Object#toString()}
+		 */
+		TEXT,
+
+		/**
+		 * a custom class mapping
+		 */
+		MAPPED,
+
+		/**
+		 * the elements of an array of objects, separated by commas
+		 */
+		ELEMENTS,
+
+		/**
+		 * the elements of a {@link List} or {@link Set}, separated by commas
+		 */
+		ITERABLE,
+
+		INTS, LONGS, DOUBLES, BOOLEANS,
+
+		/**
+		 * a property for each entry below the name of the field
+		 */
+		MAP
+	}
+
+	final Class<?> type;
+
+	/**
+	 * the properties sorted by their names
+	 */
+	final Property[] properties;
+
+	private WriterPlan(Class<?> type, Property[] properties) {
+		this.type = type;
+		this.properties = properties;
+	}
+
+	/**
+	 * Compiles the plan for given <tt>type</tt>.
+	 *
+	 * @param type     the class to compile the plan for
+	 * @param mappers  the class mappings of the writer
+	 * @param defaults the default class mappings, which are streamed without calling them
+	 * @return the compiled plan
+	 */
+	static WriterPlan compile(Class<?> type, Map<Class<?>, Function<?, String>> mappers, Map<Class<?>, Function<?, String>> defaults) {
+
+		List<Property> properties = new ArrayList<>();
+
+		for (Field field : type.getFields()) {
+
+			if (Modifier.isStatic(field.getModifiers()))
+				continue;
+
+			Class<?> fieldType = field.getType();
+			Function<?, String> mapper = mappers.get(fieldType);
+
+			Kind kind;
+			if (Map.class.isAssignableFrom(fieldType))
+				kind = Kind.MAP;
+			else if (mapper == null)
+				kind = Kind.TEXT;
+			else if (mapper != defaults.get(fieldType))
+				kind = Kind.MAPPED;
+			else
+				kind = getDefaultKind(fieldType);
+
+			properties.add(new Property(field, ConfigurationUtil.getPropertyName(field), kind, kind == Kind.MAPPED ? mapper : null));
+		}
+
+		properties.sort(Comparator.comparing(property -> property.name));
+
+		return new WriterPlan(type, properties.toArray(new Property[0]));
+	}
+
+	/**
+	 * @return the kind of a type with a default class mapping
+	 */
+	private static Kind getDefaultKind(Class<?> type) {
+
+		if (type == int[].class)
+			return Kind.INTS;
+		if (type == long[].class)
+			return Kind.LONGS;
+		if (type == double[].class)
+			return Kind.DOUBLES;
+		if (type == boolean[].class)
+			return Kind.BOOLEANS;
+		if (type.isArray())
+			return Kind.ELEMENTS;
+		if (type == List.class || type == Set.class)
+			return Kind.ITERABLE;
+
+		return Kind.TEXT;
+	}
+
+	/**
+	 * A single public field of the class
+	 */
+	static final class Property {
+
+		final String name;
+
+		/**
+		 * the name, escaped as key of a properties file
+		 */
+		final String escapedName;
+
+		final Field field;
+
+		final FieldAccessor accessor;
+
+		final Kind kind;
+
+		/**
+		 * the custom class mapping for {@link Kind#MAPPED}, otherwise <tt>null</tt>
+		 */
+		final Function<?, String> mapper;
+
+		Property(Field field, String name, Kind kind, Function<?, String> mapper) {
+			this.name = name;
+			this.escapedName = PropertiesAppender.escapeKey(name);
+			this.field = field;
+			this.accessor = Accessors.forField(field);
+			this.kind = kind;
+			this.mapper = mapper;
+		}
+	}
+}
@@ -8,12 +8,16 @@ import java.lang.annotation.Target;
 import com.sheiden.configuration.ConfigurationReader;
 
 /**
- * Specifies additional parameters of a configuration field.
+ * Specifies additional parameters of a configuration field or of a getter method of a configuration
+ * interface.<br/>
+ * Constraints are checked for each value, that is read from the properties. Default values are not
+ * checked. All violations of a read are reported at once by a
+ * {@link com.sheiden.configuration.ConstraintViolationException}.
  * 
  * @author Sebastian Heiden
  */
 @Retention(RetentionPolicy.RUNTIME)
-@Target(ElementType.FIELD)
+@Target({ ElementType.FIELD, ElementType.METHOD })
 public @interface ConfigurationProperty {
 
 	/**
@@ -33,6 +37,52 @@ public @interface ConfigurationProperty {
 	 */
 	boolean required() default true;
 
-	// TODO: methods min, max, pattern, etc...
+	/**
+	 * Defines the smallest valid value of a number, or of each element of a collection, an array or
+	 * the values of a map.
+	 * 
+	 * @return the inclusive minimum
+	 */
+	double min() default Double.NEGATIVE_INFINITY;
+
+	/**
+	 * Defines the largest valid value of a number, or of each element of a collection, an array or
+	 * the values of a map.
+	 * 
+	 * @return the inclusive maximum
+	 */
+	double max() default Double.POSITIVE_INFINITY;
+
+	/**
+	 * Defines a regular expression, which must match the whole string representation of the value,
+	 * or of each element of a collection, an array or the values of a map.
+	 * 
+	 * @return the regular expression, empty for any value
+	 */
+	String pattern() default "";
+
+	/**
+	 * Defines the smallest valid number of elements of a collection, an array or a map, or the
+	 * smallest valid length of a string.
+	 * 
+	 * @return the inclusive minimum size
+	 */
+	int minSize() default 0;
+
+	/**
+	 * Defines the largest valid number of elements of a collection, an array or a map, or the largest
+	 * valid length of a string.
+	 * 
+	 * @return the inclusive maximum size
+	 */
+	int maxSize() default Integer.MAX_VALUE;
+
+	/**
+	 * Defines the valid values by their string representation, e.g. the names of enum constants. The
+	 * constraint applies to each element of a collection, an array or the values of a map.
+	 * 
+	 * @return the allowed values, empty for any value
+	 */
+	String[] allowed() default {};
 
 }
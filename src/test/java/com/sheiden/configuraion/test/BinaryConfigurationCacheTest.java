@@ -0,0 +1,249 @@
+package com.sheiden.configuraion.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sheiden.configuraion.test.classes.ConstrainedConfiguration;
+import com.sheiden.configuraion.test.classes.DecimalConfiguration;
+import com.sheiden.configuraion.test.classes.DefaultConfiguration;
+import com.sheiden.configuraion.test.classes.NestedConfiguration;
+import com.sheiden.configuraion.test.classes.PrimitiveConfiguration;
+import com.sheiden.configuraion.test.classes.SimpleConfiguration;
+import com.sheiden.configuration.BinaryConfigurationCache;
+import com.sheiden.configuration.ConfigurationReader;
+import com.sheiden.configuration.ConstraintViolationException;
+
+public class BinaryConfigurationCacheTest {
+
+	private static final FileTime OLD = FileTime.fromMillis(0);
+
+	private Path directory;
+	private Path snapshots;
+
+	private BinaryConfigurationCache cache;
+
+	@Before
+	public void setUp() throws IOException {
+
+		directory = Files.createTempDirectory("binary-configuration-cache");
+		snapshots = directory.resolve("snapshots");
+
+		for (String name : new String[] { "simple", "primitive", "nested" })
+			Files.copy(Paths.get("src/test/resources/properties/" + name + ".properties"), directory.resolve(name + ".properties"));
+
+		cache = new BinaryConfigurationCache(new ConfigurationReader(), snapshots);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		try (Stream<Path> files = Files.walk(directory)) {
+			for (Path file : files.sorted((a, b) -> b.compareTo(a)).collect(Collectors.toList()))
+				Files.delete(file);
+		}
+	}
+
+	/**
+	 * Tests that configuration objects are restored from their snapshots
+	 */
+	@Test
+	public void testSnapshot() throws IOException {
+
+		for (int i = 0; i < 2; i++) {
+
+			SimpleConfiguration simple = cache.read(path("simple"), SimpleConfiguration.class);
+			assertEquals("abc", simple._string);
+			assertArrayEquals(new String[] { "a", "b", "c" }, simple._strings);
+			assertEquals(new Long(1), simple._long);
+			assertArrayEquals(new Float[] { 1.23F, 2.34F, 3.45F }, simple._floats);
+			assertArrayEquals(new Boolean[] { true, false, true }, simple._booleans);
+
+			PrimitiveConfiguration primitive = cache.read(path("primitive"), PrimitiveConfiguration.class);
+			assertEquals(1.23F, primitive._float, 0F);
+			assertEquals(42, primitive.defaultInt);
+			assertArrayEquals(new int[] { 1, -2, 3, Integer.MAX_VALUE, Integer.MIN_VALUE }, primitive._ints);
+			assertArrayEquals(new double[] { 1.23, -0.5, .5, 1e3, 0.1, 123456789012345678D, 3D }, primitive._doubles, 0D);
+			assertArrayEquals(new boolean[] { true, false, true, false }, primitive._booleans);
+
+			NestedConfiguration nested = cache.read(path("nested"), NestedConfiguration.class);
+			assertEquals("main", nested.server.name);
+			assertEquals("last-resort", nested.server.endpoint.backup.backup.host);
+			assertNull(nested.server.endpoint.backup.backup.backup);
+			assertNull(nested.fallback);
+			assertEquals(new Integer(443), nested.servers.get("b").endpoint.port);
+			assertEquals(new Integer(4), nested.servers.get("a").limits.get("threads"));
+
+			// the snapshots are written once and loaded afterwards
+			List<Path> files = listSnapshots();
+			assertEquals(3, files.size());
+
+			for (Path file : files) {
+				if (i == 0)
+					Files.setLastModifiedTime(file, OLD);
+				else
+					assertEquals(OLD, Files.getLastModifiedTime(file));
+			}
+		}
+	}
+
+	/**
+	 * Tests that a snapshot is replaced, if the properties file changed
+	 */
+	@Test
+	public void testChangedProperties() throws IOException {
+
+		assertEquals("abc", cache.read(path("simple"), SimpleConfiguration.class)._string);
+
+		Path file = directory.resolve("simple.properties");
+		String content = new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1);
+		Files.write(file, content.replace("_string=abc", "_string=abd").getBytes(StandardCharsets.ISO_8859_1));
+
+		assertEquals("abd", cache.read(path("simple"), SimpleConfiguration.class)._string);
+		assertEquals("abd", new BinaryConfigurationCache(new ConfigurationReader(), snapshots).read(path("simple"), SimpleConfiguration.class)._string);
+	}
+
+	/**
+	 * Tests that fields, whose properties are not set, get the current default values instead of the
+	 * ones, that were current when the snapshot was written
+	 */
+	@Test
+	public void testChangedDefaults() throws IOException {
+
+		Files.write(directory.resolve("default.properties"), "name=abc".getBytes(StandardCharsets.ISO_8859_1));
+
+		DefaultConfiguration configuration = cache.read(path("default"), DefaultConfiguration.class);
+		assertEquals("abc", configuration.name);
+		assertEquals(30, configuration.timeout);
+		assertEquals(1, listSnapshots().size());
+
+		System.setProperty("default.configuration.timeout", "60");
+		try {
+			configuration = cache.read(path("default"), DefaultConfiguration.class);
+			assertEquals("abc", configuration.name);
+			assertEquals(60, configuration.timeout);
+		} finally {
+			System.clearProperty("default.configuration.timeout");
+		}
+
+		Files.setLastModifiedTime(listSnapshots().get(0), OLD);
+		assertEquals(30, cache.read(path("default"), DefaultConfiguration.class).timeout);
+		assertEquals(OLD, Files.getLastModifiedTime(listSnapshots().get(0)));
+	}
+
+	/**
+	 * Tests that a damaged snapshot is replaced
+	 */
+	@Test
+	public void testDamagedSnapshot() throws IOException {
+
+		cache.read(path("nested"), NestedConfiguration.class);
+
+		Path snapshot = listSnapshots().get(0);
+		byte[] bytes = Files.readAllBytes(snapshot);
+		Files.write(snapshot, Arrays.copyOf(bytes, bytes.length / 2));
+
+		assertEquals("b.example.com", cache.read(path("nested"), NestedConfiguration.class).servers.get("b").endpoint.host);
+		assertEquals(bytes.length, Files.size(snapshot));
+	}
+
+	/**
+	 * Tests that values of custom class mappings are not stored
+	 */
+	@Test
+	public void testCustomClassMapping() throws IOException {
+
+		Files.write(directory.resolve("decimal.properties"), "value=1.5".getBytes(StandardCharsets.ISO_8859_1));
+
+		ConfigurationReader configurationReader = ConfigurationReader.builder().classMapper(BigDecimal.class, BigDecimal::new).build();
+		BinaryConfigurationCache decimalCache = new BinaryConfigurationCache(configurationReader, snapshots);
+
+		assertEquals(new BigDecimal("1.5"), decimalCache.read(path("decimal"), DecimalConfiguration.class).value);
+		assertTrue(listSnapshots().isEmpty());
+	}
+
+	/**
+	 * Tests that snapshots of a reader with replaced built-in class mappings are not loaded by other
+	 * readers and vice versa
+	 */
+	@Test
+	public void testReplacedClassMapping() throws IOException {
+
+		assertEquals("abc", cache.read(path("simple"), SimpleConfiguration.class)._string);
+
+		ConfigurationReader upperCaseReader = ConfigurationReader.builder().classMapper(String.class, str -> str.toUpperCase()).build();
+		BinaryConfigurationCache upperCaseCache = new BinaryConfigurationCache(upperCaseReader, snapshots);
+
+		assertEquals("ABC", upperCaseCache.read(path("simple"), SimpleConfiguration.class)._string);
+		assertEquals("ABC", upperCaseCache.read(path("simple"), SimpleConfiguration.class)._string);
+		assertEquals("abc", cache.read(path("simple"), SimpleConfiguration.class)._string);
+		assertEquals(1, listSnapshots().size());
+	}
+
+	/**
+	 * Tests that invalid values are not stored, so that each read reports them, and that valid
+	 * constrained values are restored from the snapshot
+	 */
+	@Test
+	public void testConstrainedValues() throws IOException {
+
+		Files.write(directory.resolve("constrained.properties"), "port=0\nhost=localhost".getBytes(StandardCharsets.ISO_8859_1));
+
+		for (int i = 0; i < 2; i++) {
+			try {
+				cache.read(path("constrained"), ConstrainedConfiguration.class);
+				fail("Constraint violation is not reported");
+			} catch (ConstraintViolationException e) {
+				assertEquals(Arrays.asList("port: 0 is less than 1"), e.getViolations());
+			}
+		}
+
+		assertTrue(listSnapshots().isEmpty());
+
+		Files.write(directory.resolve("constrained.properties"), "port=80\nhost=localhost\ntags=a,b".getBytes(StandardCharsets.ISO_8859_1));
+
+		assertEquals(Integer.valueOf(80), cache.read(path("constrained"), ConstrainedConfiguration.class).port);
+		assertEquals(1, listSnapshots().size());
+
+		Files.setLastModifiedTime(listSnapshots().get(0), OLD);
+
+		ConstrainedConfiguration restored = cache.read(path("constrained"), ConstrainedConfiguration.class);
+		assertEquals(Integer.valueOf(80), restored.port);
+		assertEquals("localhost", restored.host);
+		assertEquals(Arrays.asList("a", "b"), restored.tags);
+		assertEquals("default", restored.mode);
+		assertEquals(OLD, Files.getLastModifiedTime(listSnapshots().get(0)));
+	}
+
+	private String path(String name) {
+		return directory.resolve(name + ".properties").toString();
+	}
+
+	private List<Path> listSnapshots() throws IOException {
+
+		if (!Files.isDirectory(snapshots))
+			return Collections.emptyList();
+
+		try (Stream<Path> files = Files.list(snapshots)) {
+			return files.collect(Collectors.toList());
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package com.sheiden.configuraion.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.Test;
+
+import com.sheiden.configuraion.test.classes.AdvancedSubConfiguration;
+import com.sheiden.configuraion.test.classes.GraphConfiguration;
+import com.sheiden.configuraion.test.classes.NestedConfiguration.EndpointConfiguration;
+import com.sheiden.configuraion.test.classes.OuterConfiguration;
+import com.sheiden.configuraion.test.classes.OuterConfiguration_Inner;
+import com.sheiden.configuraion.test.classes.SimpleConfiguration;
+import com.sheiden.configuration.ConfigurationBinder;
+import com.sheiden.configuration.ConfigurationReader;
+
+/**
+ * Tests the binders, which are generated by the annotation processor for the test classes
+ */
+public class ConfigurationBinderTest {
+
+	/**
+	 * Tests that binders are generated for annotated classes and the classes of their nested
+	 * configuration objects
+	 */
+	@Test
+	public void testGeneratedBinders() throws ReflectiveOperationException {
+
+		ConfigurationBinder<AdvancedSubConfiguration> binder = getBinder(AdvancedSubConfiguration.class);
+		assertEquals(4, binder.getProperties().length);
+
+		AdvancedSubConfiguration instance = binder.newInstance();
+		assertEquals("xyz", instance.c);
+
+		for (int i = 0; i < 4; i++) {
+			binder.set(instance, i, null);
+			assertNull(binder.get(instance, i));
+		}
+		assertNull(instance.c);
+
+		getBinder(EndpointConfiguration.class);
+	}
+
+	/**
+	 * Tests that no binder is generated for classes without annotations
+	 */
+	@Test(expected = ClassNotFoundException.class)
+	public void testNoBinder() throws ReflectiveOperationException {
+		getBinder(SimpleConfiguration.class);
+	}
+
+	/**
+	 * Tests that classes with generated binders are read like classes without
+	 */
+	@Test
+	public void testRead() {
+
+		Properties properties = new Properties();
+		properties.setProperty("super.a", "a");
+		properties.setProperty("super.sub.string.name", "b");
+		properties.setProperty("super.sub.dec", "1.5");
+
+		AdvancedSubConfiguration configuration = ConfigurationReader.builder().classMapper(BigDecimal.class, BigDecimal::new).build().read(properties,
+				AdvancedSubConfiguration.class);
+
+		assertEquals("a", configuration.a);
+		assertEquals("b", configuration.b);
+		assertEquals("xyz", configuration.c);
+		assertEquals(new BigDecimal("1.5"), configuration.dec);
+	}
+
+	/**
+	 * Tests that a nested class and a top level class, whose name joins the same names with an
+	 * underscore, get different binders
+	 */
+	@Test
+	public void testNestedAndUnderscoreClass() throws ReflectiveOperationException {
+
+		assertEquals(1, getBinder(OuterConfiguration.Inner.class).getProperties().length);
+		assertEquals(1, getBinder(OuterConfiguration_Inner.class).getProperties().length);
+
+		Properties properties = new Properties();
+		properties.setProperty("inner.host", "localhost");
+		properties.setProperty("underscore.port", "80");
+
+		assertEquals("localhost", ConfigurationReader.getInstance().read(properties, OuterConfiguration.Inner.class).host);
+		assertEquals(Integer.valueOf(80), ConfigurationReader.getInstance().read(properties, OuterConfiguration_Inner.class).port);
+	}
+
+	/**
+	 * Tests that generic types of generated binders are equal to the ones of reflection
+	 */
+	@Test
+	public void testParameterizedType() throws NoSuchFieldException {
+
+		Type expected = GraphConfiguration.class.getField("pools").getGenericType();
+		Type actual = ConfigurationBinder.parameterized(Map.class, String.class, ConfigurationBinder.parameterized(List.class, EndpointConfiguration.class));
+
+		assertEquals(expected, actual);
+		assertEquals(actual, expected);
+		assertEquals(expected.hashCode(), actual.hashCode());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <M> ConfigurationBinder<M> getBinder(Class<M> configClass) throws ReflectiveOperationException {
+
+		String simpleName = configClass.getSimpleName().replace("_", "_1");
+		for (Class<?> enclosing = configClass.getEnclosingClass(); enclosing != null; enclosing = enclosing.getEnclosingClass())
+			simpleName = enclosing.getSimpleName().replace("_", "_1") + "_" + simpleName;
+
+		String name = configClass.getPackage().getName() + "." + simpleName + ConfigurationBinder.SUFFIX;
+		return (ConfigurationBinder<M>) Class.forName(name).getConstructor().newInstance();
+	}
+}
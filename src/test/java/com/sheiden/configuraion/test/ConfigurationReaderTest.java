@@ -2,23 +2,74 @@ package com.sheiden.configuraion.test;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
 import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import org.junit.Test;
 
+import com.google.common.primitives.ImmutableDoubleArray;
+import com.google.common.primitives.ImmutableIntArray;
+import com.google.common.primitives.ImmutableLongArray;
+
 import com.sheiden.configuraion.test.classes.AdvancedSubConfiguration;
+import com.sheiden.configuraion.test.classes.AdvancedSuperConfiguration;
 import com.sheiden.configuraion.test.classes.CollectionConfiguration;
+import com.sheiden.configuraion.test.classes.ConstrainedConfiguration;
+import com.sheiden.configuraion.test.classes.ContainerConfiguration;
+import com.sheiden.configuraion.test.classes.DecimalConfiguration;
+import com.sheiden.configuraion.test.classes.EscapedConfiguration;
+import com.sheiden.configuraion.test.classes.GraphConfiguration;
+import com.sheiden.configuraion.test.classes.LazyConfiguration;
 import com.sheiden.configuraion.test.classes.MapSubConfiguration;
+import com.sheiden.configuraion.test.classes.NestedConfiguration;
+import com.sheiden.configuraion.test.classes.PrimitiveConfiguration;
+import com.sheiden.configuraion.test.classes.NestedConfiguration.EndpointConfiguration;
+import com.sheiden.configuraion.test.classes.NestedConfiguration.ServerConfiguration;
 import com.sheiden.configuraion.test.classes.SimpleConfiguration;
+import com.sheiden.configuraion.test.classes.TypedConfiguration;
+import com.sheiden.configuration.ConfigurationLogger;
+import com.sheiden.configuration.ConfigurationLogger.Level;
 import com.sheiden.configuration.ConfigurationReader;
+import com.sheiden.configuration.ConfigurationStatistics;
+import com.sheiden.configuration.ConstraintViolationException;
+import com.sheiden.configuration.PropertySource;
+import com.sheiden.configuration.Rebinding;
 
 public class ConfigurationReaderTest {
 
@@ -47,6 +98,88 @@ public class ConfigurationReaderTest {
 		assertArrayEquals(new Boolean[] { true, false, true }, instance._booleans);
 	}
 
+	/**
+	 * Tests primitive fields and primitive arrays
+	 */
+	@Test
+	public void primitiveConfigReadTest() {
+
+		PrimitiveConfiguration instance = ConfigurationReader.getInstance().read(PROPERTIES_BASE_DIR + "primitive.properties", PrimitiveConfiguration.class);
+
+		assertEquals(-1, instance._int);
+		assertEquals(Long.MAX_VALUE, instance._long);
+		assertEquals(1.23F, instance._float, 0F);
+		assertEquals(-1.23D, instance._double, 0D);
+		assertTrue(instance._boolean);
+		assertEquals(42, instance.defaultInt);
+
+		assertArrayEquals(new int[] { 1, -2, 3, Integer.MAX_VALUE, Integer.MIN_VALUE }, instance._ints);
+		assertArrayEquals(new long[] { Long.MAX_VALUE, Long.MIN_VALUE, 0 }, instance._longs);
+		assertArrayEquals(new double[] { 1.23, -0.5, .5, 1e3, 0.1, 123456789012345678D, 3D }, instance._doubles, 0D);
+		assertArrayEquals(new boolean[] { true, false, true, false }, instance._booleans);
+	}
+
+	/**
+	 * Tests that properties files are parsed like {@link Properties#load(java.io.InputStream)}
+	 */
+	@Test
+	public void testEscapedProperties() {
+
+		ConfigurationReader configurationReader = new ConfigurationReader();
+
+		EscapedConfiguration instance = configurationReader.read(PROPERTIES_BASE_DIR + "escaped.properties", EscapedConfiguration.class);
+
+		assertEquals("value", instance.plain);
+		assertEquals("by colon", instance.separated);
+		assertEquals("value with spaces   ", instance.spaced);
+		assertEquals("value", instance.keyWithSpaces);
+		assertEquals("=:", instance.keyWithSeparators);
+		assertEquals("caf\u00e9 \u2603", instance.unicode);
+		assertEquals("tab\tnewline\nreturn\r", instance.escapes);
+		assertEquals("first, second, third", instance.continued);
+		assertEquals("last", instance.duplicate);
+		assertEquals("", instance.empty);
+		assertEquals("default", instance.missing);
+
+		Properties properties = configurationReader.getProperties(PROPERTIES_BASE_DIR + "escaped.properties");
+		EscapedConfiguration loaded = configurationReader.read(properties, EscapedConfiguration.class);
+
+		for (Field field : EscapedConfiguration.class.getFields()) {
+			try {
+				assertEquals(field.getName(), field.get(loaded), field.get(instance));
+			} catch (IllegalAccessException e) {
+				fail(e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Tests that an overflowing element of a primitive array is reported
+	 */
+	@Test(expected = IllegalStateException.class)
+	public void testPrimitiveArrayOverflow() {
+
+		Properties properties = new Properties();
+		properties.setProperty("_ints", "1,2147483648");
+
+		new ConfigurationReader().read(properties, PrimitiveConfiguration.class);
+	}
+
+	/**
+	 * Tests that a malformed element of a primitive array is reported
+	 */
+	@Test(expected = IllegalStateException.class)
+	public void testPrimitiveArrayMalformed() {
+
+		Properties properties = new Properties();
+		properties.setProperty("_ints", "1");
+		properties.setProperty("_longs", "1");
+		properties.setProperty("_doubles", "1.0,,2.0");
+		properties.setProperty("_booleans", "true");
+
+		new ConfigurationReader().read(properties, PrimitiveConfiguration.class);
+	}
+
 	/**
 	 * Tests advanced mechanics like name mapping, additional class mappings, default values, name
 	 * spaces, inheritance
@@ -73,11 +206,130 @@ public class ConfigurationReaderTest {
 	}
 
 	/**
-	 * Tests a missing class mapping for BigDecimal
+	 * Tests a missing class mapping for a custom value type
 	 */
 	@Test(expected = IllegalArgumentException.class)
 	public void testMissingClassMapper() {
-		new ConfigurationReader().read(PROPERTIES_BASE_DIR + "advanced.properties", AdvancedSubConfiguration.class);
+
+		Properties properties = new Properties();
+		properties.setProperty("version", "1.2");
+
+		new ConfigurationReader().read(properties, MyVersionConfiguration.class);
+	}
+
+	/**
+	 * Tests that class mappings, which are added after a class has been read, are respected by later
+	 * reads of the same class
+	 */
+	@Test
+	public void testClassMapperAddedAfterRead() {
+
+		ConfigurationReader configurationReader = new ConfigurationReader();
+		Properties properties = new Properties();
+		properties.setProperty("version", "1.2");
+
+		try {
+			configurationReader.read(properties, MyVersionConfiguration.class);
+			fail("Version should not be supported without a class mapping");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+
+		configurationReader.addClassMapper(Version.class, Version::new);
+
+		MyVersionConfiguration instance1 = configurationReader.read(properties, MyVersionConfiguration.class);
+		MyVersionConfiguration instance2 = configurationReader.read(properties, MyVersionConfiguration.class);
+
+		assertEquals("1.2", instance1.version.value);
+		assertEquals("1.2", instance2.version.value);
+	}
+
+	/**
+	 * Tests an immutable reader created by the builder, shared by concurrent reads
+	 */
+	@Test
+	public void testBuilderConcurrentReads() throws Exception {
+
+		ConfigurationReader configurationReader = ConfigurationReader.builder() //
+				.classMapper(BigDecimal.class, str -> new BigDecimal(str)) //
+				.build();
+
+		Properties properties = configurationReader.getProperties(PROPERTIES_BASE_DIR + "advanced.properties");
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<AdvancedSubConfiguration>> futures = new ArrayList<>();
+			for (int i = 0; i < 200; i++)
+				futures.add(executor.submit(() -> configurationReader.read(properties, AdvancedSubConfiguration.class)));
+
+			for (Future<AdvancedSubConfiguration> future : futures) {
+				assertEquals(new BigDecimal("1.23"), future.get().dec);
+				assertEquals("qwertz", future.get().a);
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Tests that the fields of wide classes are bound in parallel
+	 */
+	@Test
+	public void testParallelBinding() {
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		AtomicInteger tasks = new AtomicInteger();
+
+		try {
+			ConfigurationReader configurationReader = ConfigurationReader.builder() //
+					.parallelBinding(command -> {
+						tasks.incrementAndGet();
+						executor.execute(command);
+					}, 3) //
+					.build();
+
+			// nested parallel reads on a single thread must not block each other
+			NestedConfiguration nested = configurationReader.read(PROPERTIES_BASE_DIR + "nested.properties", NestedConfiguration.class);
+			assertTrue(tasks.get() > 0);
+			assertEquals("main", nested.server.name);
+			assertEquals("last-resort", nested.server.endpoint.backup.backup.host);
+			assertEquals(2, nested.servers.size());
+
+			tasks.set(0);
+			PrimitiveConfiguration instance = configurationReader.read(PROPERTIES_BASE_DIR + "primitive.properties", PrimitiveConfiguration.class);
+			assertTrue(tasks.get() > 0);
+			assertEquals(-1, instance._int);
+			assertEquals(42, instance.defaultInt);
+			assertArrayEquals(new long[] { Long.MAX_VALUE, Long.MIN_VALUE, 0 }, instance._longs);
+
+			// classes below the threshold are bound sequentially
+			Properties properties = new Properties();
+			properties.setProperty("super.a", "a");
+			tasks.set(0);
+			assertEquals("a", configurationReader.read(properties, AdvancedSuperConfiguration.class).a);
+			assertEquals(0, tasks.get());
+
+			// errors are reported like by a sequential read
+			properties = configurationReader.getProperties(PROPERTIES_BASE_DIR + "primitive.properties");
+			properties.setProperty("_int", "not a number");
+			try {
+				configurationReader.read(properties, PrimitiveConfiguration.class);
+				fail("Malformed property is not reported");
+			} catch (IllegalStateException e) {
+				assertTrue(e.getMessage().contains("_int"));
+			}
+
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Tests that the class mappings of a reader created by the builder can not be changed
+	 */
+	@Test(expected = UnsupportedOperationException.class)
+	public void testBuilderIsImmutable() {
+		ConfigurationReader.builder().build().addClassMapper(BigDecimal.class, str -> new BigDecimal(str));
 	}
 
 	/**
@@ -135,6 +387,318 @@ public class ConfigurationReaderTest {
 		assertEquals(collections.defaultList, new CollectionConfiguration().defaultList);
 	}
 
+	/**
+	 * Tests nested configuration objects and maps of configuration objects at any depth
+	 */
+	@Test
+	public void testNestedConfigurations() {
+
+		NestedConfiguration nested = ConfigurationReader.getInstance().read(PROPERTIES_BASE_DIR + "nested.properties", NestedConfiguration.class);
+
+		assertEquals("main", nested.server.name);
+		assertEquals("localhost", nested.server.endpoint.host);
+		assertEquals(new Integer(8080), nested.server.endpoint.port);
+		assertEquals("backup", nested.server.endpoint.backup.host);
+		assertEquals(new Integer(80), nested.server.endpoint.backup.port);
+		assertEquals("last-resort", nested.server.endpoint.backup.backup.host);
+		assertEquals(new Integer(8082), nested.server.endpoint.backup.backup.port);
+		assertNull(nested.server.endpoint.backup.backup.backup);
+		assertNull(nested.fallback);
+
+		assertEquals(2, nested.servers.size());
+
+		ServerConfiguration a = nested.servers.get("a");
+		assertEquals("a", a.name);
+		assertEquals("a.example.com", a.endpoint.host);
+		assertEquals(new Integer(80), a.endpoint.port);
+		assertEquals(new Integer(10), a.limits.get("connections"));
+		assertEquals(new Integer(4), a.limits.get("threads"));
+
+		ServerConfiguration b = nested.servers.get("b");
+		assertEquals("b", b.name);
+		assertEquals("b.example.com", b.endpoint.host);
+		assertEquals(new Integer(443), b.endpoint.port);
+		assertTrue(b.limits.isEmpty());
+	}
+
+	/**
+	 * Tests that lists and sets of nested objects are read by their indices and map values, which are
+	 * maps or lists themselves
+	 */
+	@Test
+	public void testIndexedCollections() {
+
+		Properties properties = new Properties();
+		properties.setProperty("primary.name", "main");
+		properties.setProperty("primary.endpoint.host", "localhost");
+		for (int i = 0; i < 12; i++)
+			properties.setProperty("endpoints." + i + ".host", "host" + i);
+		properties.setProperty("endpoints.1.port", "8080");
+		properties.setProperty("mirrors.a.host", "mirror");
+		properties.setProperty("limits.a.threads", "4");
+		properties.setProperty("limits.b.threads", "8");
+		properties.setProperty("limits.b.connections", "16");
+		properties.setProperty("pools.x.0.host", "x0");
+		properties.setProperty("pools.x.1.host", "x1");
+
+		GraphConfiguration graph = new ConfigurationReader().read(properties, GraphConfiguration.class);
+
+		assertEquals("localhost", graph.primary.endpoint.host);
+
+		assertEquals(12, graph.endpoints.size());
+		for (int i = 0; i < 12; i++)
+			assertEquals("host" + i, graph.endpoints.get(i).host);
+		assertEquals(new Integer(8080), graph.endpoints.get(1).port);
+		assertEquals(new Integer(80), graph.endpoints.get(10).port);
+
+		assertEquals(1, graph.mirrors.size());
+		assertEquals("mirror", graph.mirrors.iterator().next().host);
+
+		assertEquals(Collections.singletonMap("threads", 4), graph.limits.get("a"));
+		assertEquals(new Integer(16), graph.limits.get("b").get("connections"));
+
+		assertEquals(Arrays.asList("x0", "x1"), graph.pools.get("x").stream().map(endpoint -> endpoint.host).collect(Collectors.toList()));
+		assertNull(graph.next);
+	}
+
+	/**
+	 * Tests enums, nested generic types, arrays of any supported type, the built-in class mappings
+	 * and supertypes of a registered type
+	 */
+	@Test
+	public void testResolvedTypes() {
+
+		TypedConfiguration instance = new ConfigurationReader().read(PROPERTIES_BASE_DIR + "typed.properties", TypedConfiguration.class);
+
+		assertEquals(TimeUnit.SECONDS, instance.unit);
+		assertArrayEquals(new TimeUnit[] { TimeUnit.MINUTES, TimeUnit.HOURS }, instance.units);
+		assertEquals(EnumSet.of(TimeUnit.DAYS, TimeUnit.SECONDS), instance.unitSet);
+		assertEquals("ms", instance.unitNames.get(TimeUnit.MILLISECONDS));
+		assertEquals("ns", instance.unitNames.get(TimeUnit.NANOSECONDS));
+
+		// lists of arrays are read from their indices
+		assertEquals(4, instance.groups.size());
+		assertArrayEquals(new Integer[] { 1, 2 }, instance.groups.get(0));
+		assertArrayEquals(new Integer[] { 3 }, instance.groups.get(1));
+		assertArrayEquals(new Integer[] { 5, 6 }, instance.groups.get(2));
+		assertArrayEquals(new Integer[] { 4 }, instance.groups.get(3));
+
+		assertEquals(Arrays.asList(1L, 2L), instance.ids.get("a"));
+		assertEquals(Arrays.asList(3L), instance.ids.get("b"));
+		assertArrayEquals(new BigDecimal[] { new BigDecimal("1.50"), new BigDecimal("0.99") }, instance.prices);
+
+		assertEquals(Duration.ofSeconds(90), instance.timeout);
+		assertEquals(URI.create("https://example.com/config?x=1"), instance.uri);
+		assertEquals(Paths.get("/etc/app/config"), instance.path);
+		assertEquals(InetSocketAddress.createUnresolved("example.com", 8080), instance.address);
+		assertEquals(InetSocketAddress.createUnresolved("::1", 9090), instance.address6);
+		assertTrue(instance.pattern.matcher("abc1").matches());
+
+		// the only registered type, that is a CharSequence, is String
+		assertEquals("abc", instance.text);
+
+		// a list of arrays may consist of a single element
+		Properties properties = new Properties();
+		properties.setProperty("groups", "7,8");
+		List<Integer[]> groups = ConfigurationReader.builder().build().read(properties, GroupsConfiguration.class).groups;
+		assertEquals(1, groups.size());
+		assertArrayEquals(new Integer[] { 7, 8 }, groups.get(0));
+
+		// unknown enum constants are reported like any malformed value
+		properties = new Properties();
+		properties.setProperty("unit", "WEEKS");
+		try {
+			new ConfigurationReader().read(properties, UnitConfiguration.class);
+			fail("Unknown enum constant is not reported");
+		} catch (IllegalStateException e) {
+			assertTrue(e.getMessage().contains("unit"));
+		}
+	}
+
+	/**
+	 * Tests that maps, lists and sets are created according to the declared types of their fields
+	 */
+	@Test
+	public void testDeclaredContainers() {
+
+		ContainerConfiguration instance = new ConfigurationReader().read(PROPERTIES_BASE_DIR + "container.properties", ContainerConfiguration.class);
+
+		assertEquals(EnumMap.class, instance.timeouts.getClass());
+		assertEquals(Arrays.asList(TimeUnit.SECONDS, TimeUnit.MINUTES), new ArrayList<>(instance.timeouts.keySet()));
+		assertEquals(EnumSet.of(TimeUnit.SECONDS, TimeUnit.HOURS), instance.units);
+		assertEquals(Arrays.asList(80, 443, 8443), new ArrayList<>(instance.ports));
+		assertEquals(Integer.valueOf(443), instance.ports.ceiling(100));
+		assertEquals(Arrays.asList("app", "zone"), new ArrayList<>(instance.labels.keySet()));
+		assertEquals(3, instance.weights.size());
+		assertEquals(Arrays.asList("x", "y", "z"), instance.queue);
+		assertEquals(Long.valueOf(1), instance.ranges.get("a").first());
+
+		assertEquals(Arrays.asList("b.example.com", "a.example.com"), instance.hosts);
+		assertEquals(Arrays.asList("blue", "eu", "prod"), instance.tags.asList());
+		assertEquals(Integer.valueOf(443), instance.endpoints.get("b").port);
+
+		assertEquals(ImmutableIntArray.of(200, 404, 500), instance.codes);
+		assertEquals(ImmutableLongArray.of(-1, Long.MAX_VALUE), instance.offsets);
+		assertEquals(ImmutableDoubleArray.of(0.5, 1e-3), instance.ratios);
+		assertEquals(ImmutableIntArray.of(1, 2), instance.slots.get("a"));
+
+		try {
+			instance.hosts.add("c.example.com");
+			fail("Immutable list is modifiable");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+	}
+
+	public static class GroupsConfiguration {
+		public List<Integer[]> groups;
+	}
+
+	public static class UnitConfiguration {
+		public TimeUnit unit;
+	}
+
+	/**
+	 * Tests that values, which satisfy their constraints, are read and that default values are not
+	 * checked
+	 */
+	@Test
+	public void testConstraints() {
+
+		Properties properties = new Properties();
+		properties.setProperty("port", "65535");
+		properties.setProperty("host", "example.com");
+		properties.setProperty("ratios", "0,0.5,1");
+		properties.setProperty("tags", "a,b");
+		properties.setProperty("limits.threads", "1");
+
+		ConstrainedConfiguration configuration = new ConfigurationReader().read(properties, ConstrainedConfiguration.class);
+
+		assertEquals(new Integer(65535), configuration.port);
+		assertEquals("default", configuration.mode);
+		assertArrayEquals(new double[] { 0, 0.5, 1 }, configuration.ratios, 0);
+	}
+
+	/**
+	 * Tests that all constraint violations of a read are reported at once, including the ones of
+	 * nested configuration objects
+	 */
+	@Test
+	public void testConstraintViolations() {
+
+		Properties properties = new Properties();
+		properties.setProperty("port", "0");
+		properties.setProperty("host", "Example.com");
+		properties.setProperty("mode", "slow");
+		properties.setProperty("ratios", "0.5,1.5,0.5,0.5");
+		properties.setProperty("tags", "a,b,c d");
+		properties.setProperty("limits.threads", "0");
+		properties.setProperty("backup.port", "70000");
+		properties.setProperty("backup.host", "a-very-long-host-name");
+
+		try {
+			new ConfigurationReader().read(properties, ConstrainedConfiguration.class);
+			fail("Constraint violations are not reported");
+		} catch (ConstraintViolationException e) {
+
+			List<String> violations = new ArrayList<>(e.getViolations());
+			Collections.sort(violations);
+
+			assertEquals(Arrays.asList( //
+					"backup.host: size 21 is greater than 16", //
+					"backup.port: 70000 is greater than 65535", //
+					"host: 'Example.com' does not match [a-z0-9.-]+", //
+					"limits.threads: 0 is less than 1", //
+					"mode: 'slow' is not one of [fast, safe]", //
+					"port: 0 is less than 1", //
+					"ratios: 1.5 is greater than 1", //
+					"ratios: size 4 is greater than 3", //
+					"tags: 'c d' does not match \\w+", //
+					"tags: size 3 is greater than 2"), violations);
+		}
+	}
+
+	/**
+	 * Tests that the constraint violations of all values of a map and all elements of a list are
+	 * reported at once
+	 */
+	@Test
+	public void testNestedConstraintViolations() {
+
+		Properties properties = new Properties();
+		properties.setProperty("port", "80");
+		properties.setProperty("host", "example.com");
+		properties.setProperty("replicas.a.port", "0");
+		properties.setProperty("replicas.a.host", "a.example.com");
+		properties.setProperty("replicas.b.port", "70000");
+		properties.setProperty("replicas.b.host", "b.example.com");
+		properties.setProperty("mirrors.0.port", "0");
+		properties.setProperty("mirrors.0.host", "Mirror");
+		properties.setProperty("mirrors.1.port", "70000");
+		properties.setProperty("mirrors.1.host", "mirror");
+
+		try {
+			new ConfigurationReader().read(properties, ConstrainedConfiguration.class);
+			fail("Constraint violations are not reported");
+		} catch (ConstraintViolationException e) {
+
+			List<String> violations = new ArrayList<>(e.getViolations());
+			Collections.sort(violations);
+
+			assertEquals(Arrays.asList( //
+					"mirrors.0.host: 'Mirror' does not match [a-z0-9.-]+", //
+					"mirrors.0.port: 0 is less than 1", //
+					"mirrors.1.port: 70000 is greater than 65535", //
+					"replicas.a.port: 0 is less than 1", //
+					"replicas.b.port: 70000 is greater than 65535"), violations);
+		}
+	}
+
+	/**
+	 * Tests that an incremental read only reads fields, which are affected by changed properties
+	 */
+	@Test
+	public void testRebind() {
+
+		ConfigurationReader configurationReader = ConfigurationReader.getInstance();
+
+		Properties oldProperties = configurationReader.getProperties(PROPERTIES_BASE_DIR + "nested.properties");
+		NestedConfiguration previous = configurationReader.read(oldProperties, NestedConfiguration.class);
+
+		Properties newProperties = new Properties();
+		newProperties.putAll(oldProperties);
+		newProperties.setProperty("servers.b.endpoint.port", "8443");
+		newProperties.setProperty("unrelated", "value");
+
+		Rebinding<NestedConfiguration> rebinding = configurationReader.rebind(previous, oldProperties, newProperties);
+		NestedConfiguration next = rebinding.getConfiguration();
+
+		assertEquals(new HashSet<>(Arrays.asList("servers.b.endpoint.port", "unrelated")), rebinding.getChangedProperties());
+		assertEquals(Collections.singleton("servers"), rebinding.getChangedFields());
+
+		assertSame(previous.server, next.server);
+		assertNotSame(previous.servers, next.servers);
+		assertEquals(new Integer(8443), next.servers.get("b").endpoint.port);
+		assertEquals(new Integer(443), previous.servers.get("b").endpoint.port);
+
+		// no changes at all
+		Rebinding<NestedConfiguration> unchanged = configurationReader.rebind(next, newProperties, newProperties);
+		assertFalse(unchanged.isChanged());
+		assertSame(next.servers, unchanged.getConfiguration().servers);
+	}
+
+	/**
+	 * Tests that a required property of a nested configuration object is reported
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testNestedConfigurationMissingProperty() {
+
+		Properties properties = new Properties();
+		properties.setProperty("server.name", "main");
+
+		new ConfigurationReader().read(properties, NestedConfiguration.class);
+	}
+
 	@Test(expected = IllegalArgumentException.class)
 	public void testMissingClassMappingsInCollectionsMap1() {
 
@@ -172,19 +736,463 @@ public class ConfigurationReaderTest {
 	}
 
 	public static class MyMapConfiguration1 {
-		public Map<String, BigDecimal> map;
+		public Map<String, Version> map;
 	}
 
 	public static class MyMapConfiguration2 {
-		public Map<BigDecimal, String> map;
+		public Map<Version, String> map;
 	}
 
 	public static class MyListConfiguration1 {
-		public List<BigDecimal> list;
+		public List<Version> list;
 	}
 
 	public static class MySetConfiguration1 {
-		public Set<BigDecimal> set;
+		public Set<Version> set;
+	}
+
+	public static class MyVersionConfiguration {
+		public Version version;
+	}
+
+	/**
+	 * A value type without a default class mapping
+	 */
+	public static class Version {
+
+		private final String value;
+
+		public Version(String value) {
+			this.value = value;
+		}
 	}
 
+
+	/**
+	 * Tests that all configuration objects below a prefix are read at once
+	 */
+	@Test
+	public void testReadAll() {
+
+		Properties properties = new Properties();
+		for (int i = 0; i < 100; i++) {
+			properties.setProperty("tenant." + i + ".host", "host-" + i);
+			properties.setProperty("tenant." + i + ".port", String.valueOf(1000 + i));
+		}
+		properties.setProperty("tenant.5.backup.host", "backup");
+		properties.setProperty("tenants", "not below the prefix");
+		properties.setProperty("other.0.host", "other");
+
+		Map<String, EndpointConfiguration> tenants = new ConfigurationReader().readAll(properties, EndpointConfiguration.class, "tenant");
+
+		assertEquals(100, tenants.size());
+		for (int i = 0; i < 100; i++) {
+			EndpointConfiguration tenant = tenants.get(String.valueOf(i));
+			assertEquals("host-" + i, tenant.host);
+			assertEquals(new Integer(1000 + i), tenant.port);
+		}
+
+		assertEquals("backup", tenants.get("5").backup.host);
+		assertEquals(new Integer(80), tenants.get("5").backup.port);
+		assertNull(tenants.get("6").backup);
+
+		assertTrue(new ConfigurationReader().readAll(properties, EndpointConfiguration.class, "missing").isEmpty());
+	}
+
+	/**
+	 * Tests that all invalid configuration objects below a prefix are reported together
+	 */
+	@Test
+	public void testReadAllErrors() {
+
+		Properties properties = new Properties();
+		properties.setProperty("tenant.a.host", "a");
+		properties.setProperty("tenant.b.port", "80");
+		properties.setProperty("tenant.c.host", "c");
+		properties.setProperty("tenant.d.host", "d");
+		properties.setProperty("tenant.d.port", "not a number");
+
+		try {
+			new ConfigurationReader().readAll(properties, EndpointConfiguration.class, "tenant.");
+			fail("Invalid configurations are not reported");
+		} catch (IllegalArgumentException e) {
+
+			Throwable[] suppressed = e.getSuppressed();
+			assertEquals(2, suppressed.length);
+			assertTrue(suppressed[0].getMessage().startsWith("Configuration tenant.b "));
+			assertTrue(suppressed[0].getCause() instanceof IllegalArgumentException);
+			assertTrue(suppressed[1].getMessage().startsWith("Configuration tenant.d "));
+			assertTrue(suppressed[1].getCause() instanceof IllegalStateException);
+		}
+
+		// any other exception of a single object is reported like an invalid property
+		PropertySource index = PropertySource.of(properties);
+		PropertySource failing = new PropertySource() {
+
+			@Override
+			public String getProperty(String key) {
+				if (key.equals("tenant.c.host"))
+					throw new UncheckedIOException(new IOException("Source not available"));
+				return index.getProperty(key);
+			}
+
+			@Override
+			public List<String> keysWithPrefix(String prefix) {
+				return index.keysWithPrefix(prefix);
+			}
+		};
+
+		try {
+			new ConfigurationReader().readAll(failing, EndpointConfiguration.class, "tenant");
+			fail("Failed configurations are not reported");
+		} catch (IllegalArgumentException e) {
+
+			Throwable[] suppressed = e.getSuppressed();
+			assertEquals(3, suppressed.length);
+			assertTrue(suppressed[1].getMessage().startsWith("Configuration tenant.c "));
+			assertTrue(suppressed[1].getCause() instanceof UncheckedIOException);
+		}
+	}
+
+	/**
+	 * Tests that properties are read from the first layer, which contains them
+	 */
+	@Test
+	public void testLayeredProperties() {
+
+		ConfigurationReader configurationReader = new ConfigurationReader();
+
+		Properties defaults = configurationReader.getProperties("src/test/resources/properties/nested.properties");
+
+		Properties overrides = new Properties();
+		overrides.setProperty("servers.b.endpoint.port", "8443");
+		overrides.setProperty("servers.c.name", "c");
+		overrides.setProperty("servers.c.endpoint.host", "c.example.com");
+		overrides.setProperty("servers.a.limits.memory", "512");
+
+		Map<String, String> environment = new HashMap<>();
+		environment.put("server.name", "env");
+		environment.put("servers.a.limits.threads", "8");
+
+		PropertySource source = PropertySource.layered(PropertySource.of(environment), PropertySource.of(overrides), PropertySource.of(defaults));
+		NestedConfiguration configuration = configurationReader.read(source, NestedConfiguration.class);
+
+		assertEquals("env", configuration.server.name);
+		assertEquals("localhost", configuration.server.endpoint.host);
+		assertEquals(new Integer(8443), configuration.servers.get("b").endpoint.port);
+		assertEquals("b.example.com", configuration.servers.get("b").endpoint.host);
+
+		// the entries of maps are merged across all layers
+		assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<>(new TreeSet<>(configuration.servers.keySet())));
+		assertEquals(new Integer(8), configuration.servers.get("a").limits.get("threads"));
+		assertEquals(new Integer(10), configuration.servers.get("a").limits.get("connections"));
+		assertEquals(new Integer(512), configuration.servers.get("a").limits.get("memory"));
+
+		assertEquals(Arrays.asList("servers.a.limits.connections", "servers.a.limits.memory", "servers.a.limits.threads"), source.keysWithPrefix("servers.a.limits."));
+
+		Map<String, ServerConfiguration> servers = configurationReader.readAll(source, ServerConfiguration.class, "servers");
+		assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<>(servers.keySet()));
+		assertEquals("c.example.com", servers.get("c").endpoint.host);
+	}
+
+	/**
+	 * Tests that the measurements of a reader are collected
+	 */
+	@Test
+	public void testMetrics() {
+
+		ConfigurationStatistics statistics = new ConfigurationStatistics();
+		ConfigurationReader configurationReader = ConfigurationReader.builder().metrics(statistics).build();
+
+		configurationReader.read(PROPERTIES_BASE_DIR + "collection.properties", CollectionConfiguration.class);
+		configurationReader.read(PROPERTIES_BASE_DIR + "collection.properties", CollectionConfiguration.class);
+
+		assertEquals(2, statistics.getFileReadTime().getCount());
+		assertEquals(new File(PROPERTIES_BASE_DIR + "collection.properties").length(), statistics.getFileSize().getMax());
+		assertEquals(2, statistics.getParseTime().getCount());
+		assertEquals(10, statistics.getParsedProperties().getMax());
+
+		assertEquals(2, statistics.getBindTime(CollectionConfiguration.class).getCount());
+		assertEquals(6, statistics.getBindTime(MapSubConfiguration.class).getCount());
+
+		// each key and element is converted separately
+		assertEquals(2 * (3 + 8), statistics.getMapperTime(Integer.class).getCount());
+		assertEquals(2 * 3, statistics.getMapperTime(Float.class).getCount());
+
+		assertEquals(3, statistics.getCollectionSize(CollectionConfiguration.class, "map").getMax());
+		assertEquals(3, statistics.getCollectionSize(CollectionConfiguration.class, "map1").getMax());
+		assertEquals(4, statistics.getCollectionSize(CollectionConfiguration.class, "list").getMax());
+		assertEquals(4, statistics.getCollectionSize(CollectionConfiguration.class, "set").getMax());
+		assertEquals(0, statistics.getCollectionSize(CollectionConfiguration.class, "defaultList").getCount());
+
+		assertTrue(statistics.getHistograms().containsKey("bind.nanos." + CollectionConfiguration.class.getName()));
+		assertTrue(statistics.getHistograms().containsKey("mapper.nanos." + Float.class.getName()));
+		assertFalse(statistics.getHistograms().containsKey("mapper.nanos." + Long.class.getName()));
+	}
+
+	/**
+	 * Tests that log messages are passed to the logger and only built for enabled levels
+	 */
+	@Test
+	public void testLogger() {
+
+		List<String> messages = new ArrayList<>();
+		ConfigurationLogger logger = new ConfigurationLogger() {
+
+			@Override
+			public boolean isEnabled(Level level) {
+				return level.compareTo(Level.WARN) >= 0;
+			}
+
+			@Override
+			public void log(Level level, String message, Throwable error) {
+				assertTrue(isEnabled(level));
+				messages.add(level + " " + message);
+			}
+		};
+
+		ConfigurationReader configurationReader = ConfigurationReader.builder().logger(logger).build();
+		configurationReader.read(PROPERTIES_BASE_DIR + "simple.properties", SimpleConfiguration.class);
+		assertTrue(messages.isEmpty());
+
+		configurationReader.read((Properties) null, SimpleConfiguration.class);
+		assertEquals(Arrays.asList("WARN Properties for class " + SimpleConfiguration.class.getName() + " is null"), messages);
+
+		messages.clear();
+		ConfigurationLogger.SILENT.log(Level.ERROR, () -> {
+			throw new AssertionError("Message of disabled level is built");
+		});
+
+		ConfigurationReader.builder().logger(ConfigurationLogger.SILENT).build().read((Properties) null, SimpleConfiguration.class);
+		assertTrue(messages.isEmpty());
+	}
+
+	/**
+	 * Tests that repeated property values are converted once and share one instance
+	 */
+	@Test
+	public void testConversionCache() {
+
+		Properties properties = new Properties();
+		for (int i = 0; i < 50; i++) {
+			properties.setProperty("tenant." + i + ".host", new String("shared.example.com"));
+			properties.setProperty("tenant." + i + ".port", new String("8080"));
+		}
+
+		Map<String, EndpointConfiguration> uncached = new ConfigurationReader().readAll(properties, EndpointConfiguration.class, "tenant");
+		assertNotSame(uncached.get("0").port, uncached.get("1").port);
+
+		ConfigurationReader configurationReader = ConfigurationReader.builder().conversionCache(100).build();
+		Map<String, EndpointConfiguration> tenants = configurationReader.readAll(properties, EndpointConfiguration.class, "tenant");
+
+		for (EndpointConfiguration tenant : tenants.values()) {
+			assertEquals("shared.example.com", tenant.host);
+			assertSame(tenants.get("0").host, tenant.host);
+			assertSame(tenants.get("0").port, tenant.port);
+		}
+
+		// the least recently used value is evicted
+		configurationReader = ConfigurationReader.builder().conversionCache(1).build();
+		Integer first = configurationReader.read(endpoint("1000"), EndpointConfiguration.class).port;
+		assertSame(first, configurationReader.read(endpoint("1000"), EndpointConfiguration.class).port);
+		configurationReader.read(endpoint("2000"), EndpointConfiguration.class);
+		assertNotSame(first, configurationReader.read(endpoint("1000"), EndpointConfiguration.class).port);
+
+		// custom immutable types
+		configurationReader = ConfigurationReader.builder().classMapper(BigDecimal.class, BigDecimal::new).conversionCache(10, BigDecimal.class).build();
+		assertSame(configurationReader.read(decimal("1.5"), DecimalConfiguration.class).value, configurationReader.read(decimal("1.5"), DecimalConfiguration.class).value);
+
+		// the elements of arrays share the cache of their type
+		SimpleConfiguration uncachedArrays = new ConfigurationReader().read(PROPERTIES_BASE_DIR + "simple.properties", SimpleConfiguration.class);
+		assertNotSame(uncachedArrays._floats[0], new ConfigurationReader().read(PROPERTIES_BASE_DIR + "simple.properties", SimpleConfiguration.class)._floats[0]);
+
+		configurationReader = ConfigurationReader.builder().conversionCache(10).build();
+		SimpleConfiguration cachedArrays = configurationReader.read(PROPERTIES_BASE_DIR + "simple.properties", SimpleConfiguration.class);
+		assertNotSame(cachedArrays._floats, configurationReader.read(PROPERTIES_BASE_DIR + "simple.properties", SimpleConfiguration.class)._floats);
+		assertSame(cachedArrays._floats[0], configurationReader.read(PROPERTIES_BASE_DIR + "simple.properties", SimpleConfiguration.class)._floats[0]);
+		assertSame(cachedArrays._float, cachedArrays._floats[0]);
+
+		try {
+			ConfigurationReader.builder().conversionCache(0);
+			fail("Empty conversion cache is accepted");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	private static Properties endpoint(String port) {
+		Properties properties = new Properties();
+		properties.setProperty("host", "localhost");
+		properties.setProperty("port", new String(port));
+		return properties;
+	}
+
+	private static Properties decimal(String value) {
+		Properties properties = new Properties();
+		properties.setProperty("value", new String(value));
+		return properties;
+	}
+
+	/**
+	 * Tests that configuration interfaces are converted lazily on first access from the properties,
+	 * which have been copied by the read
+	 */
+	@Test
+	public void testLazyInterface() {
+
+		Properties properties = createLazyProperties();
+		properties.setProperty("lazy.broken", "not a number");
+
+		ConfigurationReader configurationReader = new ConfigurationReader();
+		LazyConfiguration lazy = configurationReader.read(properties, LazyConfiguration.class);
+
+		// the properties are copied by the read, changes of the source are not visible
+		properties.setProperty("lazy.name", "changed");
+		properties.setProperty("lazy.limits.threads", "5");
+		properties.remove("lazy.endpoint.host");
+
+		assertEquals("lazy", lazy.getName());
+		assertEquals(8080, lazy.getPort());
+		assertTrue(lazy.isEnabled());
+		assertNull(lazy.getTimeout());
+		assertEquals(0, lazy.getRetries());
+		assertEquals(Arrays.asList("a", "b"), lazy.getTags());
+		assertEquals(Collections.singletonMap("connections", 10), lazy.getLimits());
+		assertEquals("localhost", lazy.getEndpoint().host());
+		assertEquals(new Integer(80), lazy.getEndpoint().port());
+
+		// values are cached
+		assertSame(lazy.getName(), lazy.getName());
+		assertSame(lazy.getTags(), lazy.getTags());
+		assertSame(lazy.getEndpoint(), lazy.getEndpoint());
+
+		try {
+			lazy.getBroken();
+			fail("Malformed property is not reported");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+
+		assertEquals(lazy, lazy);
+		assertEquals(System.identityHashCode(lazy), lazy.hashCode());
+		assertTrue(lazy.toString().startsWith(LazyConfiguration.class.getName()));
+	}
+
+	/**
+	 * Tests that a configuration interface read from a memory mapped file does not depend on the
+	 * file afterwards, even if it is truncated
+	 */
+	@Test
+	public void testLazyInterfaceFromMappedFile() throws IOException {
+
+		StringBuilder content = new StringBuilder();
+		createLazyProperties().forEach((key, value) -> content.append(key).append('=').append(value).append('\n'));
+
+		// files of at least 256 KB are mapped
+		while (content.length() < 512 * 1024)
+			content.append("# padding to map the file into memory\n");
+
+		Path file = Files.createTempFile("lazy", ".properties");
+		try {
+			Files.write(file, content.toString().getBytes(StandardCharsets.ISO_8859_1));
+
+			LazyConfiguration lazy = new ConfigurationReader().read(file.toString(), LazyConfiguration.class);
+
+			Files.write(file, "lazy.name=REWRITE!\n".getBytes(StandardCharsets.ISO_8859_1));
+
+			assertEquals("lazy", lazy.getName());
+			assertEquals(8080, lazy.getPort());
+			assertEquals("localhost", lazy.getEndpoint().host());
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	/**
+	 * Tests that the eager validation of configuration interfaces reports missing properties
+	 */
+	@Test
+	public void testLazyInterfaceValidation() {
+
+		Properties properties = createLazyProperties();
+
+		ConfigurationReader configurationReader = new ConfigurationReader();
+		configurationReader.validate(configurationReader.read(properties, LazyConfiguration.class));
+
+		properties.remove("lazy.endpoint.host");
+		LazyConfiguration lazy = configurationReader.read(properties, LazyConfiguration.class);
+
+		// missing properties are not reported, until they are accessed
+		assertEquals(new Integer(80), lazy.getEndpoint().port());
+
+		try {
+			configurationReader.validate(lazy);
+			fail("Missing property is not reported");
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage().contains("host"));
+		}
+	}
+
+	/**
+	 * Tests that the validation of configuration interfaces includes the nested configuration objects
+	 * of lists
+	 */
+	@Test
+	public void testValidateNestedElements() {
+
+		Properties properties = createLazyProperties();
+		properties.setProperty("lazy.mirrors.0.host", "a.example.com");
+		properties.setProperty("lazy.mirrors.0.port", "80");
+		properties.setProperty("lazy.mirrors.1.port", "81");
+
+		ConfigurationReader configurationReader = new ConfigurationReader();
+		LazyConfiguration lazy = configurationReader.read(properties, LazyConfiguration.class);
+
+		assertEquals(new Integer(81), lazy.getMirrors().get(1).port());
+
+		try {
+			configurationReader.validate(lazy);
+			fail("Missing property is not reported");
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage().contains("host"));
+		}
+
+		properties.setProperty("lazy.mirrors.1.host", "b.example.com");
+		configurationReader.validate(configurationReader.read(properties, LazyConfiguration.class));
+	}
+
+	/**
+	 * Tests that the rebinding of configuration interfaces keeps unaffected values
+	 */
+	@Test
+	public void testLazyInterfaceRebind() {
+
+		Properties oldProperties = createLazyProperties();
+		Properties newProperties = createLazyProperties();
+		newProperties.setProperty("lazy.name", "new");
+
+		ConfigurationReader configurationReader = new ConfigurationReader();
+		LazyConfiguration previous = configurationReader.read(oldProperties, LazyConfiguration.class);
+		List<String> tags = previous.getTags();
+
+		Rebinding<LazyConfiguration> rebinding = configurationReader.rebind(previous, oldProperties, newProperties);
+		LazyConfiguration lazy = rebinding.getConfiguration();
+
+		assertEquals(Collections.singleton("getName"), rebinding.getChangedFields());
+		assertEquals("new", lazy.getName());
+		assertSame(tags, lazy.getTags());
+	}
+
+	private static Properties createLazyProperties() {
+
+		Properties properties = new Properties();
+		properties.setProperty("lazy.name", "lazy");
+		properties.setProperty("lazy.server.port", "8080");
+		properties.setProperty("lazy.enabled", "true");
+		properties.setProperty("lazy.tags", "a,b");
+		properties.setProperty("lazy.limits.connections", "10");
+		properties.setProperty("lazy.endpoint.host", "localhost");
+		properties.setProperty("lazy.endpoint.port", "80");
+		return properties;
+	}
 }
@@ -0,0 +1,98 @@
+package com.sheiden.configuraion.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.junit.Test;
+
+import com.sheiden.configuraion.test.classes.NestedConfiguration;
+import com.sheiden.configuration.ConfigurationDiff;
+import com.sheiden.configuration.ConfigurationReader;
+import com.sheiden.configuration.ConfigurationSnapshot;
+
+public class ConfigurationSnapshotTest {
+
+	private static final String PROPERTIES_BASE_DIR = "src/test/resources/properties/";
+
+	/**
+	 * Tests that a snapshot contains the flattened, sorted properties of the effective configuration
+	 */
+	@Test
+	public void testSnapshot() {
+
+		ConfigurationReader configurationReader = new ConfigurationReader();
+		Properties properties = configurationReader.getProperties(PROPERTIES_BASE_DIR + "nested.properties");
+
+		ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(configurationReader.read(properties, NestedConfiguration.class));
+
+		assertEquals("localhost", snapshot.get("server.endpoint.host"));
+		assertEquals("last-resort", snapshot.get("server.endpoint.backup.backup.host"));
+		assertEquals("4", snapshot.get("servers.a.limits.threads"));
+
+		// default values are part of the effective configuration
+		assertEquals("80", snapshot.get("servers.a.endpoint.port"));
+		assertNull(snapshot.get("fallback"));
+
+		assertEquals(snapshot.size(), snapshot.getKeys().size());
+		for (int i = 1; i < snapshot.size(); i++)
+			assertTrue(snapshot.getKeys().get(i - 1).compareTo(snapshot.getKeys().get(i)) < 0);
+
+		// equal configurations have equal snapshots
+		ConfigurationSnapshot other = ConfigurationSnapshot.of(configurationReader.read(properties, NestedConfiguration.class));
+		assertEquals(snapshot, other);
+		assertEquals(snapshot.getHash(), other.getHash());
+		assertTrue(snapshot.diff(other).isEmpty());
+
+		assertEquals(0, ConfigurationSnapshot.of(null).size());
+	}
+
+	/**
+	 * Tests the differences between two snapshots and the matching of prefixes
+	 */
+	@Test
+	public void testDiff() {
+
+		ConfigurationReader configurationReader = new ConfigurationReader();
+		Properties properties = configurationReader.getProperties(PROPERTIES_BASE_DIR + "nested.properties");
+		ConfigurationSnapshot older = ConfigurationSnapshot.of(configurationReader.read(properties, NestedConfiguration.class));
+
+		properties.setProperty("servers.a.limits.threads", "8");
+		properties.setProperty("servers.c.name", "c");
+		properties.setProperty("servers.c.endpoint.host", "c.example.com");
+		properties.remove("server.endpoint.backup.backup.host");
+		properties.remove("server.endpoint.backup.backup.port");
+		ConfigurationSnapshot newer = ConfigurationSnapshot.of(configurationReader.read(properties, NestedConfiguration.class));
+
+		assertNotEquals(older.getHash(), newer.getHash());
+
+		ConfigurationDiff diff = older.diff(newer);
+		assertFalse(diff.isEmpty());
+		assertEquals(Arrays.asList("servers.a.limits.threads"), diff.getChanged());
+		assertEquals(Arrays.asList("servers.c.endpoint.host", "servers.c.endpoint.port", "servers.c.name"), diff.getAdded());
+		assertEquals(Arrays.asList("server.endpoint.backup.backup.host", "server.endpoint.backup.backup.port"), diff.getRemoved());
+		assertEquals(6, diff.getKeys().size());
+
+		assertTrue(diff.affects(""));
+		assertTrue(diff.affects("servers"));
+		assertTrue(diff.affects("servers.a"));
+		assertTrue(diff.affects("servers.a.limits.threads"));
+		assertTrue(diff.affects("server.endpoint.backup"));
+		assertTrue(diff.affects("server"));
+		assertFalse(diff.affects("servers.b"));
+		assertFalse(diff.affects("server.name"));
+		assertFalse(diff.affects("servers.a.limits.thread"));
+		assertFalse(diff.affects("fallback"));
+
+		// the diff in the other direction swaps added and removed properties
+		ConfigurationDiff reverse = newer.diff(older);
+		assertEquals(diff.getAdded(), reverse.getRemoved());
+		assertEquals(diff.getRemoved(), reverse.getAdded());
+		assertEquals("8", reverse.getOlder().get("servers.a.limits.threads"));
+	}
+}
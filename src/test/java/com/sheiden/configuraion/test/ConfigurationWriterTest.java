@@ -3,9 +3,18 @@ package com.sheiden.configuraion.test;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -13,10 +22,20 @@ import java.util.Properties;
 
 import org.junit.Test;
 
+import com.google.common.primitives.ImmutableDoubleArray;
+import com.google.common.primitives.ImmutableIntArray;
+import com.google.common.primitives.ImmutableLongArray;
+
 import com.sheiden.configuraion.test.classes.AdvancedSubConfiguration;
 import com.sheiden.configuraion.test.classes.CollectionConfiguration;
+import com.sheiden.configuraion.test.classes.EscapedConfiguration;
+import com.sheiden.configuraion.test.classes.GraphConfiguration;
 import com.sheiden.configuraion.test.classes.MapSubConfiguration;
+import com.sheiden.configuraion.test.classes.NestedConfiguration.EndpointConfiguration;
+import com.sheiden.configuraion.test.classes.NestedConfiguration.ServerConfiguration;
+import com.sheiden.configuraion.test.classes.PrimitiveConfiguration;
 import com.sheiden.configuraion.test.classes.SimpleConfiguration;
+import com.sheiden.configuration.ConfigurationLogger;
 import com.sheiden.configuration.ConfigurationReader;
 import com.sheiden.configuration.ConfigurationWriter;
 
@@ -61,6 +80,74 @@ public class ConfigurationWriterTest {
 
 	}
 
+	@Test
+	public void testPrimitives() {
+
+		PrimitiveConfiguration instance1 = new PrimitiveConfiguration();
+		instance1._int = 1;
+		instance1._long = 2L;
+		instance1._float = 1.23F;
+		instance1._double = 2.34D;
+		instance1._boolean = true;
+
+		instance1._ints = new int[] { 1, 2, 3 };
+		instance1._longs = new long[] { 1L, 2L, Long.MIN_VALUE };
+		instance1._doubles = new double[] { 1.23D, 1e-300, Double.MAX_VALUE };
+		instance1._booleans = new boolean[] { true, false };
+
+		Properties properties = new Properties();
+
+		ConfigurationWriter.getInstance().write(properties, instance1);
+		PrimitiveConfiguration instance2 = ConfigurationReader.getInstance().read(properties, PrimitiveConfiguration.class);
+
+		assertEquals(instance1._int, instance2._int);
+		assertEquals(instance1._long, instance2._long);
+		assertEquals(instance1._float, instance2._float, 0F);
+		assertEquals(instance1._double, instance2._double, 0D);
+		assertEquals(instance1._boolean, instance2._boolean);
+
+		assertArrayEquals(instance1._ints, instance2._ints);
+		assertArrayEquals(instance1._longs, instance2._longs);
+		assertArrayEquals(instance1._doubles, instance2._doubles, 0D);
+		assertArrayEquals(instance1._booleans, instance2._booleans);
+	}
+
+	/**
+	 * Tests that the immutable primitive arrays of Guava are written like primitive arrays
+	 */
+	@Test
+	public void testImmutablePrimitiveArrays() {
+
+		PrimitiveArrayConfiguration instance1 = new PrimitiveArrayConfiguration();
+		instance1.codes = ImmutableIntArray.of(1, 2, Integer.MIN_VALUE);
+		instance1.offsets = ImmutableLongArray.of(Long.MAX_VALUE);
+		instance1.ratios = ImmutableDoubleArray.of(1.23D, 1e-300);
+		instance1.slots = Collections.singletonMap("a", ImmutableIntArray.of(3, 4));
+
+		Properties properties = new Properties();
+
+		ConfigurationWriter.getInstance().write(properties, instance1);
+		assertEquals("1,2,-2147483648", properties.getProperty("codes"));
+
+		PrimitiveArrayConfiguration instance2 = ConfigurationReader.getInstance().read(properties, PrimitiveArrayConfiguration.class);
+
+		assertEquals(instance1.codes, instance2.codes);
+		assertEquals(instance1.offsets, instance2.offsets);
+		assertEquals(instance1.ratios, instance2.ratios);
+		assertEquals(instance1.slots, instance2.slots);
+	}
+
+	public static class PrimitiveArrayConfiguration {
+
+		public ImmutableIntArray codes;
+
+		public ImmutableLongArray offsets;
+
+		public ImmutableDoubleArray ratios;
+
+		public Map<String, ImmutableIntArray> slots;
+	}
+
 	@Test
 	public void testAdvanced() {
 
@@ -84,6 +171,27 @@ public class ConfigurationWriterTest {
 
 	}
 
+	@Test
+	public void testBuilder() {
+
+		ConfigurationWriter writer = ConfigurationWriter.builder() //
+				.classMapper(BigDecimal.class, dec -> dec.toPlainString()) //
+				.build();
+
+		AdvancedSubConfiguration subConfig = new AdvancedSubConfiguration();
+		subConfig.dec = new BigDecimal("1E+3");
+
+		Properties properties = new Properties();
+		writer.write(properties, subConfig);
+
+		assertEquals("1000", properties.getProperty("super.sub.dec"));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testBuilderIsImmutable() {
+		ConfigurationWriter.builder().build().addClassMapper(BigDecimal.class, dec -> dec.toPlainString());
+	}
+
 	@Test
 	public void testCollections() {
 
@@ -111,4 +219,215 @@ public class ConfigurationWriterTest {
 
 	}
 
+	/**
+	 * Tests that nested objects, lists of objects and maps of maps are written, so that the reader
+	 * restores them
+	 */
+	@Test
+	public void testObjectGraph() throws IOException {
+
+		GraphConfiguration graph = new GraphConfiguration();
+		graph.primary = new ServerConfiguration();
+		graph.primary.name = "main";
+		graph.primary.endpoint = endpoint("localhost", 8080);
+		graph.primary.endpoint.backup = endpoint("backup", 8081);
+		graph.primary.limits = Collections.singletonMap("threads", 4);
+
+		graph.endpoints = new ArrayList<>();
+		for (int i = 0; i < 12; i++)
+			graph.endpoints.add(endpoint("host" + i, i));
+
+		graph.limits = new HashMap<>();
+		graph.limits.put("a", Collections.singletonMap("threads", 2));
+		graph.limits.put("b", new HashMap<>());
+		graph.limits.get("b").put("connections", 16);
+
+		graph.pools = Collections.singletonMap("x", Arrays.asList(endpoint("x0", 1), endpoint("x1", 2)));
+
+		Properties properties = new Properties();
+		ConfigurationWriter.getInstance().write(properties, graph);
+
+		assertEquals("backup", properties.getProperty("primary.endpoint.backup.host"));
+		assertEquals("host11", properties.getProperty("endpoints.11.host"));
+		assertEquals("16", properties.getProperty("limits.b.connections"));
+		assertEquals("x1", properties.getProperty("pools.x.1.host"));
+
+		StringWriter output = new StringWriter();
+		ConfigurationWriter.getInstance().write(output, graph);
+
+		Properties streamed = new Properties();
+		streamed.load(new StringReader(output.toString()));
+		assertEquals(properties, streamed);
+
+		GraphConfiguration read = ConfigurationReader.getInstance().read(properties, GraphConfiguration.class);
+
+		assertEquals("main", read.primary.name);
+		assertEquals(new Integer(8081), read.primary.endpoint.backup.port);
+		assertEquals(graph.primary.limits, read.primary.limits);
+		assertEquals(12, read.endpoints.size());
+		for (int i = 0; i < 12; i++)
+			assertEquals(new Integer(i), read.endpoints.get(i).port);
+		assertEquals(graph.limits, read.limits);
+		assertEquals("x1", read.pools.get("x").get(1).host);
+		assertTrue(read.mirrors.isEmpty());
+	}
+
+	/**
+	 * Tests that an object graph with a cycle is rejected
+	 */
+	@Test(expected = IllegalStateException.class)
+	public void testCycle() {
+
+		GraphConfiguration graph = new GraphConfiguration();
+		graph.next = new GraphConfiguration();
+		graph.next.next = graph;
+
+		ConfigurationWriter.getInstance().write(new Properties(), graph);
+	}
+
+	/**
+	 * Tests that maps with unsupported keys are skipped, whether they are the value of a field or of
+	 * another map
+	 */
+	@Test
+	public void testUnsupportedMapKeys() {
+
+		UnsupportedKeyConfiguration instance = new UnsupportedKeyConfiguration();
+		instance.name = "name";
+		instance.direct = Collections.singletonMap(new Object(), "value");
+		instance.nested = new HashMap<>();
+		instance.nested.put("a", Collections.singletonMap(new Object(), "value"));
+		instance.nested.put("b", Collections.singletonMap("key", "value"));
+
+		Properties properties = new Properties();
+		ConfigurationWriter.builder().logger(ConfigurationLogger.SILENT).build().write(properties, instance);
+
+		assertEquals(2, properties.size());
+		assertEquals("name", properties.getProperty("name"));
+		assertEquals("value", properties.getProperty("nested.b.key"));
+	}
+
+	public static class UnsupportedKeyConfiguration {
+
+		public String name;
+
+		public Map<Object, String> direct;
+
+		public Map<String, Map<Object, String>> nested;
+	}
+
+	/**
+	 * Tests that objects, which are referenced more than once without a cycle, are written each time
+	 */
+	@Test
+	public void testSharedObjects() {
+
+		EndpointConfiguration shared = endpoint("shared", 1);
+
+		GraphConfiguration graph = new GraphConfiguration();
+		graph.endpoints = Arrays.asList(shared, shared);
+		graph.next = new GraphConfiguration();
+		graph.next.endpoints = graph.endpoints;
+
+		Properties properties = new Properties();
+		ConfigurationWriter.getInstance().write(properties, graph);
+
+		assertEquals("shared", properties.getProperty("endpoints.1.host"));
+		assertEquals("shared", properties.getProperty("next.endpoints.1.host"));
+	}
+
+	/**
+	 * Tests that the depth of the object graph is not limited by the call stack
+	 */
+	@Test
+	public void testDeepObjectGraph() throws IOException {
+
+		int depth = 3000;
+
+		EndpointConfiguration root = endpoint("0", 0);
+		EndpointConfiguration last = root;
+		for (int i = 1; i < depth; i++) {
+			last.backup = endpoint(Integer.toString(i), i);
+			last = last.backup;
+		}
+
+		StringWriter output = new StringWriter();
+		ConfigurationWriter.getInstance().write(output, root);
+
+		assertEquals(2 * depth, output.toString().split("\n").length);
+	}
+
+	private static EndpointConfiguration endpoint(String host, int port) {
+		EndpointConfiguration endpoint = new EndpointConfiguration();
+		endpoint.host = host;
+		endpoint.port = port;
+		return endpoint;
+	}
+
+	/**
+	 * Tests that the streaming writer writes the same properties as {@link ConfigurationWriter#write(Properties, Object)}
+	 */
+	@Test
+	public void testStreaming() throws IOException {
+
+		SimpleConfiguration simple = new SimpleConfiguration();
+		simple._string = " leading space, = : # ! \\ \t\n\u00e9\u20ac";
+		simple._int = 1;
+		simple._strings = new String[] { "a", " b", "c" };
+		simple._doubles = new Double[] { 1.23d, 2.34d };
+		simple._booleans = new Boolean[] { true, false };
+
+		PrimitiveConfiguration primitives = new PrimitiveConfiguration();
+		primitives._ints = new int[] { 1, -2, Integer.MIN_VALUE };
+		primitives._longs = new long[] { Long.MAX_VALUE };
+		primitives._doubles = new double[] { 1e-300, 0.5 };
+		primitives._booleans = new boolean[] { true, false };
+
+		CollectionConfiguration collections = new CollectionConfiguration();
+		collections.list = Arrays.asList("abc", "def");
+		collections.set = new HashSet<>(Arrays.asList(1, 2, 3));
+		collections.map = new HashMap<>();
+		collections.map.put("b key", new MapSubConfiguration("b=1", "b2"));
+		collections.map.put("a", new MapSubConfiguration("a", null));
+		collections.simpleMap = new HashMap<>();
+		collections.simpleMap.put(2, 2F);
+		collections.simpleMap.put(10, 10F);
+
+		EscapedConfiguration escaped = new EscapedConfiguration();
+		escaped.keyWithSpaces = "spaces";
+		escaped.keyWithSeparators = "separators";
+
+		AdvancedSubConfiguration advanced = new AdvancedSubConfiguration();
+		advanced.a = "a";
+		advanced.dec = new BigDecimal("1E+3");
+
+		ConfigurationWriter writer = ConfigurationWriter.builder().classMapper(BigDecimal.class, dec -> dec.toPlainString()).build();
+
+		for (Object object : new Object[] { simple, primitives, collections, escaped, advanced }) {
+
+			Properties expected = new Properties();
+			writer.write(expected, object);
+
+			StringWriter output = new StringWriter();
+			writer.write(output, object);
+
+			Properties actual = new Properties();
+			actual.load(new StringReader(output.toString()));
+			assertEquals(expected, actual);
+
+			// pure ASCII, sorted and stable
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			writer.write(bytes, object);
+			assertEquals(output.toString(), new String(bytes.toByteArray(), StandardCharsets.US_ASCII));
+
+			actual = new Properties();
+			actual.load(new ByteArrayInputStream(bytes.toByteArray()));
+			assertEquals(expected, actual);
+		}
+
+		StringWriter output = new StringWriter();
+		writer.write(output, collections);
+		assertEquals(Arrays.asList("defaultList=a,b", "list=abc,def", "map.a.a=a", "map.b\\ key.a=b\\=1", "map.b\\ key.b=b2", "map1.10=10.0", "map1.2=2.0", "set=1,2,3"),
+				Arrays.asList(output.toString().split("\n")));
+	}
 }
@@ -0,0 +1,239 @@
+package com.sheiden.configuraion.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sheiden.configuraion.test.classes.SimpleConfiguration;
+import com.sheiden.configuration.ConfigurationDiff;
+import com.sheiden.configuration.ConfigurationLogger;
+import com.sheiden.configuration.ConfigurationReader;
+import com.sheiden.configuration.ConfigurationStatistics;
+import com.sheiden.configuration.LiveConfiguration;
+
+public class LiveConfigurationTest {
+
+	private static final long TIMEOUT_MILLIS = 15000;
+
+	private Path directory;
+	private Path file;
+
+	@Before
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("live-configuration");
+		file = directory.resolve("simple.properties");
+		Files.copy(Paths.get("src/test/resources/properties/simple.properties"), file);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+		Files.deleteIfExists(directory);
+	}
+
+	/**
+	 * Tests that a changed file is reloaded and published
+	 */
+	@Test
+	public void testReload() throws Exception {
+
+		try (LiveConfiguration<SimpleConfiguration> live = ConfigurationReader.getInstance().watch(file.toString(), SimpleConfiguration.class, 50)) {
+
+			List<SimpleConfiguration> published = new CopyOnWriteArrayList<>();
+			live.addListener(published::add);
+
+			assertEquals("abc", live.get()._string);
+
+			write(read().replace("_string=abc", "_string=changed"));
+			awaitValue(live, "changed");
+
+			write(read().replace("_string=changed", "_string=changed again"));
+			awaitValue(live, "changed again");
+
+			assertEquals(2, published.size());
+		}
+	}
+
+	/**
+	 * Tests that a broken file keeps the last valid configuration
+	 */
+	@Test
+	public void testKeepsLastValidConfiguration() throws Exception {
+
+		ConfigurationStatistics statistics = new ConfigurationStatistics();
+		ConfigurationReader reader = ConfigurationReader.builder().metrics(statistics).build();
+
+		try (LiveConfiguration<SimpleConfiguration> live = reader.watch(file.toString(), SimpleConfiguration.class, 50)) {
+
+			write(read().replace("_int=1", "_int=no number"));
+
+			long end = System.currentTimeMillis() + TIMEOUT_MILLIS;
+			while (statistics.getFailedReloads() == 0 && System.currentTimeMillis() < end)
+				Thread.sleep(10);
+
+			assertEquals(new Integer(1), live.get()._int);
+			assertTrue(statistics.getFailedReloads() > 0);
+
+			write(read().replace("_int=no number", "_int=2").replace("_string=abc", "_string=fixed"));
+			awaitValue(live, "fixed");
+			assertEquals(new Integer(2), live.get()._int);
+
+			// the reload is counted after the configuration is published
+			end = System.currentTimeMillis() + TIMEOUT_MILLIS;
+			while (statistics.getPublishedReloads() == 0 && System.currentTimeMillis() < end)
+				Thread.sleep(10);
+
+			assertEquals(1, statistics.getPublishedReloads());
+			assertEquals(statistics.getReloads(), statistics.getFailedReloads() + statistics.getPublishedReloads());
+		}
+	}
+
+	/**
+	 * Tests that a failing listener neither fails the reload nor keeps other listeners from being
+	 * called
+	 */
+	@Test
+	public void testFailingListener() throws Exception {
+
+		ConfigurationStatistics statistics = new ConfigurationStatistics();
+		ConfigurationReader reader = ConfigurationReader.builder().metrics(statistics).logger(ConfigurationLogger.SILENT).build();
+
+		try (LiveConfiguration<SimpleConfiguration> live = reader.watch(file.toString(), SimpleConfiguration.class, 50)) {
+
+			List<SimpleConfiguration> published = new CopyOnWriteArrayList<>();
+			live.addListener(configuration -> {
+				throw new IllegalStateException("failing listener");
+			});
+			live.addListener(published::add);
+
+			write(read().replace("_string=abc", "_string=changed"));
+			awaitValue(live, "changed");
+
+			long end = System.currentTimeMillis() + TIMEOUT_MILLIS;
+			while (statistics.getPublishedReloads() == 0 && System.currentTimeMillis() < end)
+				Thread.sleep(10);
+
+			assertEquals(1, published.size());
+			assertEquals(1, statistics.getPublishedReloads());
+			assertEquals(0, statistics.getFailedReloads());
+		}
+	}
+
+	/**
+	 * Tests that listeners are only called for changes at or below their prefix
+	 */
+	@Test
+	public void testPrefixListeners() throws Exception {
+
+		try (LiveConfiguration<SimpleConfiguration> live = ConfigurationReader.getInstance().watch(file.toString(), SimpleConfiguration.class, 50)) {
+
+			List<ConfigurationDiff> stringChanges = new CopyOnWriteArrayList<>();
+			List<ConfigurationDiff> stringsChanges = new CopyOnWriteArrayList<>();
+			List<ConfigurationDiff> allChanges = new CopyOnWriteArrayList<>();
+
+			live.addListener("_string", (configuration, diff) -> stringChanges.add(diff));
+			live.addListener("_strings", (configuration, diff) -> stringsChanges.add(diff));
+			live.addListener("", (configuration, diff) -> allChanges.add(diff));
+
+			write(read().replace("_string=abc", "_string=changed"));
+			awaitValue(live, "changed");
+
+			long end = System.currentTimeMillis() + TIMEOUT_MILLIS;
+			while (allChanges.isEmpty() && System.currentTimeMillis() < end)
+				Thread.sleep(10);
+
+			assertEquals(1, allChanges.size());
+			assertEquals(1, stringChanges.size());
+			assertTrue(stringsChanges.isEmpty());
+
+			ConfigurationDiff diff = stringChanges.get(0);
+			assertEquals(Arrays.asList("_string"), diff.getChanged());
+			assertEquals("abc", diff.getOlder().get("_string"));
+			assertEquals("changed", diff.getNewer().get("_string"));
+		}
+	}
+
+	/**
+	 * Tests that the snapshots of prefix listeners write values of custom class mappings as single
+	 * properties
+	 */
+	@Test
+	public void testPrefixListenersWithClassMapping() throws Exception {
+
+		write(read() + "\nversion=1.2\n");
+		ConfigurationReader reader = ConfigurationReader.builder().classMapper(Version.class, Version::new).build();
+
+		try (LiveConfiguration<VersionConfiguration> live = reader.watch(file.toString(), VersionConfiguration.class, 50)) {
+
+			List<ConfigurationDiff> changes = new CopyOnWriteArrayList<>();
+			live.addListener("version", (configuration, diff) -> changes.add(diff));
+
+			write(read().replace("version=1.2", "version=1.3"));
+
+			long end = System.currentTimeMillis() + TIMEOUT_MILLIS;
+			while (changes.isEmpty() && System.currentTimeMillis() < end)
+				Thread.sleep(10);
+
+			assertEquals(1, changes.size());
+			assertEquals(Arrays.asList("version"), changes.get(0).getChanged());
+			assertEquals("1.3", changes.get(0).getNewer().get("version"));
+		}
+	}
+
+	public static class VersionConfiguration {
+
+		public String _string;
+
+		public Version version;
+	}
+
+	/**
+	 * A value type with public fields, which would be written as nested object without its class
+	 * mapping
+	 */
+	public static class Version {
+
+		public final int major;
+		public final int minor;
+
+		public Version(String version) {
+			String[] parts = version.split("\\.");
+			this.major = Integer.parseInt(parts[0]);
+			this.minor = Integer.parseInt(parts[1]);
+		}
+
+		@Override
+		public String toString() {
+			return major + "." + minor;
+		}
+	}
+
+	private String read() throws IOException {
+		return new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1);
+	}
+
+	private void write(String content) throws IOException {
+		Files.write(file, content.getBytes(StandardCharsets.ISO_8859_1));
+	}
+
+	private void awaitValue(LiveConfiguration<SimpleConfiguration> live, String expected) throws InterruptedException {
+
+		long end = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		while (!expected.equals(live.get()._string) && System.currentTimeMillis() < end)
+			Thread.sleep(10);
+
+		assertEquals(expected, live.get()._string);
+	}
+}
@@ -0,0 +1,36 @@
+package com.sheiden.configuraion.test.classes;
+
+import java.util.List;
+import java.util.Map;
+
+import com.sheiden.configuration.annotation.ConfigurationProperty;
+
+public class ConstrainedConfiguration {
+
+	@ConfigurationProperty(value = "port", min = 1, max = 65535)
+	public Integer port;
+
+	@ConfigurationProperty(value = "host", pattern = "[a-z0-9.-]+", maxSize = 16)
+	public String host;
+
+	@ConfigurationProperty(value = "mode", required = false, allowed = { "fast", "safe" })
+	public String mode = "default";
+
+	@ConfigurationProperty(value = "ratios", required = false, minSize = 1, maxSize = 3, min = 0, max = 1)
+	public double[] ratios;
+
+	@ConfigurationProperty(value = "tags", required = false, maxSize = 2, pattern = "\\w+")
+	public List<String> tags;
+
+	@ConfigurationProperty(value = "limits", required = false, min = 1)
+	public Map<String, Long> limits;
+
+	@ConfigurationProperty(value = "backup", required = false)
+	public ConstrainedConfiguration backup;
+
+	@ConfigurationProperty(value = "replicas", required = false)
+	public Map<String, ConstrainedConfiguration> replicas;
+
+	@ConfigurationProperty(value = "mirrors", required = false)
+	public List<ConstrainedConfiguration> mirrors;
+}
@@ -0,0 +1,51 @@
+package com.sheiden.configuraion.test.classes;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.SortedMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.primitives.ImmutableDoubleArray;
+import com.google.common.primitives.ImmutableIntArray;
+import com.google.common.primitives.ImmutableLongArray;
+
+import com.sheiden.configuraion.test.classes.NestedConfiguration.EndpointConfiguration;
+
+public class ContainerConfiguration {
+
+	public EnumMap<TimeUnit, Integer> timeouts;
+
+	public EnumSet<TimeUnit> units;
+
+	public NavigableSet<Integer> ports;
+
+	public SortedMap<String, String> labels;
+
+	public LinkedHashMap<String, Integer> weights;
+
+	public LinkedList<String> queue;
+
+	public Map<String, TreeSet<Long>> ranges;
+
+	public ImmutableList<String> hosts;
+
+	public ImmutableSortedSet<String> tags;
+
+	public ImmutableMap<String, EndpointConfiguration> endpoints;
+
+	public ImmutableIntArray codes;
+
+	public ImmutableLongArray offsets;
+
+	public ImmutableDoubleArray ratios;
+
+	public Map<String, ImmutableIntArray> slots;
+}
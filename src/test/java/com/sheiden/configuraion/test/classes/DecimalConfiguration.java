@@ -0,0 +1,8 @@
+package com.sheiden.configuraion.test.classes;
+
+import java.math.BigDecimal;
+
+public class DecimalConfiguration {
+
+	public BigDecimal value;
+}
@@ -0,0 +1,9 @@
+package com.sheiden.configuraion.test.classes;
+
+public class DefaultConfiguration {
+
+	public String name;
+
+	public int timeout = Integer.getInteger("default.configuration.timeout", 30);
+
+}
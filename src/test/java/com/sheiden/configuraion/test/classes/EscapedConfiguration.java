@@ -0,0 +1,24 @@
+package com.sheiden.configuraion.test.classes;
+
+import com.sheiden.configuration.annotation.ConfigurationProperty;
+
+public class EscapedConfiguration {
+
+	public String plain;
+	public String separated;
+	public String spaced;
+
+	@ConfigurationProperty("key with spaces")
+	public String keyWithSpaces;
+
+	@ConfigurationProperty("key=with:separators")
+	public String keyWithSeparators;
+
+	public String unicode;
+	public String escapes;
+	public String continued;
+	public String duplicate;
+	public String empty;
+	public String missing = "default";
+
+}
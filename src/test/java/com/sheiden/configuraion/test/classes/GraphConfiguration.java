@@ -0,0 +1,41 @@
+package com.sheiden.configuraion.test.classes;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.sheiden.configuraion.test.classes.NestedConfiguration.EndpointConfiguration;
+import com.sheiden.configuraion.test.classes.NestedConfiguration.ServerConfiguration;
+import com.sheiden.configuration.annotation.ConfigurationProperty;
+
+public class GraphConfiguration {
+
+	public ServerConfiguration primary;
+
+	public List<EndpointConfiguration> endpoints;
+
+	@ConfigurationProperty(value = "mirrors", required = false)
+	public Set<EndpointConfiguration> mirrors;
+
+	public Map<String, Map<String, Integer>> limits;
+
+	public Map<String, List<EndpointConfiguration>> pools;
+
+	@ConfigurationProperty(value = "next", required = false)
+	public GraphConfiguration next;
+
+	@ConfigurationProperty(value = "tags", required = false)
+	public List<@Tagged String> tags;
+
+	@ConfigurationProperty(value = "aliases", required = false)
+	public @Tagged String @Tagged [] aliases;
+
+	@Target(ElementType.TYPE_USE)
+	@Retention(RetentionPolicy.RUNTIME)
+	public @interface Tagged {
+	}
+}
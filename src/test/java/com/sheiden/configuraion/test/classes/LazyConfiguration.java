@@ -0,0 +1,44 @@
+package com.sheiden.configuraion.test.classes;
+
+import java.util.List;
+import java.util.Map;
+
+import com.sheiden.configuration.annotation.ConfigurationProperty;
+import com.sheiden.configuration.annotation.NameSpace;
+
+@NameSpace("lazy")
+public interface LazyConfiguration {
+
+	String getName();
+
+	@ConfigurationProperty("server.port")
+	int getPort();
+
+	boolean isEnabled();
+
+	@ConfigurationProperty(value = "", required = false)
+	Integer getTimeout();
+
+	@ConfigurationProperty(value = "", required = false)
+	long getRetries();
+
+	List<String> getTags();
+
+	Map<String, Integer> getLimits();
+
+	Endpoint getEndpoint();
+
+	@ConfigurationProperty(value = "", required = false)
+	List<Endpoint> getMirrors();
+
+	@ConfigurationProperty(value = "", required = false)
+	Integer getBroken();
+
+	public interface Endpoint {
+
+		String host();
+
+		Integer port();
+
+	}
+}
@@ -0,0 +1,35 @@
+package com.sheiden.configuraion.test.classes;
+
+import java.util.Map;
+
+import com.sheiden.configuration.annotation.ConfigurationProperty;
+
+public class NestedConfiguration {
+
+	public ServerConfiguration server;
+
+	public Map<String, ServerConfiguration> servers;
+
+	@ConfigurationProperty(value = "fallback", required = false)
+	public ServerConfiguration fallback;
+
+	public static class ServerConfiguration {
+
+		public String name;
+
+		public EndpointConfiguration endpoint;
+
+		@ConfigurationProperty(value = "limits", required = false)
+		public Map<String, Integer> limits;
+	}
+
+	public static class EndpointConfiguration {
+
+		public String host;
+
+		public Integer port = 80;
+
+		@ConfigurationProperty(value = "backup", required = false)
+		public EndpointConfiguration backup;
+	}
+}
@@ -0,0 +1,15 @@
+package com.sheiden.configuraion.test.classes;
+
+import com.sheiden.configuration.annotation.NameSpace;
+
+@NameSpace("outer")
+public class OuterConfiguration {
+
+	public Inner inner;
+
+	@NameSpace("inner")
+	public static class Inner {
+
+		public String host;
+	}
+}
@@ -0,0 +1,9 @@
+package com.sheiden.configuraion.test.classes;
+
+import com.sheiden.configuration.annotation.NameSpace;
+
+@NameSpace("underscore")
+public class OuterConfiguration_Inner {
+
+	public Integer port;
+}
@@ -0,0 +1,18 @@
+package com.sheiden.configuraion.test.classes;
+
+public class PrimitiveConfiguration {
+
+	public int _int;
+	public long _long;
+	public float _float;
+	public double _double;
+	public boolean _boolean;
+
+	public int defaultInt = 42;
+
+	public int[] _ints;
+	public long[] _longs;
+	public double[] _doubles;
+	public boolean[] _booleans;
+
+}
@@ -0,0 +1,46 @@
+package com.sheiden.configuraion.test.classes;
+
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import com.sheiden.configuration.annotation.ConfigurationProperty;
+
+public class TypedConfiguration {
+
+	public TimeUnit unit;
+
+	public TimeUnit[] units;
+
+	public Set<TimeUnit> unitSet;
+
+	public Map<TimeUnit, String> unitNames;
+
+	public List<Integer[]> groups;
+
+	public Map<String, List<Long>> ids;
+
+	public BigDecimal[] prices;
+
+	public Duration timeout;
+
+	public URI uri;
+
+	public Path path;
+
+	public InetSocketAddress address;
+
+	public InetSocketAddress address6;
+
+	public Pattern pattern;
+
+	@ConfigurationProperty(value = "text", required = false)
+	public CharSequence text;
+}